@@ -26,10 +26,21 @@ public final class SpyCore extends JavaPlugin {
     private MetadataManager metadataManager;
     @Getter
     private PacketManager packetManager;
+    @Getter
+    private WorldPoolManager worldPoolManager;
+    @Getter
+    private HibernationManager hibernationManager;
+    @Getter
+    private ColdStorageManager coldStorageManager;
+    @Getter
+    private PrewarmManager prewarmManager;
+    @Getter
+    private StartupLoader startupLoader;
 
     @Override
     public void onEnable() {
         instance = this;
+        saveDefaultConfig();
 
         // Initialize Managers
         this.worldManager = new WorldManager(this);
@@ -38,6 +49,11 @@ public final class SpyCore extends JavaPlugin {
         this.templateManager = new TemplateManager(this);
         this.metadataManager = new MetadataManager(this);
         this.packetManager = new PacketManager(this);
+        this.worldPoolManager = new WorldPoolManager(this);
+        this.hibernationManager = new HibernationManager(this);
+        this.coldStorageManager = new ColdStorageManager(this);
+        this.prewarmManager = new PrewarmManager(this);
+        this.startupLoader = new StartupLoader(this);
 
         // Register Services
         this.serviceManager.registerService(HologramService.class, new HologramService());
@@ -49,9 +65,14 @@ public final class SpyCore extends JavaPlugin {
         // Register Listeners
         getServer().getPluginManager().registerEvents(new com.spygamingog.spycore.listeners.WorldSettingsListener(this), this);
         getServer().getPluginManager().registerEvents(new com.spygamingog.spycore.listeners.WorldIsolationListener(this), this);
+        getServer().getPluginManager().registerEvents(new com.spygamingog.spycore.listeners.SafeSpawnListener(this), this);
 
         // Load data
         this.worldManager.loadWorlds();
+        this.worldPoolManager.initialize();
+        this.hibernationManager.initialize();
+        this.worldManager.getMemoryMonitor().start();
+        this.coldStorageManager.initialize();
         this.playerManager.initialize();
 
         getLogger().info("SpyCore has been enabled!");
@@ -60,6 +81,24 @@ public final class SpyCore extends JavaPlugin {
     @Override
     public void onDisable() {
         // Shutdown sequence
+        if (startupLoader != null) {
+            startupLoader.shutdown();
+        }
+        if (hibernationManager != null) {
+            hibernationManager.shutdown();
+        }
+        if (coldStorageManager != null) {
+            coldStorageManager.shutdown();
+        }
+        if (prewarmManager != null) {
+            prewarmManager.shutdown();
+        }
+        if (worldPoolManager != null) {
+            worldPoolManager.shutdown();
+        }
+        if (metadataManager != null) {
+            metadataManager.shutdown();
+        }
         if (worldManager != null) {
             worldManager.shutdown();
         }
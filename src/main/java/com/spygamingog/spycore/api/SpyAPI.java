@@ -2,7 +2,10 @@ package com.spygamingog.spycore.api;
 
 import com.spygamingog.spycore.SpyCore;
 import com.spygamingog.spycore.managers.*;
+import com.spygamingog.spycore.models.WorldRef;
 import com.spygamingog.spycore.services.HologramService;
+import com.spygamingog.spycore.utils.TagAllocator;
+import com.spygamingog.spycore.utils.TagQuery;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -10,6 +13,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The primary API entry point for SpyCore.
@@ -28,6 +32,36 @@ public class SpyAPI {
         player.teleport(safe);
     }
 
+    /**
+     * Find a safe location near the world's spawn. Chunks are loaded asynchronously and scanned off the main thread.
+     * @param world The target world.
+     * @return A future completing with the safe location.
+     */
+    public static CompletableFuture<Location> findSafeLocationAsync(World world) {
+        return getWorldManager().findSafeLocationAsync(world);
+    }
+
+    /**
+     * Teleports a player to a safe location in the target world without loading chunks on the main thread.
+     * The spawn chunks are loaded asynchronously before the safe location is searched.
+     * @param player The player to teleport.
+     * @param world The target world.
+     * @return A future completing with true if the teleport succeeded.
+     */
+    public static CompletableFuture<Boolean> teleportAsync(Player player, World world) {
+        return getPrewarmManager().teleportToSafeLocationAsync(player, world);
+    }
+
+    /**
+     * Teleports a player once the chunks around the target location are loaded.
+     * @param player The player to teleport.
+     * @param location The exact target location.
+     * @return A future completing with true if the teleport succeeded.
+     */
+    public static CompletableFuture<Boolean> teleportAsync(Player player, Location location) {
+        return getPrewarmManager().teleportAsync(player, location);
+    }
+
     /**
      * Get a world by its alias or name.
      * @param alias The world alias or technical name.
@@ -204,6 +238,7 @@ public class SpyAPI {
 
     /**
      * Clone an existing world.
+     * Blocks the calling thread while the files are copied; prefer {@link #cloneWorldAsync} on the main thread.
      * @param sourceAlias The source world alias or name.
      * @param targetContainer The target container name.
      * @param targetName The target world name.
@@ -215,6 +250,7 @@ public class SpyAPI {
 
     /**
      * Clone an existing world with a custom generator.
+     * Blocks the calling thread while the files are copied; prefer {@link #cloneWorldAsync} on the main thread.
      * @param sourceAlias The source world alias or name.
      * @param targetContainer The target container name.
      * @param targetName The target world name.
@@ -235,6 +271,16 @@ public class SpyAPI {
         return getWorldManager().unloadWorld(alias, save);
     }
 
+    /**
+     * Save and unload a world over several ticks instead of in one.
+     * Players are moved out, chunks are saved a few per tick, then the world is unloaded.
+     * @param alias The world alias.
+     * @return A future completing with true once the world is unloaded.
+     */
+    public static CompletableFuture<Boolean> unloadWorldAsync(String alias) {
+        return getWorldManager().unloadWorldAsync(alias);
+    }
+
     /**
      * Delete a world and its files.
      * @param alias The world alias.
@@ -255,13 +301,155 @@ public class SpyAPI {
 
     /**
      * Copy world files from source to target.
-     * This method is safe to call from an asynchronous thread.
+     * This method is safe to call from an asynchronous thread. Called from the main thread it
+     * blocks the server until the copy finishes.
      * @return True if successful.
      */
     public static boolean copyWorldFiles(String sourceAlias, @Nullable String targetContainer, String targetName) {
         return getWorldManager().copyWorldFiles(sourceAlias, targetContainer, targetName);
     }
 
+    /**
+     * Load a world asynchronously. Folder checks run off the main thread and only
+     * the final Bukkit load is performed on the main thread.
+     * Like every *Async method here, the future itself fails with the {@link WorldOperationException};
+     * stages chained onto it see it wrapped, which {@link WorldOperationException#unwrap} strips.
+     * @param container The container name. Use null for root.
+     * @param worldName The world folder name.
+     * @return A future completing with the loaded world, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<World> loadWorldAsync(@Nullable String container, String worldName) {
+        return getWorldManager().loadWorldAsync(container, worldName);
+    }
+
+    /**
+     * Load a world asynchronously with a custom generator, environment and seed.
+     * @param container The container name. Use null for root.
+     * @param worldName The world folder name.
+     * @param generator The generator name.
+     * @param environment The world environment.
+     * @param seed The seed to ensure consistency (optional).
+     * @return A future completing with the loaded world, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<World> loadWorldAsync(@Nullable String container, String worldName, @Nullable String generator, @Nullable World.Environment environment, @Nullable Long seed) {
+        return getWorldManager().loadWorldAsync(container, worldName, generator, environment, seed);
+    }
+
+    /**
+     * Wake a world from hibernation without blocking the main thread on file checks.
+     * @param alias The world alias or technical name.
+     * @return A future completing with the world, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<World> wakeWorldAsync(String alias) {
+        return getWorldManager().wakeWorldAsync(alias);
+    }
+
+    /**
+     * Create a new world asynchronously.
+     * @param container The container name. Use null for root.
+     * @param worldName The world name.
+     * @param environment The world environment (NORMAL, NETHER, END).
+     * @param generator The generator name (optional).
+     * @param seed The seed (optional).
+     * @return A future completing with the created world, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<World> createWorldAsync(@Nullable String container, String worldName, World.Environment environment, @Nullable String generator, @Nullable Long seed) {
+        return getWorldManager().createWorldAsync(container, worldName, environment, generator, seed);
+    }
+
+    /**
+     * Create a new world asynchronously at the given queue priority.
+     * Use {@link WorldOperationQueue.Priority#PLAYER_WAITING} when a player is waiting on the world,
+     * or {@link WorldOperationQueue.Priority#BACKGROUND} for speculative work.
+     * @return A future completing with the created world, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<World> createWorldAsync(@Nullable String container, String worldName, World.Environment environment, @Nullable String generator, @Nullable Long seed, WorldOperationQueue.Priority priority) {
+        return getWorldManager().createWorldAsync(container, worldName, environment, generator, seed, priority);
+    }
+
+    /**
+     * Create many worlds in one container as a single batch. Folders are staged in parallel, the worlds are created
+     * under the tick budget, and their records are saved in one registry commit.
+     * A {@link com.spygamingog.spycore.api.events.SpyWorldBatchCreateEvent} fires when the batch is done.
+     * @param container The container name. Use null for root.
+     * @param namePattern The world name, where {@code {n}} is replaced by the index (0 to count - 1). Without it the index is appended.
+     * @param count How many worlds to create.
+     * @return A future completing with the created worlds, the failures and the throughput of the batch.
+     */
+    public static CompletableFuture<WorldManager.BatchResult> createWorlds(@Nullable String container, String namePattern, int count, World.Environment environment, @Nullable String generator, @Nullable Long seed) {
+        return getWorldManager().createWorlds(container, namePattern, count, environment, generator, seed);
+    }
+
+    /**
+     * Clone an existing world asynchronously. The files are copied on an I/O thread
+     * and the clone is loaded on the main thread once the copy has finished.
+     * @param sourceAlias The source world alias or name.
+     * @param targetContainer The target container name.
+     * @param targetName The target world name.
+     * @param generator The generator name for the cloned world (optional).
+     * @return A future completing with the cloned world, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<World> cloneWorldAsync(String sourceAlias, @Nullable String targetContainer, String targetName, @Nullable String generator) {
+        return getWorldManager().cloneWorldAsync(sourceAlias, targetContainer, targetName, generator);
+    }
+
+    /**
+     * Clone an existing world asynchronously at the given queue priority.
+     * @return A future completing with the cloned world, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<World> cloneWorldAsync(String sourceAlias, @Nullable String targetContainer, String targetName, @Nullable String generator, WorldOperationQueue.Priority priority) {
+        return getWorldManager().cloneWorldAsync(sourceAlias, targetContainer, targetName, generator, priority);
+    }
+
+    /**
+     * Move a world to another container asynchronously.
+     * @param alias The world alias.
+     * @param targetContainer The target container name. Use null for root.
+     * @param targetName The new world name.
+     * @return A future completing with the world loaded from its new location, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<World> moveWorldAsync(String alias, @Nullable String targetContainer, String targetName) {
+        return getWorldManager().moveWorldAsync(alias, targetContainer, targetName);
+    }
+
+    /**
+     * Unload and delete a world asynchronously. The unload runs on the main thread
+     * and the folder is deleted on an I/O thread.
+     * @param alias The world alias.
+     * @return A future completing once the files are gone, or exceptionally with a {@link WorldOperationException}.
+     */
+    public static CompletableFuture<Void> deleteWorldAsync(String alias) {
+        return getWorldManager().deleteWorldAsync(alias);
+    }
+
+    /**
+     * Lease a pre-warmed world instance from a pool defined in config.yml.
+     * Completes immediately when a warm instance is available.
+     * @param pool The pool name.
+     * @return A future completing with the leased world.
+     */
+    public static CompletableFuture<World> leaseWorld(String pool) {
+        return getWorldPoolManager().lease(pool);
+    }
+
+    /**
+     * Return a leased world to its pool. The world is reset in the background.
+     * @param world The leased world.
+     * @return True if the world belonged to a pool.
+     */
+    public static boolean releaseWorld(World world) {
+        return getWorldPoolManager().release(world);
+    }
+
+    /**
+     * Get hit rate, refill latency and depth metrics for a pool.
+     * @param pool The pool name.
+     * @return The pool metrics, or null if the pool does not exist.
+     */
+    public static @Nullable WorldPoolManager.PoolStats getPoolStats(String pool) {
+        return getWorldPoolManager().getStats(pool);
+    }
+
     /**
      * Link two worlds together to share chat and tablist.
      * @param world1 First world.
@@ -299,6 +487,16 @@ public class SpyAPI {
         getMetadataManager().setTag(world, key, value);
     }
 
+    /**
+     * Attach a numeric tag to a world, e.g. a player count or a timestamp, usable in range queries and ordering.
+     * @param world The world object.
+     * @param key The metadata key.
+     * @param value The metadata value.
+     */
+    public static void setWorldTag(World world, String key, long value) {
+        getMetadataManager().setTag(world, key, value);
+    }
+
     /**
      * Get metadata from a world.
      * @param world The world object.
@@ -314,15 +512,74 @@ public class SpyAPI {
      * @param container The container to search.
      * @param tags Map of key-value pairs to match.
      * @return List of matching worlds.
+     * @deprecated Loads every matching world that is hibernated. Use {@link #findWorldRefs(String, Map)}.
      */
+    @Deprecated
     public static List<World> findWorlds(String container, Map<String, String> tags) {
         return getMetadataManager().findWorlds(container, tags);
     }
 
+    /**
+     * Find worlds matching specific metadata in a container without loading any of them.
+     * @param container The container to search. Worlds in nested containers match too.
+     * @param tags Map of key-value pairs to match. Values are compared case-insensitively.
+     * @return Handles to the matching worlds. Use {@link WorldRef#loaded()} or {@link WorldRef#loadAsync()} as needed.
+     */
+    public static List<WorldRef> findWorldRefs(String container, Map<String, String> tags) {
+        return getMetadataManager().findWorldRefs(container, tags);
+    }
+
+    /**
+     * Find worlds with a query supporting ranges, ordering and a limit, without loading any of them.
+     * @param query e.g. {@code TagQuery.in("Bedwars").lessThan("players", 8).orderBy("lastReset").limit(5)}.
+     * @return Handles to the matching worlds, in query order.
+     */
+    public static List<WorldRef> findWorldRefs(TagQuery query) {
+        return getMetadataManager().findWorldRefs(query);
+    }
+
+    /**
+     * Atomically claim a world for a match, e.g. one with state=WAITING, by flipping a tag, e.g. to state=INGAME.
+     * Concurrent claims never return the same world.
+     * @param container The container to search. Worlds in nested containers match too.
+     * @param tags Map of key-value pairs the world must carry; must include {@code key}.
+     * @param key The tag to flip.
+     * @param value The value the tag gets while claimed.
+     * @param leaseMillis Time after which the claim ends by itself and the tag gets its previous value back, or 0 for never.
+     * @return The claim, or null if no world is free. Confirm, renew or release it through the {@link MetadataManager}.
+     */
+    public static TagAllocator.Lease claimWorld(String container, Map<String, String> tags, String key, String value, long leaseMillis) {
+        return getMetadataManager().claimWorld(container, tags, key, value, leaseMillis);
+    }
+
+    /**
+     * End a claim and give the tag its previous value back.
+     * @return False if the claim already ended.
+     */
+    public static boolean releaseClaim(TagAllocator.Lease lease) {
+        return getMetadataManager().releaseClaim(lease);
+    }
+
+    /**
+     * Keep the claimed value for good and save it.
+     * @return False if the claim already ended.
+     */
+    public static boolean confirmClaim(TagAllocator.Lease lease) {
+        return getMetadataManager().confirmClaim(lease);
+    }
+
     public static WorldManager getWorldManager() {
         return SpyCore.getInstance().getWorldManager();
     }
 
+    public static WorldPoolManager getWorldPoolManager() {
+        return SpyCore.getInstance().getWorldPoolManager();
+    }
+
+    public static PrewarmManager getPrewarmManager() {
+        return SpyCore.getInstance().getPrewarmManager();
+    }
+
     public static PlayerManager getPlayerManager() {
         return SpyCore.getInstance().getPlayerManager();
     }
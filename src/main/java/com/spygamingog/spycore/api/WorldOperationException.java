@@ -0,0 +1,38 @@
+package com.spygamingog.spycore.api;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Thrown (or used to complete a future exceptionally) when an asynchronous
+ * world operation such as a load, clone, move or delete fails.
+ * The alias identifies the world the operation was acting on.
+ */
+public class WorldOperationException extends RuntimeException {
+    private final String alias;
+
+    public WorldOperationException(String alias, String message) {
+        super("World '" + alias + "': " + message);
+        this.alias = alias;
+    }
+
+    public WorldOperationException(String alias, String message, Throwable cause) {
+        super("World '" + alias + "': " + message, cause);
+        this.alias = alias;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    /**
+     * Strip the {@link CompletionException} / {@link ExecutionException} layers a dependent stage or
+     * {@code join()} adds around the real failure.
+     */
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,41 @@
+package com.spygamingog.spycore.api.events;
+
+import lombok.Getter;
+import org.bukkit.World;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fired once when a batch started by {@code createWorlds} has finished, after the
+ * {@link SpyWorldCreateEvent} of each world in it.
+ */
+@Getter
+public class SpyWorldBatchCreateEvent extends Event {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final String container;
+    private final List<World> worlds;
+    // World name to error message, for the worlds that could not be created
+    private final Map<String, String> failures;
+    private final long millis;
+
+    public SpyWorldBatchCreateEvent(String container, List<World> worlds, Map<String, String> failures, long millis) {
+        this.container = container;
+        this.worlds = List.copyOf(worlds);
+        this.failures = Map.copyOf(failures);
+        this.millis = millis;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -1,16 +1,27 @@
 package com.spygamingog.spycore.commands;
 
 import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.api.WorldOperationException;
 import com.spygamingog.spycore.managers.WorldManager;
+import com.spygamingog.spycore.managers.ColdStorageManager;
+import com.spygamingog.spycore.storage.MetadataJournal;
+import com.spygamingog.spycore.storage.WorldRegistryStore;
 import com.spygamingog.spycore.managers.MetadataManager;
 import com.spygamingog.spycore.managers.TemplateManager;
+import com.spygamingog.spycore.managers.WorldOperationQueue;
+import com.spygamingog.spycore.managers.WorldPoolManager;
+import com.spygamingog.spycore.models.WorldRef;
+import com.spygamingog.spycore.utils.Benchmarks;
+import com.spygamingog.spycore.utils.TagAllocator;
+import com.spygamingog.spycore.utils.TagQuery;
+import com.spygamingog.spycore.utils.TemplateCache;
+import com.spygamingog.spycore.utils.TrashBin;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.GameRule;
-import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -91,6 +102,31 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
             case "wake":
                 handleWakeCommand(sender, args);
                 break;
+            case "pool":
+                handlePoolCommand(sender, args);
+                break;
+            case "bench":
+                handleBenchCommand(sender, args);
+                break;
+            case "cache":
+                handleCacheCommand(sender);
+                break;
+            case "cold":
+                handleColdCommand(sender);
+                break;
+            case "storage":
+                handleStorageCommand(sender, args);
+                break;
+            case "claims":
+                handleClaimsCommand(sender);
+                break;
+            case "queue":
+                handleQueueCommand(sender);
+                break;
+            case "startup":
+                sender.sendMessage("§6Startup Report:");
+                plugin.getStartupLoader().getReport().forEach(line -> sender.sendMessage("§7" + line));
+                break;
             default:
                 sender.sendMessage("§cUnknown command. Use /spy help");
                 break;
@@ -166,12 +202,13 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                     (seed != null ? " with seed " + seed : "") + 
                     (generator != null ? " with generator " + generator : "") + "...");
             
-            World world = plugin.getWorldManager().createWorld(null, name, env, generator, seed);
-            if (world != null) {
-                sender.sendMessage("§aWorld created successfully.");
-            } else {
-                sender.sendMessage("§cFailed to create world. Check console for details.");
-            }
+            plugin.getWorldManager().createWorldAsync(null, name, env, generator, seed, WorldOperationQueue.Priority.PLAYER_WAITING).whenComplete((world, error) -> {
+                if (error == null) {
+                    sender.sendMessage("§aWorld created successfully.");
+                } else {
+                    sender.sendMessage("§cFailed to create world. Check console for details.");
+                }
+            });
         }
     }
 
@@ -195,12 +232,14 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
         }
 
         sender.sendMessage("§aCloning world '" + source + "' to container '" + targetContainer + "' as '" + targetName + "'...");
-        World cloned = plugin.getWorldManager().cloneWorld(source, targetContainer, targetName, generator);
-        if (cloned != null) {
-            sender.sendMessage("§aSuccessfully cloned world to " + plugin.getWorldManager().getAliasForWorld(cloned));
-        } else {
-            sender.sendMessage("§cFailed to clone world. Check console for details.");
-        }
+        plugin.getWorldManager().cloneWorldAsync(source, targetContainer, targetName, generator, WorldOperationQueue.Priority.PLAYER_WAITING).whenComplete((cloned, error) -> {
+            if (error == null) {
+                sender.sendMessage("§aSuccessfully cloned world to " + plugin.getWorldManager().getAliasForWorld(cloned));
+            } else {
+                sender.sendMessage("§cFailed to clone world. Check console for details.");
+                plugin.getLogger().warning("VFS: Clone of '" + source + "' failed: " + WorldOperationException.unwrap(error).getMessage());
+            }
+        });
     }
 
     private void handleDeleteCommand(CommandSender sender, String[] args) {
@@ -237,11 +276,8 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
         }
 
         String alias = args[1];
-        if (plugin.getWorldManager().removeWorld(alias)) {
-            sender.sendMessage("§aWorld '" + alias + "' removed from config and list, but files remain.");
-        } else {
-            sender.sendMessage("§cWorld '" + alias + "' not found in registered list.");
-        }
+        removeWorld(sender, alias, "§aWorld '" + alias + "' removed from config and list, but files remain.",
+                "§cWorld '" + alias + "' not found in registered list.");
     }
 
     private void handleUnloadCommand(CommandSender sender, String[] args) {
@@ -251,11 +287,28 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
         }
 
         String alias = args[1];
-        if (plugin.getWorldManager().removeWorld(alias)) {
-            sender.sendMessage("§aWorld '" + alias + "' has been unloaded and removed from active lists.");
-        } else {
-            sender.sendMessage("§cWorld '" + alias + "' is not loaded or not found.");
+        removeWorld(sender, alias, "§aWorld '" + alias + "' has been unloaded and removed from active lists.",
+                "§cWorld '" + alias + "' is not loaded or not found.");
+    }
+
+    private void removeWorld(CommandSender sender, String alias, String removed, String notFound) {
+        WorldManager worldManager = plugin.getWorldManager();
+        String fullPath = worldManager.resolveFullPath(alias);
+        if (!worldManager.getWorldAliases().containsValue(fullPath) && worldManager.getWorld(fullPath, false) == null) {
+            sender.sendMessage(notFound);
+            return;
         }
+
+        sender.sendMessage("§eUnloading '" + alias + "'...");
+        worldManager.removeWorldAsync(alias).whenComplete((done, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cFailed to remove '" + alias + "': " + WorldOperationException.unwrap(error).getMessage());
+            } else if (!done) {
+                sender.sendMessage("§cWorld '" + alias + "' could not be unloaded and is still registered.");
+            } else {
+                sender.sendMessage(removed);
+            }
+        });
     }
 
     private void handleMoveCommand(CommandSender sender, String[] args) {
@@ -272,17 +325,23 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
         String target = args[3].replace(".", "/"); // Allow dots as separators too
 
         if (type.equals("world")) {
-            if (plugin.getWorldManager().moveWorld(name, target, name)) {
-                sender.sendMessage("§aWorld '" + name + "' moved to " + target);
-            } else {
-                sender.sendMessage("§cFailed to move world. Make sure it exists and target is valid.");
-            }
+            sender.sendMessage("§eMoving world '" + name + "'...");
+            plugin.getWorldManager().moveWorldAsync(name, target, name).whenComplete((world, error) -> {
+                if (error == null) {
+                    sender.sendMessage("§aWorld '" + name + "' moved to " + target);
+                } else {
+                    sender.sendMessage("§cFailed to move world: " + WorldOperationException.unwrap(error).getMessage());
+                }
+            });
         } else if (type.equals("container")) {
-            if (plugin.getWorldManager().moveContainer(name, target)) {
-                sender.sendMessage("§aContainer '" + name + "' moved to " + target);
-            } else {
-                sender.sendMessage("§cFailed to move container. Make sure it exists and target is valid.");
-            }
+            sender.sendMessage("§eMoving container '" + name + "'...");
+            plugin.getWorldManager().moveContainerAsync(name, target).whenComplete((ignored, error) -> {
+                if (error == null) {
+                    sender.sendMessage("§aContainer '" + name + "' moved to " + target);
+                } else {
+                    sender.sendMessage("§cFailed to move container: " + WorldOperationException.unwrap(error).getMessage());
+                }
+            });
         } else {
             sender.sendMessage("§cInvalid type. Use 'world' or 'container'.");
         }
@@ -414,10 +473,14 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                 }
 
                 if (target != null) {
-                    Location spawn = target.getSpawnLocation();
-                    player.teleport(spawn);
                     String tpAlias = plugin.getWorldManager().getAliasForWorld(target);
-                    sender.sendMessage("§aTeleported to " + tpAlias);
+                    plugin.getPrewarmManager().teleportAsync(player, target.getSpawnLocation()).whenComplete((success, ex) -> {
+                        if (ex == null && Boolean.TRUE.equals(success)) {
+                            sender.sendMessage("§aTeleported to " + tpAlias);
+                        } else {
+                            sender.sendMessage("§cCould not teleport to " + tpAlias);
+                        }
+                    });
                 } else {
                     sender.sendMessage("§cWorld not found.");
                 }
@@ -471,8 +534,7 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
             String world = args[3];
             String generator = args.length >= 5 ? args[4] : null;
             sender.sendMessage("§aLoading container world " + world + " from " + container + (generator != null ? " with generator " + generator : "") + "...");
-            plugin.getWorldManager().loadWorld(container, world, generator);
-            sender.sendMessage("§aLoad operation attempted.");
+            queueLoad(sender, container, world, generator);
         } else {
             String world = args[1];
             String container = null;
@@ -491,20 +553,72 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                     plugin.getWorldManager().loadWorld(null, world, generator);
                 }
                 
-                if (plugin.getWorldManager().moveWorld(world, container, world)) {
-                    sender.sendMessage("§aWorld " + world + " loaded and moved to " + container);
-                } else {
-                    sender.sendMessage("§cFailed to load and move world.");
-                }
+                String targetContainer = container;
+                plugin.getWorldManager().moveWorldAsync(world, targetContainer, world).whenComplete((moved, error) -> {
+                    if (error == null) {
+                        sender.sendMessage("§aWorld " + world + " loaded and moved to " + targetContainer);
+                    } else {
+                        sender.sendMessage("§cFailed to load and move world: " + WorldOperationException.unwrap(error).getMessage());
+                    }
+                });
             } else {
                 generator = args.length >= 3 ? args[2] : null;
                 sender.sendMessage("§aLoading root world " + world + (generator != null ? " with generator " + generator : "") + "...");
-                plugin.getWorldManager().loadWorld(null, world, generator);
-                sender.sendMessage("§aLoad operation attempted.");
+                queueLoad(sender, null, world, generator);
             }
         }
     }
 
+    private void handleBatchCreate(CommandSender sender, String containerPath, String[] args, int actionIdx, int remaining) {
+        if (remaining < 4) {
+            sender.sendMessage("§cUsage: /spy container [path...] create batch <pattern> <count> <type> [generator]");
+            sender.sendMessage("§eExample: /spy container factory create batch slot{n} 20 normal lazy");
+            return;
+        }
+        String pattern = args[actionIdx + 2];
+        int count;
+        try {
+            count = Integer.parseInt(args[actionIdx + 3]);
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cInvalid count: " + args[actionIdx + 3]);
+            return;
+        }
+        World.Environment env = parseEnv(args[actionIdx + 4]);
+        String generator = remaining >= 5 ? args[actionIdx + 5] : null;
+        String container = containerPath.isEmpty() ? null : containerPath;
+
+        sender.sendMessage("§aCreating " + count + " worlds from pattern " + pattern + " in " + (container == null ? "root" : container) + "...");
+        plugin.getWorldManager().createWorlds(container, pattern, count, env, generator, null, WorldOperationQueue.Priority.PLAYER_WAITING).whenComplete((result, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cBatch creation failed: " + WorldOperationException.unwrap(error).getMessage());
+                return;
+            }
+            sender.sendMessage(String.format("§aCreated %d/%d worlds in %dms §7(%.1f worlds/min)", result.worlds().size(), count, result.millis(), result.worldsPerMinute()));
+            result.failures().forEach((name, message) -> sender.sendMessage("§c  " + name + ": " + message));
+        });
+    }
+
+    private void queueUnload(CommandSender sender, String alias) {
+        sender.sendMessage("§aSaving and unloading world " + alias + "...");
+        plugin.getWorldManager().unloadWorldAsync(alias, WorldOperationQueue.Priority.PLAYER_WAITING).whenComplete((unloaded, error) -> {
+            if (error == null && unloaded) {
+                sender.sendMessage("§aWorld " + alias + " unloaded.");
+            } else {
+                sender.sendMessage("§cCould not unload world " + alias + ".");
+            }
+        });
+    }
+
+    private void queueLoad(CommandSender sender, String container, String world, String generator) {
+        plugin.getWorldManager().loadWorldAsync(container, world, generator, null, null, WorldOperationQueue.Priority.PLAYER_WAITING).whenComplete((loaded, error) -> {
+            if (error == null) {
+                sender.sendMessage("§aLoaded world " + world + ".");
+            } else {
+                sender.sendMessage("§cFailed to load world " + world + ": " + WorldOperationException.unwrap(error).getMessage());
+            }
+        });
+    }
+
     private void handleContainerCommand(CommandSender sender, String[] args) {
         if (args.length < 2) {
             sender.sendMessage("§cUsage: /spy container [con1] [con2] ... <action> <type> <name> [worldType] [generator]");
@@ -537,7 +651,7 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
         switch (action) {
             case "create":
                 if (remaining < 2) {
-                    sender.sendMessage("§cUsage: /spy container [path...] create <container|world> <name> [worldType] [generator]");
+                    sender.sendMessage("§cUsage: /spy container [path...] create <container|world|batch> <name> [worldType] [generator]");
                     return;
                 }
                 String type = args[actionIdx + 1].toLowerCase();
@@ -550,6 +664,8 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                     } else {
                         sender.sendMessage("§cFailed to create container.");
                     }
+                } else if (type.equals("batch")) {
+                    handleBatchCreate(sender, containerPath, args, actionIdx, remaining);
                 } else if (type.equals("world")) {
                     if (remaining < 3) {
                         sender.sendMessage("§cUsage: /spy container [path...] create world <name> <type> [generator]");
@@ -579,8 +695,14 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                     World.Environment env = parseEnv(args[actionIdx + 3]);
                     String generator = remaining >= 4 ? args[actionIdx + 4] : null;
                     sender.sendMessage("§aCreating world " + name + " in container " + (containerPath.isEmpty() ? "root" : containerPath) + (generator != null ? " with generator " + generator : "") + "...");
-                    plugin.getWorldManager().createWorld(containerPath.isEmpty() ? null : containerPath, name, env, generator);
-                    sender.sendMessage("§aWorld created successfully.");
+                    plugin.getWorldManager().createWorldAsync(containerPath.isEmpty() ? null : containerPath, name, env, generator, null, WorldOperationQueue.Priority.PLAYER_WAITING)
+                            .whenComplete((world, error) -> {
+                                if (error == null) {
+                                    sender.sendMessage("§aWorld created successfully.");
+                                } else {
+                                    sender.sendMessage("§cFailed to create world. Check console for details.");
+                                }
+                            });
                 }
                 break;
             case "delete":
@@ -600,11 +722,7 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                     }
                 } else {
                     String alias = containerPath.isEmpty() ? delName : containerPath + "/" + delName;
-                    if (plugin.getWorldManager().unloadWorld(alias, true)) {
-                        sender.sendMessage("§aWorld " + alias + " unloaded.");
-                    } else {
-                        sender.sendMessage("§cCould not unload world.");
-                    }
+                    queueUnload(sender, alias);
                 }
                 break;
             case "load":
@@ -614,8 +732,8 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                 }
                 String loadName = args[actionIdx + 1];
                 String loadGen = remaining >= 2 ? args[actionIdx + 2] : null;
-                plugin.getWorldManager().loadWorld(containerPath.isEmpty() ? null : containerPath, loadName, loadGen);
-                sender.sendMessage("§aLoad attempt for " + loadName + " in " + (containerPath.isEmpty() ? "root" : containerPath) + (loadGen != null ? " with generator " + loadGen : ""));
+                sender.sendMessage("§aLoading " + loadName + " in " + (containerPath.isEmpty() ? "root" : containerPath) + (loadGen != null ? " with generator " + loadGen : "") + "...");
+                queueLoad(sender, containerPath.isEmpty() ? null : containerPath, loadName, loadGen);
                 break;
             case "unload":
                 if (remaining < 1) {
@@ -624,8 +742,7 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                 }
                 String unloadName = args[actionIdx + 1];
                 String uAlias = containerPath.isEmpty() ? unloadName : containerPath + "/" + unloadName;
-                plugin.getWorldManager().unloadWorld(uAlias, true);
-                sender.sendMessage("§aUnload attempt for " + uAlias);
+                queueUnload(sender, uAlias);
                 break;
         }
     }
@@ -682,13 +799,327 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    private void handlePoolCommand(CommandSender sender, String[] args) {
+        List<WorldPoolManager.PoolStats> stats = new ArrayList<>();
+        if (args.length >= 2) {
+            WorldPoolManager.PoolStats single = plugin.getWorldPoolManager().getStats(args[1]);
+            if (single == null) {
+                sender.sendMessage("§cPool '" + args[1] + "' does not exist.");
+                return;
+            }
+            stats.add(single);
+        } else {
+            stats.addAll(plugin.getWorldPoolManager().getAllStats());
+        }
+
+        if (stats.isEmpty()) {
+            sender.sendMessage("§eNo world pools are configured.");
+            return;
+        }
+
+        sender.sendMessage("§6World Pools:");
+        for (WorldPoolManager.PoolStats pool : stats) {
+            sender.sendMessage("§e- " + pool.name() + "§7: ready §f" + pool.depth() + "/" + pool.targetSize()
+                    + "§7, leased §f" + pool.leased() + "§7, warming §f" + pool.inFlight());
+            sender.sendMessage("§7  hit rate §f" + String.format("%.1f%%", pool.hitRate() * 100) + " §7(" + pool.hits() + " hits, " + pool.misses() + " misses)"
+                    + ", avg refill §f" + pool.averageRefillMillis() + "ms§7, last §f" + pool.lastRefillMillis() + "ms");
+        }
+    }
+
+    private void handleCacheCommand(CommandSender sender) {
+        TemplateCache cache = plugin.getWorldManager().getWorldCopier().getCache();
+        if (cache == null) {
+            sender.sendMessage("§eThe template cache is disabled.");
+            return;
+        }
+        TemplateCache.Stats stats = cache.getStats();
+        long lookups = stats.hits() + stats.misses();
+        sender.sendMessage("§6Template Cache:");
+        sender.sendMessage("§7Entries: §f" + stats.entries() + " §7Memory: §f" + (stats.usedBytes() / 1048576) + "/" + (stats.maxBytes() / 1048576) + " MB");
+        sender.sendMessage("§7Hit rate: §f" + (lookups == 0 ? "n/a" : String.format("%.1f%%", 100.0 * stats.hits() / lookups))
+                + " §7Evictions: §f" + stats.evictions() + " §7Invalidations: §f" + stats.invalidations());
+    }
+
+    private void handleColdCommand(CommandSender sender) {
+        ColdStorageManager.Stats stats = plugin.getColdStorageManager().getStats();
+        sender.sendMessage("§6Cold Storage: " + (stats.enabled() ? "§aenabled" : "§cdisabled"));
+        sender.sendMessage("§7Archived worlds: §f" + stats.archivedWorlds() + " §7Size on disk: §f" + (stats.archiveBytes() / 1048576) + " MB");
+        sender.sendMessage("§7Packed: §f" + stats.packs() + String.format(" §7at §f%.1f MB/s §7(ratio §f%.1fx§7)", stats.packMegabytesPerSecond(), stats.compressionRatio()));
+        sender.sendMessage("§7Restored: §f" + stats.restores() + String.format(" §7at §f%.1f MB/s", stats.unpackMegabytesPerSecond())
+                + " §7Wake latency: §f" + stats.averageWakeMillis() + "ms avg, " + stats.lastWakeMillis() + "ms last");
+    }
+
+    private void handleClaimsCommand(CommandSender sender) {
+        TagAllocator.Stats stats = plugin.getMetadataManager().getClaimStats();
+        sender.sendMessage("§6World Claims: §f" + stats.active() + " active");
+        sender.sendMessage("§7Claimed: §f" + stats.claims() + " §7No free world: §f" + stats.misses() + " §7Conflicts: §f" + stats.conflicts());
+        sender.sendMessage("§7Released: §f" + stats.released() + " §7Expired: §f" + stats.expired());
+        sender.sendMessage(String.format("§7Latency: §f%.1fus avg, %.0fus max", stats.averageMicros(), stats.maxMicros()));
+    }
+
+    private void handleQueueCommand(CommandSender sender) {
+        WorldOperationQueue.Stats stats = plugin.getWorldManager().getOperationQueue().getStats();
+        sender.sendMessage("§6World Operation Queue: §f" + stats.pending() + " pending §7(budget " + stats.budgetMillis() + "ms/tick)");
+        sender.sendMessage("§7By priority: §f" + stats.pendingByPriority());
+        if (!stats.pendingByContainer().isEmpty()) {
+            sender.sendMessage("§7By container: §f" + stats.pendingByContainer());
+        }
+        sender.sendMessage("§7Executed: §f" + stats.executed() + " §7Failed: §f" + stats.failed() + " §7Ticks over budget: §f" + stats.overBudgetTicks());
+        sender.sendMessage(String.format("§7Run: §f%.1fms avg, %dms max §7Wait: §f%.1fms avg", stats.averageRunMillis(), stats.maxRunMillis(), stats.averageWaitMillis()));
+        for (WorldOperationQueue.Timing timing : stats.recent().subList(0, Math.min(5, stats.recent().size()))) {
+            sender.sendMessage("§7  " + timing.label() + " §8[" + timing.container() + ", " + timing.priority() + "] §7waited §f" + timing.waitMillis()
+                    + "ms§7, ran §f" + timing.runMillis() + "ms" + (timing.success() ? "" : " §c(failed)"));
+        }
+    }
+
+    private void handleStorageCommand(CommandSender sender, String[] args) {
+        if (args.length >= 2 && args[1].equalsIgnoreCase("export")) {
+            java.io.File file = new java.io.File(plugin.getDataFolder(), "worlds-export.yml");
+            plugin.getWorldManager().runIo(() -> {
+                try {
+                    plugin.getWorldManager().exportRegistry(file);
+                    return file;
+                } catch (java.io.IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            }).whenComplete((exported, error) -> {
+                if (error != null) {
+                    sender.sendMessage("§cExport failed: " + WorldOperationException.unwrap(error).getMessage());
+                    return;
+                }
+                sender.sendMessage("§aExported the world registry to " + exported.getName());
+            });
+            return;
+        }
+
+        WorldRegistryStore.Stats stats = plugin.getWorldManager().getRegistryStore().getStats();
+        sender.sendMessage("§6World Registry (" + stats.type() + "): " + (stats.dirty() ? "§epending changes" : "§aup to date"));
+        sender.sendMessage("§7Worlds: §f" + stats.records() + " §7Loaded in: §f" + stats.loadMillis() + "ms");
+        sender.sendMessage("§7Flushes: §f" + stats.flushes() + " §7Failures: §f" + stats.failures()
+                + (stats.type().equals("journal") ? " §7Journal entries: §f" + stats.journalEntries() + " §7Compactions: §f" + stats.compactions() : ""));
+        sender.sendMessage("§7Written: §f" + (stats.bytesWritten() / 1024) + " KB" + String.format(" §7Flush time: §f%.1fms avg, ", stats.averageFlushMillis()) + stats.lastFlushMillis() + "ms last");
+
+        MetadataJournal.Stats metadata = plugin.getMetadataManager().getPersistenceStats();
+        sender.sendMessage("§6World Metadata (" + metadata.durability() + "): " + (metadata.pending() > 0 ? "§e" + metadata.pending() + " pending changes" : "§aup to date"));
+        sender.sendMessage("§7Tagged worlds: §f" + metadata.worlds() + " §7Loaded in: §f" + metadata.loadMillis() + "ms §7Replayed: §f" + metadata.replayed()
+                + " §7Changes: §f" + metadata.appended());
+        sender.sendMessage("§7Flushes: §f" + metadata.flushes() + " §7Syncs: §f" + metadata.syncs() + " §7Failures: §f" + metadata.failures()
+                + String.format(" §7Flush time: §f%.1fms avg, ", metadata.averageFlushMillis()) + metadata.lastFlushMillis() + "ms last");
+        sender.sendMessage("§7Journal entries: §f" + metadata.journalEntries() + " §7Compactions: §f" + metadata.compactions() + " (" + metadata.lastCompactionMillis()
+                + "ms last) §7metadata.yml: §f" + (metadata.snapshotBytes() / 1024) + " KB §7Written: §f" + (metadata.bytesWritten() / 1024) + " KB");
+
+        TrashBin.Stats trash = plugin.getWorldManager().getTrashBin().getStats();
+        sender.sendMessage("§7Trash: §f" + trash.pending() + " pending §7Purged: §f" + trash.purged() + " folders, " + trash.filesDeleted() + " files, "
+                + (trash.bytesDeleted() / 1048576) + " MB" + (trash.fallbacks() > 0 ? " §e(" + trash.fallbacks() + " deleted in place)" : ""));
+    }
+
+    private void handleBenchCommand(CommandSender sender, String[] args) {
+        if (args.length >= 2 && args[1].equalsIgnoreCase("alias")) {
+            handleAliasBench(sender, args);
+            return;
+        }
+        if (args.length >= 2 && args[1].equalsIgnoreCase("registry")) {
+            handleRegistryBench(sender, args);
+            return;
+        }
+        if (args.length >= 2 && args[1].equalsIgnoreCase("tags")) {
+            handleTagBench(sender, args);
+            return;
+        }
+        if (args.length >= 2 && args[1].equalsIgnoreCase("claims")) {
+            handleClaimBench(sender, args);
+            return;
+        }
+        if (args.length >= 2 && args[1].equalsIgnoreCase("range")) {
+            handleRangeBench(sender, args);
+            return;
+        }
+        if (args.length < 3 || !args[1].equalsIgnoreCase("copy")) {
+            sender.sendMessage("§cUsage: /spy bench copy <world> [rounds]");
+            sender.sendMessage("§cUsage: /spy bench alias [lookups]");
+            sender.sendMessage("§cUsage: /spy bench registry [sizes...]");
+            sender.sendMessage("§cUsage: /spy bench tags [worlds] [queries]");
+            sender.sendMessage("§cUsage: /spy bench claims [worlds] [threads] [pops]");
+            sender.sendMessage("§cUsage: /spy bench range [worlds] [queries]");
+            return;
+        }
+
+        String source = args[2];
+        int rounds = 3;
+        if (args.length >= 4) {
+            try {
+                rounds = Math.max(1, Integer.parseInt(args[3]));
+            } catch (NumberFormatException e) {
+                sender.sendMessage("§cRounds must be a number.");
+                return;
+            }
+        }
+
+        java.io.File sourceFolder = plugin.getWorldManager().getWorldFolder(plugin.getWorldManager().resolveFullPath(source));
+        if (!sourceFolder.exists()) {
+            sender.sendMessage("§cWorld folder not found: " + sourceFolder.getPath());
+            return;
+        }
+
+        int finalRounds = rounds;
+        java.io.File scratch = new java.io.File(plugin.getDataFolder(), "bench");
+        sender.sendMessage("§aBenchmarking copy of '" + source + "' (" + rounds + " rounds)...");
+        plugin.getWorldManager().runIo(() -> {
+            try {
+                return Benchmarks.copy(plugin.getWorldManager().getWorldCopier(), sourceFolder, scratch, finalRounds);
+            } catch (java.io.IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        }).whenComplete((report, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cBenchmark failed: " + WorldOperationException.unwrap(error).getMessage());
+                return;
+            }
+            report.forEach(line -> sender.sendMessage("§e" + line));
+        });
+    }
+
+    private void handleRegistryBench(CommandSender sender, String[] args) {
+        int[] sizes = args.length >= 3 ? new int[args.length - 2] : new int[]{1_000, 10_000, 100_000};
+        try {
+            for (int i = 2; i < args.length; i++) {
+                sizes[i - 2] = Math.max(1, Integer.parseInt(args[i]));
+            }
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cSizes must be numbers.");
+            return;
+        }
+
+        java.io.File scratch = new java.io.File(plugin.getDataFolder(), "bench-registry");
+        sender.sendMessage("§aBenchmarking registry startup at " + Arrays.toString(sizes) + " worlds...");
+        plugin.getWorldManager().runIo(() -> {
+            try {
+                return Benchmarks.registryStartup(scratch, sizes, 1_000, plugin.getLogger());
+            } catch (java.io.IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        }).whenComplete((report, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cBenchmark failed: " + WorldOperationException.unwrap(error).getMessage());
+                return;
+            }
+            report.forEach(line -> sender.sendMessage("§e" + line));
+        });
+    }
+
+    private void handleTagBench(CommandSender sender, String[] args) {
+        int worlds = 10_000;
+        int queries = 20_000;
+        try {
+            if (args.length >= 3) worlds = Math.max(1, Integer.parseInt(args[2]));
+            if (args.length >= 4) queries = Math.max(1, Integer.parseInt(args[3]));
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cWorlds and queries must be numbers.");
+            return;
+        }
+
+        int finalWorlds = worlds;
+        int finalQueries = queries;
+        sender.sendMessage("§aBenchmarking tag queries (" + worlds + " worlds)...");
+        plugin.getWorldManager().runIo(() -> Benchmarks.tagQuery(finalWorlds, finalQueries)).whenComplete((report, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cBenchmark failed: " + WorldOperationException.unwrap(error).getMessage());
+                return;
+            }
+            report.forEach(line -> sender.sendMessage("§e" + line));
+        });
+    }
+
+    private void handleRangeBench(CommandSender sender, String[] args) {
+        int worlds = 10_000;
+        int queries = 2_000;
+        try {
+            if (args.length >= 3) worlds = Math.max(1, Integer.parseInt(args[2]));
+            if (args.length >= 4) queries = Math.max(1, Integer.parseInt(args[3]));
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cWorlds and queries must be numbers.");
+            return;
+        }
+
+        int finalWorlds = worlds;
+        int finalQueries = queries;
+        sender.sendMessage("§aBenchmarking range queries (" + worlds + " worlds)...");
+        plugin.getWorldManager().runIo(() -> Benchmarks.rangeQuery(finalWorlds, finalQueries)).whenComplete((report, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cBenchmark failed: " + WorldOperationException.unwrap(error).getMessage());
+                return;
+            }
+            report.forEach(line -> sender.sendMessage("§e" + line));
+        });
+    }
+
+    private void handleClaimBench(CommandSender sender, String[] args) {
+        int worlds = 200;
+        int threads = 8;
+        int pops = 100_000;
+        try {
+            if (args.length >= 3) worlds = Math.max(1, Integer.parseInt(args[2]));
+            if (args.length >= 4) threads = Math.max(1, Integer.parseInt(args[3]));
+            if (args.length >= 5) pops = Math.max(1, Integer.parseInt(args[4]));
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cWorlds, threads and pops must be numbers.");
+            return;
+        }
+
+        int finalWorlds = worlds;
+        int finalThreads = threads;
+        int finalPops = pops;
+        sender.sendMessage("§aBenchmarking world claims (" + worlds + " worlds, " + threads + " threads)...");
+        plugin.getWorldManager().runIo(() -> {
+            try {
+                return Benchmarks.claims(finalWorlds, finalThreads, finalPops / finalThreads);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+        }).whenComplete((report, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cBenchmark failed: " + WorldOperationException.unwrap(error).getMessage());
+                return;
+            }
+            report.forEach(line -> sender.sendMessage("§e" + line));
+        });
+    }
+
+    private void handleAliasBench(CommandSender sender, String[] args) {
+        int lookups = 200_000;
+        try {
+            if (args.length >= 3) lookups = Math.max(1, Integer.parseInt(args[2]));
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cLookups must be a number.");
+            return;
+        }
+
+        int finalLookups = lookups;
+        WorldManager worldManager = plugin.getWorldManager();
+        sender.sendMessage("§aBenchmarking alias lookups (" + worldManager.getWorldAliases().size() + " registered worlds)...");
+        worldManager.runIo(() -> Benchmarks.aliasLookup(worldManager, finalLookups)).whenComplete((report, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cBenchmark failed: " + WorldOperationException.unwrap(error).getMessage());
+                return;
+            }
+            report.forEach(line -> sender.sendMessage("§e" + line));
+        });
+    }
+
     private void handleTemplateCommand(CommandSender sender, String[] args) {
         if (args.length < 4) {
             sender.sendMessage("§cUsage: /spy template <template> <container> <world>");
             return;
         }
-        plugin.getTemplateManager().createFromTemplate(args[1], args[2], args[3]);
-        sender.sendMessage("§aCreated world from template.");
+        sender.sendMessage("§aCreating world from template " + args[1] + "...");
+        plugin.getTemplateManager().createFromTemplateAsync(args[1], args[2], args[3], WorldOperationQueue.Priority.PLAYER_WAITING).whenComplete((world, error) -> {
+            if (error == null) {
+                sender.sendMessage("§aCreated world from template.");
+            } else {
+                sender.sendMessage("§cFailed to create world from template: " + WorldOperationException.unwrap(error).getMessage());
+            }
+        });
     }
 
     private void handleTagCommand(CommandSender sender, String[] args) {
@@ -704,14 +1135,27 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
     }
 
     private void handleFindCommand(CommandSender sender, String[] args) {
-        if (args.length < 4) {
+        if (args.length < 3) {
             sender.sendMessage("§cUsage: /spy find <container> <key> <val>");
+            sender.sendMessage("§cUsage: /spy find <container> <key=val|key<n|key>=n|order:[-]key|limit:n>...");
             return;
         }
-        java.util.Map<String, String> tags = new java.util.HashMap<>();
-        tags.put(args[2], args[3]);
-        List<World> found = plugin.getMetadataManager().findWorlds(args[1], tags);
-        sender.sendMessage("§aFound: " + found.stream().map(World::getName).collect(Collectors.joining(", ")));
+        List<WorldRef> found;
+        if (args.length == 4 && !args[2].matches(".*[=<>:].*")) {
+            java.util.Map<String, String> tags = new java.util.HashMap<>();
+            tags.put(args[2], args[3]);
+            found = plugin.getMetadataManager().findWorldRefs(args[1], tags);
+        } else {
+            try {
+                found = plugin.getMetadataManager().findWorldRefs(TagQuery.parse(args[1], Arrays.asList(args).subList(2, args.length)));
+            } catch (IllegalArgumentException e) {
+                sender.sendMessage("§c" + e.getMessage());
+                return;
+            }
+        }
+        sender.sendMessage("§aFound " + found.size() + ": " + found.stream()
+                .map(ref -> (ref.loaded() ? "§a" : "§7") + ref.fullPath())
+                .collect(Collectors.joining("§f, ")));
     }
 
     private World.Environment parseEnv(String s) {
@@ -734,11 +1178,20 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
         addHelpLine(sender, "/spy load <world> [gen]", "Load from root.");
         addHelpLine(sender, "/spy load container <con> <world> [gen]", "Load from container.");
         addHelpLine(sender, "/spy container <con> create <world> <type> [gen]", "Create in container.");
+        addHelpLine(sender, "/spy container <con> create batch <pattern> <count> <type> [gen]", "Create many worlds at once.");
         addHelpLine(sender, "/spy world tp <name>", "Teleport to a world.");
         addHelpLine(sender, "/spy world info", "Show world diagnostics.");
         addHelpLine(sender, "/spy whitelist <add|remove|list> <world>", "Manage hibernation whitelist.");
         addHelpLine(sender, "/spy wake <world>", "Wake world from hibernation.");
         addHelpLine(sender, "/spy template <tpl> <con> <world>", "Clone from template.");
+        addHelpLine(sender, "/spy pool [name]", "Show world pool metrics.");
+        addHelpLine(sender, "/spy cache", "Show template cache metrics.");
+        addHelpLine(sender, "/spy cold", "Show cold storage sizes and throughput.");
+        addHelpLine(sender, "/spy storage [export]", "Show registry and metadata metrics or export the registry as YAML.");
+        addHelpLine(sender, "/spy startup", "Show per-world startup load times.");
+        addHelpLine(sender, "/spy queue", "Show queued world operations and their timings.");
+        addHelpLine(sender, "/spy claims", "Show world claim counts and latency.");
+        addHelpLine(sender, "/spy bench <copy|alias|registry|tags|claims|range>", "Run a performance benchmark.");
         
         sender.sendMessage(Component.text("-----------------------------", NamedTextColor.GOLD));
     }
@@ -756,7 +1209,7 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
         if (args.length == 1) {
-            return filter(Arrays.asList("create", "clone", "delete", "remove", "unload", "move", "world", "setspawn", "load", "container", "template", "tag", "find", "whitelist", "wake", "help"), args[0]);
+            return filter(Arrays.asList("create", "clone", "delete", "remove", "unload", "move", "world", "setspawn", "load", "container", "template", "tag", "find", "whitelist", "wake", "pool", "bench", "cache", "cold", "storage", "startup", "queue", "claims", "help"), args[0]);
         }
 
         String sub = args[0].toLowerCase();
@@ -788,7 +1241,7 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                 String action = args[actionIdx].toLowerCase();
 
                 if (action.equals("create") || action.equals("delete")) {
-                    if (relativeIdx == 1) return filter(Arrays.asList("container", "world"), lastArg);
+                    if (relativeIdx == 1) return filter(action.equals("create") ? Arrays.asList("container", "world", "batch") : Arrays.asList("container", "world"), lastArg);
                     if (relativeIdx == 2) {
                         String type = args[actionIdx + 1].toLowerCase();
                         if (type.equals("container") && action.equals("delete")) return filter(getContainersInPath(currentPath), lastArg);
@@ -836,7 +1289,7 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
             if (worldSub.equals("modify")) {
                 if (args.length == 3) return filter(new ArrayList<>(plugin.getWorldManager().getWorldAliases().keySet()), args[2]);
                 if (args.length == 4) return filter(Arrays.asList("set"), args[3]);
-                if (args.length == 5) return filter(Arrays.asList("autoheal", "hunger", "fly", "mobspawn", "weathercycle", "timecycle", "difficulty"), args[4]);
+                if (args.length == 5) return filter(Arrays.asList("autoheal", "hunger", "fly", "mobspawn", "weathercycle", "timecycle", "difficulty", "disposable"), args[4]);
                 if (args.length == 6) {
                     if (args[4].equalsIgnoreCase("difficulty")) {
                         return filter(Arrays.asList("PEACEFUL", "EASY", "NORMAL", "HARD"), args[5].toUpperCase());
@@ -882,6 +1335,12 @@ public class SpyCommand implements CommandExecutor, TabCompleter {
                     return filter(Arrays.asList("add", "remove", "list"), args[1]);
                 case "wake":
                     return filter(new ArrayList<>(plugin.getWorldManager().getWorldAliases().keySet()), args[1]);
+                case "pool":
+                    return filter(new ArrayList<>(plugin.getWorldPoolManager().getPoolNames()), args[1]);
+                case "bench":
+                    return filter(Arrays.asList("copy", "alias", "registry", "tags", "claims", "range"), args[1]);
+                case "storage":
+                    return filter(Arrays.asList("export"), args[1]);
             }
         }
 
@@ -0,0 +1,65 @@
+package com.spygamingog.spycore.listeners;
+
+import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.managers.WorldManager;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.SpawnChangeEvent;
+
+import java.util.List;
+
+/**
+ * Invalidates cached safe spawns when the spawn moves or blocks around it change.
+ */
+public class SafeSpawnListener implements Listener {
+    private final WorldManager worldManager;
+
+    public SafeSpawnListener(SpyCore plugin) {
+        this.worldManager = plugin.getWorldManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSpawnChange(SpawnChangeEvent event) {
+        worldManager.invalidateSafeLocation(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        check(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        check(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        checkAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        checkAll(event.blockList());
+    }
+
+    private void checkAll(List<Block> blocks) {
+        for (Block block : blocks) {
+            if (check(block)) return;
+        }
+    }
+
+    private boolean check(Block block) {
+        World world = block.getWorld();
+        if (!worldManager.isInSafeSpawnArea(world, block.getX(), block.getZ())) return false;
+        worldManager.invalidateSafeLocation(world);
+        return true;
+    }
+}
@@ -28,11 +28,7 @@ public class WorldSettingsListener implements Listener {
         World world = event.getLocation().getWorld();
         if (world == null) return;
 
-        String alias = worldManager.getAliasForWorld(world);
-        if (alias == null) return;
-
-        boolean mobSpawn = (boolean) worldManager.getWorldSetting(alias, "mobspawn", true);
-        if (!mobSpawn) {
+        if (!worldManager.getSettings(world).mobSpawn()) {
             org.bukkit.entity.EntityType type = event.getEntityType();
             // Allow ArmorStands (Holograms), Items (Generators), Golems, and Fish
             if (type == org.bukkit.entity.EntityType.ARMOR_STAND || 
@@ -49,12 +45,7 @@ public class WorldSettingsListener implements Listener {
     public void onHunger(FoodLevelChangeEvent event) {
         if (!(event.getEntity() instanceof Player player)) return;
         
-        World world = player.getWorld();
-        String alias = worldManager.getAliasForWorld(world);
-        if (alias == null) return;
-
-        boolean hunger = (boolean) worldManager.getWorldSetting(alias, "hunger", true);
-        if (!hunger) {
+        if (!worldManager.getSettings(player.getWorld()).hunger()) {
             event.setCancelled(true);
             player.setFoodLevel(20);
         }
@@ -64,12 +55,7 @@ public class WorldSettingsListener implements Listener {
     public void onAutoHeal(EntityRegainHealthEvent event) {
         if (!(event.getEntity() instanceof Player player)) return;
 
-        World world = player.getWorld();
-        String alias = worldManager.getAliasForWorld(world);
-        if (alias == null) return;
-
-        boolean autoHeal = (boolean) worldManager.getWorldSetting(alias, "autoheal", true);
-        if (!autoHeal && event.getRegainReason() == EntityRegainHealthEvent.RegainReason.SATIATED) {
+        if (!worldManager.getSettings(player.getWorld()).autoHeal() && event.getRegainReason() == EntityRegainHealthEvent.RegainReason.SATIATED) {
             event.setCancelled(true);
         }
     }
@@ -85,11 +71,7 @@ public class WorldSettingsListener implements Listener {
     }
 
     private void applyFlySetting(Player player) {
-        World world = player.getWorld();
-        String alias = worldManager.getAliasForWorld(world);
-        if (alias == null) return;
-
-        boolean fly = (boolean) worldManager.getWorldSetting(alias, "fly", false);
+        boolean fly = worldManager.getSettings(player.getWorld()).fly();
         if (fly || player.getGameMode() == org.bukkit.GameMode.CREATIVE || player.getGameMode() == org.bukkit.GameMode.SPECTATOR) {
             player.setAllowFlight(true);
         } else {
@@ -0,0 +1,161 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Saves and unloads the chunks of a world a few at a time before the world itself is unloaded,
+ * so the final {@code Bukkit.unloadWorld(world, true)} only has the leftovers to write instead of
+ * stalling one tick on every dirty chunk of the world.
+ * <p>
+ * Each tick spends at most {@code unload.flush-tick-budget-ms} across all worlds being flushed, taking turns
+ * between them, but always unloads at least one chunk. Paper hands the chunk data to its region file I/O thread,
+ * so the main thread only pays for serializing each chunk.
+ * MUST be used on the main thread.
+ */
+public class ChunkFlusher {
+    private final SpyCore plugin;
+    private final long budgetNanos;
+
+    // Key: World name, Value: Chunks still to flush
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private BukkitTask ticker;
+
+    public ChunkFlusher(SpyCore plugin) {
+        this.plugin = plugin;
+        this.budgetNanos = Math.max(1, plugin.getConfig().getLong("unload.flush-tick-budget-ms", 5)) * 1_000_000L;
+    }
+
+    /**
+     * Start flushing the loaded chunks of a world.
+     * @return A future completing with the number of chunks flushed, once every chunk has been tried.
+     */
+    public CompletableFuture<Integer> flush(World world) {
+        Job existing = jobs.get(world.getName());
+        if (existing != null) return existing.done;
+
+        // Prewarm tickets would keep the spawn chunks loaded
+        world.removePluginChunkTickets(plugin);
+        Job job = new Job(world);
+        if (job.pending.isEmpty()) {
+            job.done.complete(0);
+            return job.done;
+        }
+
+        jobs.put(world.getName(), job);
+        if (ticker == null) {
+            ticker = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+        return job.done;
+    }
+
+    /**
+     * Flush the chunks of several worlds right away, taking turns between them, until every chunk has been tried
+     * or the deadline passes. Used on shutdown, when the scheduler no longer runs the ticker; the region file
+     * I/O thread writes the chunks of one world while the next one is serialized.
+     * @param deadlineMillis Wall-clock time at which to stop, leaving the rest to the final unload.
+     */
+    public void flushNow(List<World> worlds, long deadlineMillis) {
+        List<Job> running = new ArrayList<>();
+        for (World world : worlds) {
+            world.removePluginChunkTickets(plugin);
+            running.add(new Job(world));
+        }
+
+        boolean progressed = true;
+        while (progressed && System.currentTimeMillis() < deadlineMillis) {
+            progressed = false;
+            for (Job job : running) {
+                int[] coords = job.pending.poll();
+                if (coords == null) continue;
+                progressed = true;
+                if (job.world.isChunkLoaded(coords[0], coords[1]) && job.world.unloadChunk(coords[0], coords[1], true)) {
+                    job.flushed++;
+                }
+            }
+        }
+
+        for (Job job : running) {
+            plugin.getLogger().info("VFS: Flushed " + job.flushed + "/" + job.total + " chunks of " + job.world.getName()
+                    + " in " + (System.nanoTime() - job.startedAt) / 1_000_000 + "ms.");
+        }
+    }
+
+    /**
+     * Stop flushing. Pending futures complete right away, leaving the rest to the final unload.
+     */
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+        List<Job> remaining = new ArrayList<>(jobs.values());
+        jobs.clear();
+        for (Job job : remaining) {
+            job.done.complete(job.flushed);
+        }
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + budgetNanos;
+        boolean progressed;
+        // One chunk per world per pass, so a huge world does not hold up the others
+        do {
+            progressed = false;
+            for (Job job : jobs.values()) {
+                int[] coords = job.pending.poll();
+                if (coords == null) continue;
+                progressed = true;
+                if (job.world.isChunkLoaded(coords[0], coords[1]) && job.world.unloadChunk(coords[0], coords[1], true)) {
+                    job.flushed++;
+                }
+            }
+        } while (progressed && System.nanoTime() < deadline);
+
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            Job job = iterator.next();
+            boolean unloaded = Bukkit.getWorld(job.world.getName()) == null;
+            if (!job.pending.isEmpty() && !unloaded) continue;
+
+            iterator.remove();
+            plugin.getLogger().info("VFS: Flushed " + job.flushed + "/" + job.total + " chunks of " + job.world.getName()
+                    + " in " + (System.nanoTime() - job.startedAt) / 1_000_000 + "ms.");
+            job.done.complete(job.flushed);
+        }
+
+        if (jobs.isEmpty()) {
+            ticker.cancel();
+            ticker = null;
+        }
+    }
+
+    private static final class Job {
+        private final World world;
+        private final Deque<int[]> pending = new ArrayDeque<>();
+        private final CompletableFuture<Integer> done = new CompletableFuture<>();
+        private final long startedAt = System.nanoTime();
+        private final int total;
+        private int flushed;
+
+        private Job(World world) {
+            this.world = world;
+            for (Chunk chunk : world.getLoadedChunks()) {
+                pending.add(new int[]{chunk.getX(), chunk.getZ()});
+            }
+            this.total = pending.size();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.api.WorldOperationException;
+import com.spygamingog.spycore.utils.WorldArchiver;
+import org.apache.commons.io.FileUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Moves long-hibernated container worlds to a compressed cold tier.
+ * A world whose folder has not been written for {@code cold-storage.after-hours} is packed into
+ * {@code <cold folder>/<container>/<name>.zip} and its folder is removed. Loading the world
+ * restores it first: asynchronously through the async API, or blocking as a fallback for
+ * {@link WorldManager#getWorld(String, boolean)}. A world that is requested while it is being
+ * packed cancels the pack and keeps its folder.
+ */
+public class ColdStorageManager {
+    private final SpyCore plugin;
+    private final WorldManager worldManager;
+
+    private final boolean enabled;
+    private final File coldFolder;
+    private final long afterMillis;
+    private final int compressionLevel;
+    private final int maxPacksPerPass;
+    private final long checkIntervalTicks;
+
+    // Key: Full path, Value: Pack or restore currently running for that world
+    private final Map<String, Transition> transitions = new ConcurrentHashMap<>();
+    private BukkitTask task;
+
+    private final AtomicLong packs = new AtomicLong();
+    private final AtomicLong restores = new AtomicLong();
+    private final AtomicLong packedRawBytes = new AtomicLong();
+    private final AtomicLong packedArchiveBytes = new AtomicLong();
+    private final AtomicLong packMillis = new AtomicLong();
+    private final AtomicLong restoredBytes = new AtomicLong();
+    private final AtomicLong unpackMillis = new AtomicLong();
+    private final AtomicLong wakeMillis = new AtomicLong();
+    private volatile long lastWakeMillis;
+
+    public ColdStorageManager(SpyCore plugin) {
+        this.plugin = plugin;
+        this.worldManager = plugin.getWorldManager();
+
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("cold-storage");
+        this.enabled = config != null && config.getBoolean("enabled", false);
+        this.coldFolder = new File(plugin.getServer().getWorldContainer(), config != null ? config.getString("folder", "spycore-cold") : "spycore-cold");
+        this.afterMillis = (long) ((config != null ? config.getDouble("after-hours", 72) : 72) * 3_600_000L);
+        this.compressionLevel = Math.min(9, Math.max(0, config != null ? config.getInt("compression-level", 6) : 6));
+        this.maxPacksPerPass = Math.max(1, config != null ? config.getInt("max-packs-per-pass", 2) : 2);
+        this.checkIntervalTicks = Math.max(20, (config != null ? config.getLong("check-interval-minutes", 10) : 10) * 1200L);
+    }
+
+    public void initialize() {
+        if (!enabled) return;
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::packIdleWorlds, checkIntervalTicks, checkIntervalTicks);
+        plugin.getLogger().info("Cold storage enabled (after " + (afterMillis / 3_600_000.0) + "h, archives in " + coldFolder.getPath() + ")");
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        // Packs are abandoned and keep their folders; restores are waited for so no world is left half-unpacked
+        for (Transition transition : transitions.values()) {
+            transition.cancelled().set(true);
+        }
+        for (Transition transition : transitions.values()) {
+            if (transition.restore()) {
+                transition.future().exceptionally(ex -> null).join();
+            }
+        }
+    }
+
+    public File getArchive(String fullPath) {
+        return new File(coldFolder, fullPath.substring("spycore-worlds/".length()).replace("/", File.separator) + ".zip");
+    }
+
+    /**
+     * Check whether the world currently lives in cold storage.
+     */
+    public boolean isArchived(String fullPath) {
+        return fullPath.startsWith("spycore-worlds/")
+                && !worldManager.getWorldFolder(fullPath).exists()
+                && getArchive(fullPath).exists();
+    }
+
+    /**
+     * Make sure the world folder is on disk. Cancels a running pack, and restores the world from
+     * its archive if needed. Completes immediately for worlds that are not in cold storage.
+     */
+    public CompletableFuture<Void> ensureAvailable(String fullPath) {
+        if (!fullPath.startsWith("spycore-worlds/")) return CompletableFuture.completedFuture(null);
+
+        Transition running = transitions.get(fullPath);
+        if (running != null) {
+            if (running.restore()) return running.future();
+            running.cancelled().set(true);
+            return running.future().exceptionally(ex -> null).thenCompose(ignored -> ensureAvailable(fullPath));
+        }
+        if (!isArchived(fullPath)) return CompletableFuture.completedFuture(null);
+
+        long requestedAt = System.nanoTime();
+        Transition transition = new Transition(true, new AtomicBoolean(), new CompletableFuture<>());
+        if (transitions.putIfAbsent(fullPath, transition) != null) return ensureAvailable(fullPath);
+
+        worldManager.runIo(() -> {
+            restore(fullPath);
+            return null;
+        }).whenComplete((ignored, ex) -> {
+            transitions.remove(fullPath);
+            if (ex != null) {
+                transition.future().completeExceptionally(WorldOperationException.unwrap(ex));
+            } else {
+                long millis = (System.nanoTime() - requestedAt) / 1_000_000;
+                lastWakeMillis = millis;
+                wakeMillis.addAndGet(millis);
+                transition.future().complete(null);
+            }
+        });
+        return transition.future();
+    }
+
+    /**
+     * Blocking variant of {@link #ensureAvailable(String)} for the synchronous load path.
+     * @return false if the world could not be restored.
+     */
+    public boolean ensureAvailableNow(String fullPath) {
+        if (!fullPath.startsWith("spycore-worlds/")) return true;
+        if (!transitions.containsKey(fullPath) && !isArchived(fullPath)) return true;
+
+        Transition running = transitions.get(fullPath);
+        if (running != null && !running.restore()) {
+            // The folder is only swapped out on the main thread, which checks this flag first
+            running.cancelled().set(true);
+            if (Bukkit.isPrimaryThread()) return true;
+        }
+
+        if (Bukkit.isPrimaryThread()) {
+            plugin.getLogger().warning("VFS: Restoring " + fullPath + " from cold storage on the main thread. Use wakeWorldAsync to avoid the stall.");
+        }
+        try {
+            ensureAvailable(fullPath).join();
+            return true;
+        } catch (CompletionException e) {
+            plugin.getLogger().log(Level.SEVERE, "VFS: Could not restore " + fullPath + " from cold storage", e.getCause());
+            return false;
+        }
+    }
+
+    private void restore(String fullPath) {
+        File archive = getArchive(fullPath);
+        File folder = worldManager.getWorldFolder(fullPath);
+        File staging = new File(folder.getParentFile(), folder.getName() + ".restoring");
+        try {
+            FileUtils.deleteDirectory(staging);
+            WorldArchiver.ArchiveResult result = WorldArchiver.unpack(archive.toPath(), staging.toPath());
+            Files.move(staging.toPath(), folder.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(archive.toPath());
+
+            restores.incrementAndGet();
+            restoredBytes.addAndGet(result.rawBytes());
+            unpackMillis.addAndGet(result.millis());
+            plugin.getLogger().info("VFS: Restored " + fullPath + " from cold storage (" + megabytes(result.archiveBytes()) + " -> " + megabytes(result.rawBytes())
+                    + ", " + result.files() + " files in " + result.millis() + "ms, " + String.format("%.1f", result.megabytesPerSecond()) + " MB/s)");
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(staging);
+            throw new WorldOperationException(worldManager.getAliasForWorld(fullPath), "Could not restore from cold storage: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queue packing of registered worlds that are unloaded and have not been written for the configured time.
+     * Runs on the main thread; the folder checks and packing run on the I/O executor.
+     */
+    public void packIdleWorlds() {
+        List<String> candidates = new ArrayList<>();
+        for (Map.Entry<String, String> entry : worldManager.getWorldAliases().entrySet()) {
+            String fullPath = entry.getValue();
+            if (!fullPath.startsWith("spycore-worlds/") || Bukkit.getWorld(fullPath) != null) continue;
+            if (worldManager.isWorldWhitelisted(entry.getKey()) || transitions.containsKey(fullPath)) continue;
+            candidates.add(fullPath);
+        }
+        if (candidates.isEmpty()) return;
+
+        worldManager.runIo(() -> {
+            long cutoff = System.currentTimeMillis() - afterMillis;
+            int packed = 0;
+            for (String fullPath : candidates) {
+                if (packed >= maxPacksPerPass) break;
+                File folder = worldManager.getWorldFolder(fullPath);
+                File levelDat = new File(folder, "level.dat");
+                // level.dat is rewritten on every save, so its age is how long the world has been hibernated
+                if (!levelDat.exists() || levelDat.lastModified() > cutoff) continue;
+                if (pack(fullPath)) packed++;
+            }
+            return null;
+        });
+    }
+
+    private boolean pack(String fullPath) {
+        Transition transition = new Transition(false, new AtomicBoolean(), new CompletableFuture<>());
+        if (transitions.putIfAbsent(fullPath, transition) != null) return false;
+
+        File folder = worldManager.getWorldFolder(fullPath);
+        File archive = getArchive(fullPath);
+        File partial = new File(archive.getParentFile(), archive.getName() + ".partial");
+        WorldArchiver.ArchiveResult result;
+        try {
+            result = WorldArchiver.pack(folder.toPath(), partial.toPath(), compressionLevel, transition.cancelled()::get);
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(partial);
+            plugin.getLogger().log(Level.WARNING, "VFS: Could not move " + fullPath + " to cold storage", e);
+            finish(fullPath, transition);
+            return false;
+        }
+        if (result == null) {
+            plugin.getLogger().info("VFS: Cancelled packing " + fullPath + " because it was requested.");
+            finish(fullPath, transition);
+            return false;
+        }
+
+        // Worlds only load on the main thread, so swapping the folder for the archive there cannot race a load
+        worldManager.runSync(() -> {
+            if (transition.cancelled().get() || Bukkit.getWorld(fullPath) != null) {
+                FileUtils.deleteQuietly(partial);
+                return false;
+            }
+            File packed = new File(folder.getParentFile(), folder.getName() + ".packed");
+            try {
+                Files.move(partial.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.move(folder.toPath(), packed.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                FileUtils.deleteQuietly(partial);
+                plugin.getLogger().log(Level.WARNING, "VFS: Could not move " + fullPath + " to cold storage", e);
+                return false;
+            }
+            worldManager.getTrashBin().discard(packed);
+            return true;
+        }).whenComplete((moved, ex) -> {
+            finish(fullPath, transition);
+            if (!Boolean.TRUE.equals(moved)) return;
+
+            packs.incrementAndGet();
+            packedRawBytes.addAndGet(result.rawBytes());
+            packedArchiveBytes.addAndGet(result.archiveBytes());
+            packMillis.addAndGet(result.millis());
+            plugin.getLogger().info("VFS: Moved " + fullPath + " to cold storage (" + megabytes(result.rawBytes()) + " -> " + megabytes(result.archiveBytes())
+                    + String.format(", %.1fx", result.compressionRatio()) + ", " + result.files() + " files in " + result.millis() + "ms, "
+                    + String.format("%.1f", result.megabytesPerSecond()) + " MB/s)");
+        });
+        return true;
+    }
+
+    private void finish(String fullPath, Transition transition) {
+        transitions.remove(fullPath, transition);
+        transition.future().complete(null);
+    }
+
+    public Stats getStats() {
+        int archived = 0;
+        long archiveBytes = 0;
+        for (String fullPath : worldManager.getWorldAliases().values()) {
+            if (fullPath.startsWith("spycore-worlds/")) {
+                File archive = getArchive(fullPath);
+                if (archive.exists()) {
+                    archived++;
+                    archiveBytes += archive.length();
+                }
+            }
+        }
+        long restoreCount = restores.get();
+        return new Stats(enabled, archived, archiveBytes, packs.get(), restoreCount,
+                throughput(packedRawBytes.get(), packMillis.get()),
+                throughput(restoredBytes.get(), unpackMillis.get()),
+                packedArchiveBytes.get() == 0 ? 0.0 : (double) packedRawBytes.get() / packedArchiveBytes.get(),
+                restoreCount == 0 ? 0 : wakeMillis.get() / restoreCount, lastWakeMillis);
+    }
+
+    private static double throughput(long bytes, long millis) {
+        return millis == 0 ? 0.0 : (bytes / 1048576.0) / (millis / 1000.0);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f MB", bytes / 1048576.0);
+    }
+
+    private record Transition(boolean restore, AtomicBoolean cancelled, CompletableFuture<Void> future) {
+    }
+
+    public record Stats(boolean enabled, int archivedWorlds, long archiveBytes, long packs, long restores,
+                        double packMegabytesPerSecond, double unpackMegabytesPerSecond, double compressionRatio,
+                        long averageWakeMillis, long lastWakeMillis) {
+    }
+}
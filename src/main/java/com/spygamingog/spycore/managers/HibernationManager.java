@@ -0,0 +1,232 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.api.WorldOperationException;
+import com.spygamingog.spycore.api.events.SpyWorldCreateEvent;
+import com.spygamingog.spycore.api.events.SpyWorldLoadEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Schedules idle worlds for hibernation without scanning every registered world.
+ * Occupancy is tracked per world from join, quit and world-change events. When a world
+ * (and every world linked to it) becomes empty, it is queued by the time it becomes due,
+ * and a periodic pass unloads at most a fixed number of due worlds.
+ * All state is confined to the main thread.
+ */
+public class HibernationManager implements Listener {
+    private final SpyCore plugin;
+    private final WorldManager worldManager;
+
+    // Key: World name (full path), Value: Number of players currently in that world
+    private final Map<String, Integer> occupancy = new HashMap<>();
+
+    // Ordered by the time each world becomes due; entries are re-validated when polled
+    private final PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingLong(Candidate::dueAt));
+    private final Map<String, Long> queued = new HashMap<>();
+
+    private final boolean enabled;
+    private final long defaultThresholdMillis;
+    private final int maxUnloadsPerPass;
+    private final Map<String, Long> worldThresholds = new HashMap<>();
+    private final Map<String, Long> containerThresholds = new HashMap<>();
+
+    private BukkitTask task;
+
+    public HibernationManager(SpyCore plugin) {
+        this.plugin = plugin;
+        this.worldManager = plugin.getWorldManager();
+
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("hibernation");
+        this.enabled = config != null && config.getBoolean("enabled", false);
+        this.defaultThresholdMillis = minutesToMillis(config != null ? config.getDouble("default-minutes", 10) : 10);
+        this.maxUnloadsPerPass = Math.max(1, config != null ? config.getInt("max-unloads-per-pass", 1) : 1);
+        if (config != null) {
+            readThresholds(config.getConfigurationSection("worlds"), worldThresholds);
+            readThresholds(config.getConfigurationSection("containers"), containerThresholds);
+        }
+
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Seed occupancy from online players and queue every idle loaded world.
+     * MUST be called after the world registry has been loaded.
+     */
+    public void initialize() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            occupancy.merge(player.getWorld().getName(), 1, Integer::sum);
+        }
+        for (String fullPath : worldManager.getWorldAliases().values()) {
+            if (Bukkit.getWorld(fullPath) != null) {
+                scheduleIfIdle(fullPath);
+            }
+        }
+
+        if (enabled) {
+            long period = Math.max(1, plugin.getConfig().getLong("hibernation.check-interval-ticks", 20));
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::processQueue, period, period);
+            plugin.getLogger().info("Hibernation enabled (default threshold: " + (defaultThresholdMillis / 60000.0) + " min, " + queue.size() + " worlds queued)");
+        }
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    public int getOccupancy(String worldName) {
+        return occupancy.getOrDefault(worldName, 0);
+    }
+
+    /**
+     * Check whether any player is in the world or in a world linked to it.
+     */
+    public boolean isGroupOccupied(String worldName) {
+        if (getOccupancy(worldName) > 0) return true;
+        for (String linked : worldManager.getLinkedWorlds(worldName)) {
+            if (getOccupancy(linked) > 0) return true;
+        }
+        return false;
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Unload up to the configured number of due worlds. Runs on the main thread.
+     */
+    public void processQueue() {
+        long now = System.currentTimeMillis();
+        int unloaded = 0;
+
+        while (unloaded < maxUnloadsPerPass && !queue.isEmpty() && queue.peek().dueAt() <= now) {
+            Candidate candidate = queue.poll();
+            String fullPath = candidate.worldName();
+            if (queued.get(fullPath) == null || queued.get(fullPath) != candidate.dueAt()) {
+                continue; // Superseded by a newer entry
+            }
+            queued.remove(fullPath);
+
+            World world = Bukkit.getWorld(fullPath);
+            if (world == null) continue;
+
+            String alias = worldManager.getAliasForWorld(world);
+            if (!worldManager.getWorldAliases().containsKey(alias) || worldManager.isWorldWhitelisted(alias)) continue;
+            if (isGroupOccupied(fullPath)) continue; // Re-queued once the group empties
+
+            // Someone accessed the world through the API since it was queued
+            long dueAt = worldManager.getLastAccessTime(fullPath) + getThresholdMillis(alias, fullPath);
+            if (dueAt > now) {
+                enqueue(fullPath, dueAt);
+                continue;
+            }
+
+            // Chunks are flushed over the next ticks; the world is gone once the future completes
+            unloaded++;
+            plugin.getLogger().info("VFS: Hibernating world " + fullPath + " due to inactivity.");
+            worldManager.unloadWorldAsync(alias, WorldOperationQueue.Priority.BACKGROUND).whenComplete((done, error) -> {
+                if (error != null || !done) {
+                    plugin.getLogger().warning("VFS: Could not hibernate world " + fullPath + (error != null ? ": " + WorldOperationException.unwrap(error).getMessage() : "."));
+                }
+            });
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        occupancy.merge(event.getPlayer().getWorld().getName(), 1, Integer::sum);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        leave(event.getPlayer().getWorld().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        leave(event.getFrom().getName());
+        occupancy.merge(event.getPlayer().getWorld().getName(), 1, Integer::sum);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(SpyWorldLoadEvent event) {
+        scheduleIfIdle(event.getWorld().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldCreate(SpyWorldCreateEvent event) {
+        scheduleIfIdle(event.getWorld().getName());
+    }
+
+    private void leave(String worldName) {
+        Integer remaining = occupancy.computeIfPresent(worldName, (name, count) -> count > 1 ? count - 1 : null);
+        if (remaining != null) return;
+
+        // The idle timer of the whole linked group starts when its last player leaves
+        worldManager.touch(worldName);
+        scheduleIfIdle(worldName);
+        for (String linked : worldManager.getLinkedWorlds(worldName)) {
+            worldManager.touch(linked);
+            scheduleIfIdle(linked);
+        }
+    }
+
+    private void scheduleIfIdle(String fullPath) {
+        if (isGroupOccupied(fullPath)) return;
+        String alias = worldManager.getAliasForWorld(fullPath);
+        if (worldManager.isWorldWhitelisted(alias)) return;
+        enqueue(fullPath, worldManager.getLastAccessTime(fullPath) + getThresholdMillis(alias, fullPath));
+    }
+
+    private void enqueue(String fullPath, long dueAt) {
+        queued.put(fullPath, dueAt);
+        queue.offer(new Candidate(fullPath, dueAt));
+    }
+
+    private long getThresholdMillis(String alias, String fullPath) {
+        Long threshold = worldThresholds.get(alias);
+        if (threshold != null) return threshold;
+
+        // Most specific container wins (e.g. "Bedwars/Solo" before "Bedwars")
+        String container = worldManager.getContainerFromPath(fullPath);
+        while (!container.equals("root")) {
+            threshold = containerThresholds.get(container);
+            if (threshold != null) return threshold;
+            int lastSlash = container.lastIndexOf('/');
+            container = lastSlash == -1 ? "root" : container.substring(0, lastSlash);
+        }
+        return containerThresholds.getOrDefault("root", defaultThresholdMillis);
+    }
+
+    private void readThresholds(ConfigurationSection section, Map<String, Long> target) {
+        if (section == null) return;
+        for (String key : section.getKeys(false)) {
+            target.put(key, minutesToMillis(section.getDouble(key)));
+        }
+    }
+
+    private static long minutesToMillis(double minutes) {
+        return (long) (minutes * 60_000L);
+    }
+
+    private record Candidate(String worldName, long dueAt) {
+    }
+}
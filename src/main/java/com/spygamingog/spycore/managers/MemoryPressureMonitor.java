@@ -0,0 +1,225 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Evicts idle worlds when the heap runs low.
+ * A usage threshold at the high watermark is set on the tenured heap pool, and the JVM notifies
+ * us when it is crossed. Until the pool's post-GC usage drops below the low watermark, the
+ * least-recently-used idle worlds are unloaded one pass at a time. Each pass waits for a
+ * garbage collection so the memory actually freed by the previous eviction can be measured.
+ */
+public class MemoryPressureMonitor {
+    private static final long GC_WAIT_MILLIS = 30_000;
+
+    private final SpyCore plugin;
+    private final WorldManager worldManager;
+
+    private final boolean enabled;
+    private final double highWatermark;
+    private final double lowWatermark;
+    private final long checkIntervalTicks;
+    private final int maxEvictionsPerPass;
+
+    private MemoryPoolMXBean tenuredPool;
+    private NotificationListener listener;
+    private final AtomicBoolean underPressure = new AtomicBoolean();
+    private BukkitTask reliefTask;
+
+    // State of the last eviction batch, measured once a GC has run
+    private final List<String> pendingEvictions = new ArrayList<>();
+    // Evicted worlds whose chunks are still being flushed
+    private int unloadsInFlight;
+    private long usedBeforeEviction;
+    private long gcCountAtEviction;
+    private long evictedAt;
+    private boolean warnedNoCandidates;
+
+    public MemoryPressureMonitor(SpyCore plugin, WorldManager worldManager) {
+        this.plugin = plugin;
+        this.worldManager = worldManager;
+
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("memory-pressure");
+        this.enabled = config != null && config.getBoolean("enabled", false);
+        double high = config != null ? config.getDouble("high-watermark", 0.85) : 0.85;
+        double low = config != null ? config.getDouble("low-watermark", 0.70) : 0.70;
+        this.highWatermark = Math.min(0.99, Math.max(0.1, high));
+        this.lowWatermark = Math.min(this.highWatermark, Math.max(0.05, low));
+        this.checkIntervalTicks = Math.max(1, config != null ? config.getLong("check-interval-ticks", 100) : 100);
+        this.maxEvictionsPerPass = Math.max(1, config != null ? config.getInt("max-evictions-per-pass", 1) : 1);
+    }
+
+    /**
+     * Install the usage threshold and start listening for notifications.
+     * MUST be called after the hibernation manager has been initialized.
+     */
+    public void start() {
+        if (!enabled) return;
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported() || pool.getUsage().getMax() <= 0) continue;
+            // The tenured pool is the largest heap pool that supports thresholds (e.g. "G1 Old Gen")
+            if (tenuredPool == null || pool.getUsage().getMax() > tenuredPool.getUsage().getMax()) {
+                tenuredPool = pool;
+            }
+        }
+        if (tenuredPool == null) {
+            plugin.getLogger().warning("VFS: No heap pool supports usage thresholds; memory-pressure eviction is disabled.");
+            return;
+        }
+
+        long threshold = (long) (tenuredPool.getUsage().getMax() * highWatermark);
+        tenuredPool.setUsageThreshold(threshold);
+        if (tenuredPool.isCollectionUsageThresholdSupported()) {
+            tenuredPool.setCollectionUsageThreshold(threshold);
+        }
+
+        listener = (notification, handback) -> onNotification(notification);
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(listener, null, null);
+        plugin.getLogger().info("Memory-pressure eviction enabled on " + tenuredPool.getName()
+                + " (high: " + percent(highWatermark) + ", low: " + percent(lowWatermark) + ")");
+    }
+
+    public void shutdown() {
+        if (listener != null) {
+            try {
+                ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(listener);
+            } catch (ListenerNotFoundException ignored) {
+            }
+            listener = null;
+        }
+        if (reliefTask != null) {
+            reliefTask.cancel();
+            reliefTask = null;
+        }
+        underPressure.set(false);
+    }
+
+    public boolean isUnderPressure() {
+        return underPressure.get();
+    }
+
+    /**
+     * Fraction of the tenured pool in use after the last collection, or the current usage if
+     * the JVM does not report post-collection usage for the pool.
+     */
+    public double getUsage() {
+        if (tenuredPool == null) return 0.0;
+        MemoryUsage usage = currentUsage();
+        return (double) usage.getUsed() / usage.getMax();
+    }
+
+    // Called on a JMX notification thread
+    private void onNotification(Notification notification) {
+        String type = notification.getType();
+        if (!type.equals(MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED)
+                && !type.equals(MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED)) {
+            return;
+        }
+        if (!plugin.isEnabled() || !underPressure.compareAndSet(false, true)) return;
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            plugin.getLogger().warning("VFS: Heap usage crossed the high watermark (" + percent(getUsage()) + " of " + tenuredPool.getName() + "), evicting idle worlds.");
+            warnedNoCandidates = false;
+            reliefTask = Bukkit.getScheduler().runTaskTimer(plugin, this::relieve, 0L, checkIntervalTicks);
+        });
+    }
+
+    private void relieve() {
+        long gcCount = totalCollectionCount();
+        if (unloadsInFlight > 0) return;
+        if (!pendingEvictions.isEmpty()) {
+            // Wait for a collection so the previous eviction shows up in the pool usage
+            if (gcCount == gcCountAtEviction && System.currentTimeMillis() - evictedAt < GC_WAIT_MILLIS) return;
+
+            long freed = usedBeforeEviction - currentUsage().getUsed();
+            plugin.getLogger().info("VFS: Evicting " + String.join(", ", pendingEvictions) + " freed ~" + megabytes(Math.max(0, freed))
+                    + " (" + tenuredPool.getName() + " now at " + percent(getUsage()) + ")");
+            pendingEvictions.clear();
+        }
+
+        double usage = getUsage();
+        if (usage < lowWatermark) {
+            plugin.getLogger().info("VFS: Memory pressure relieved (" + percent(usage) + " < " + percent(lowWatermark) + ").");
+            reliefTask.cancel();
+            reliefTask = null;
+            underPressure.set(false);
+            return;
+        }
+
+        List<String> candidates = worldManager.getEvictionCandidates();
+        if (candidates.isEmpty()) {
+            if (!warnedNoCandidates) {
+                plugin.getLogger().warning("VFS: Heap at " + percent(usage) + " but no idle worlds can be evicted.");
+                warnedNoCandidates = true;
+            }
+            return;
+        }
+
+        usedBeforeEviction = currentUsage().getUsed();
+        gcCountAtEviction = gcCount;
+        evictedAt = System.currentTimeMillis();
+        for (String alias : candidates) {
+            if (pendingEvictions.size() >= maxEvictionsPerPass) break;
+
+            String fullPath = worldManager.resolveFullPath(alias);
+            World world = Bukkit.getWorld(fullPath);
+            if (world == null) continue;
+
+            long idleMinutes = (System.currentTimeMillis() - worldManager.getLastAccessTime(fullPath)) / 60000;
+            int chunks = world.getLoadedChunks().length;
+            pendingEvictions.add(fullPath);
+            unloadsInFlight++;
+            plugin.getLogger().info("VFS: Evicting world " + fullPath + " due to memory pressure (heap at " + percent(usage)
+                    + " > " + percent(highWatermark) + " high watermark, idle " + idleMinutes + " min, " + chunks + " chunks loaded).");
+            worldManager.unloadWorldAsync(alias, WorldOperationQueue.Priority.NORMAL).whenComplete((unloaded, error) -> {
+                unloadsInFlight--;
+                if (error != null || !unloaded) {
+                    pendingEvictions.remove(fullPath);
+                }
+                // Measure from the end of the flush, not from when it was requested
+                gcCountAtEviction = totalCollectionCount();
+                evictedAt = System.currentTimeMillis();
+            });
+        }
+    }
+
+    private MemoryUsage currentUsage() {
+        MemoryUsage afterGc = tenuredPool.getCollectionUsage();
+        return afterGc != null && afterGc.getMax() > 0 ? afterGc : tenuredPool.getUsage();
+    }
+
+    private static long totalCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static String percent(double fraction) {
+        return Math.round(fraction * 100) + "%";
+    }
+
+    private static String megabytes(long bytes) {
+        return (bytes / 1048576) + " MB";
+    }
+}
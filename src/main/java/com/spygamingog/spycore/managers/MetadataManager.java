@@ -1,90 +1,218 @@
 package com.spygamingog.spycore.managers;
 
 import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.models.WorldRef;
+import com.spygamingog.spycore.storage.MetadataJournal;
+import com.spygamingog.spycore.utils.TagAllocator;
+import com.spygamingog.spycore.utils.TagIndex;
+import com.spygamingog.spycore.utils.TagQuery;
+import com.spygamingog.spycore.utils.TagValue;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.logging.Level;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class MetadataManager {
     private final SpyCore plugin;
-    private final File metadataFile;
-    private FileConfiguration metadataConfig;
-    private final Map<String, Map<String, String>> worldMetadata = new HashMap<>();
+    private final MetadataJournal journal;
+    // Tags by world name (full path), indexed for findWorlds
+    private final TagIndex worldMetadata = new TagIndex();
+    private final TagAllocator allocator;
+    private BukkitTask expiryTask;
 
     public MetadataManager(SpyCore plugin) {
         this.plugin = plugin;
-        this.metadataFile = new File(plugin.getDataFolder(), "metadata.yml");
+        this.journal = openJournal();
+        this.allocator = new TagAllocator(worldMetadata, worldPath -> plugin.getWorldManager().getContainerFromPath(worldPath));
         loadMetadata();
+        // Leases only touch the tag index, so they can expire off the main thread
+        this.expiryTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> allocator.expire(System.currentTimeMillis()), 20L, 20L);
     }
 
-    private void loadMetadata() {
-        if (!metadataFile.exists()) {
-            try {
-                metadataFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not create metadata.yml", e);
-            }
+    /**
+     * Stop expiring claims and save every pending tag change.
+     */
+    public void shutdown() {
+        if (expiryTask != null) {
+            expiryTask.cancel();
+            expiryTask = null;
         }
-        metadataConfig = YamlConfiguration.loadConfiguration(metadataFile);
-        
-        if (metadataConfig.getConfigurationSection("worlds") != null) {
-            for (String worldPath : metadataConfig.getConfigurationSection("worlds").getKeys(false)) {
-                Map<String, String> tags = new HashMap<>();
-                for (String tag : metadataConfig.getConfigurationSection("worlds." + worldPath).getKeys(false)) {
-                    tags.put(tag, metadataConfig.getString("worlds." + worldPath + "." + tag));
-                }
-                worldMetadata.put(worldPath.replace("__", "/"), tags); // Convert back from safe YAML keys
+        journal.close();
+    }
+
+    public MetadataJournal.Stats getPersistenceStats() {
+        return journal.getStats();
+    }
+
+    private MetadataJournal openJournal() {
+        plugin.getDataFolder().mkdirs();
+        String configured = plugin.getConfig().getString("metadata.durability", "batch");
+        MetadataJournal.Durability durability;
+        try {
+            durability = MetadataJournal.Durability.valueOf(configured.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Unknown metadata.durability '" + configured + "', using batch.");
+            durability = MetadataJournal.Durability.BATCH;
+        }
+        return new MetadataJournal(new File(plugin.getDataFolder(), "metadata.yml"), durability,
+                plugin.getConfig().getLong("metadata.flush-interval-ms", 200),
+                plugin.getConfig().getInt("metadata.compact-after-entries", 5000), plugin.getLogger());
+    }
+
+    private void loadMetadata() {
+        Map<String, Map<String, Object>> saved = journal.getAll();
+        for (Map.Entry<String, Map<String, Object>> world : saved.entrySet()) {
+            String container = plugin.getWorldManager().getContainerFromPath(world.getKey());
+            for (Map.Entry<String, Object> tag : world.getValue().entrySet()) {
+                worldMetadata.set(world.getKey(), container, tag.getKey(), String.valueOf(tag.getValue()));
             }
         }
+        MetadataJournal.Stats stats = journal.getStats();
+        plugin.getLogger().info("VFS: Loaded tags of " + stats.worlds() + " worlds in " + stats.loadMillis() + "ms"
+                + (stats.replayed() > 0 ? " (" + stats.replayed() + " journal entries replayed)." : "."));
     }
 
     public void setTag(World world, String key, String value) {
+        setTag(world, key, value, value);
+    }
+
+    /**
+     * Set a numeric tag, e.g. a player count or a timestamp, usable in range queries and ordering.
+     */
+    public void setTag(World world, String key, long value) {
+        setTag(world, key, Long.toString(value), value);
+    }
+
+    public void setTag(World world, String key, double value) {
+        setTag(world, key, Double.toString(value), value);
+    }
+
+    public void setTag(World world, String key, boolean value) {
+        setTag(world, key, Boolean.toString(value), value);
+    }
+
+    // Saved as its own type, so metadata.yml keeps numbers and booleans unquoted
+    private void setTag(World world, String key, String text, Object saved) {
         String worldPath = world.getName(); 
-        worldMetadata.computeIfAbsent(worldPath, k -> new HashMap<>()).put(key, value);
-        saveMetadata(worldPath, key, value);
+        // An explicit value replaces any claim on the tag
+        allocator.set(worldPath, plugin.getWorldManager().getContainerFromPath(worldPath), key, text);
+        saveMetadata(worldPath, key, saved);
     }
 
     public String getTag(World world, String key) {
-        Map<String, String> tags = worldMetadata.get(world.getName());
-        return tags != null ? tags.get(key) : null;
+        return worldMetadata.get(world.getName(), key);
+    }
+
+    /**
+     * Get a tag as a typed value: a long, double, boolean or string, as parsed when the tag was set.
+     * @return The value, or null if the world does not have the tag.
+     */
+    public TagValue getTagValue(World world, String key) {
+        return worldMetadata.getValue(world.getName(), key);
     }
 
     public Map<String, String> getTags(World world) {
-        return worldMetadata.getOrDefault(world.getName(), new HashMap<>());
+        return worldMetadata.getAll(world.getName());
+    }
+
+    /**
+     * Query Engine: Find all worlds in a specific container (or its nested containers) that match all provided tags.
+     * Tag values match case-insensitively. Answered from the inverted tag index, so the cost follows the number of
+     * matching worlds rather than the number of tagged worlds.
+     * Never loads a world; call {@link WorldRef#loadAsync()} on the ones you need.
+     */
+    public List<WorldRef> findWorldRefs(String container, Map<String, String> requiredTags) {
+        return toRefs(worldMetadata.find(container, requiredTags));
+    }
+
+    private List<WorldRef> toRefs(Collection<String> worldPaths) {
+        WorldManager worldManager = plugin.getWorldManager();
+        List<WorldRef> refs = new ArrayList<>();
+        for (String worldPath : worldPaths) {
+            refs.add(new WorldRef(worldManager.getAliasForWorld(worldPath), worldPath, worldManager.getContainerFromPath(worldPath),
+                    Bukkit.getWorld(worldPath) != null, worldMetadata.getAll(worldPath)));
+        }
+        return refs;
     }
 
     /**
-     * Query Engine: Find all worlds in a specific container that match all provided tags.
+     * Query Engine: Run a query with exact matches, ranges, ordering and a limit, e.g.
+     * {@code TagQuery.in("Bedwars").lessThan("players", 8).orderBy("lastReset").limit(5)}.
+     * Ranges and ordering use sorted indexes of the typed values, so nothing is parsed per query.
+     * Never loads a world.
      */
+    public List<WorldRef> findWorldRefs(TagQuery query) {
+        return toRefs(worldMetadata.query(query));
+    }
+
+    /**
+     * Find matching worlds and load every one that is not loaded, synchronously.
+     * @deprecated A query matching many hibernated worlds loads all of them on the calling tick.
+     * Use {@link #findWorldRefs(String, Map)} and load only the worlds you need.
+     */
+    @Deprecated
     public List<World> findWorlds(String container, Map<String, String> requiredTags) {
-        return worldMetadata.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith("containers/" + container + "/"))
-                .filter(entry -> {
-                    Map<String, String> worldTags = entry.getValue();
-                    return requiredTags.entrySet().stream()
-                            .allMatch(tag -> worldTags.containsKey(tag.getKey()) && worldTags.get(tag.getKey()).equalsIgnoreCase(tag.getValue()));
-                })
-                .map(entry -> plugin.getWorldManager().getWorld(entry.getKey().substring(entry.getKey().lastIndexOf("/") + 1)))
+        return worldMetadata.find(container, requiredTags).stream()
+                .map(worldPath -> plugin.getWorldManager().getWorld(worldPath))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
-    private void saveMetadata(String worldPath, String key, String value) {
-        String safePath = worldPath.replace("/", "__").replace(".", "_");
-        metadataConfig.set("worlds." + safePath + "." + key, value);
-        try {
-            metadataConfig.save(metadataFile);
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Could not save metadata.yml", e);
-        }
+    /**
+     * Matchmaking: Atomically claim one world in a container (or its nested containers) that matches all provided tags,
+     * by setting {@code key} to {@code value}, e.g. {@code state} from {@code WAITING} to {@code INGAME}.
+     * Concurrent claims never return the same world. The claimed value is kept in memory only: it is not written to
+     * metadata.yml until {@link #confirmClaim(TagAllocator.Lease)}, so after a restart the world is free again.
+     * Never loads a world.
+     * @param requiredTags Tags the world must carry; must include {@code key}.
+     * @param leaseMillis Time after which the previous value is put back unless the claim is renewed, confirmed or
+     *                    released, or 0 to hold the claim until then. Expiry is checked once per second.
+     * @return The claim, or null if no world matched.
+     */
+    public TagAllocator.Lease claimWorld(String container, Map<String, String> requiredTags, String key, String value, long leaseMillis) {
+        return allocator.claim(container, requiredTags, key, value, leaseMillis);
+    }
+
+    /**
+     * Extend a claim so it expires {@code leaseMillis} from now, or never if 0.
+     * @return False if the claim already ended.
+     */
+    public boolean renewClaim(TagAllocator.Lease lease, long leaseMillis) {
+        return allocator.renew(lease, leaseMillis);
+    }
+
+    /**
+     * End a claim and put the previous value back, e.g. when a match is cancelled before it starts.
+     * @return False if the claim already ended.
+     */
+    public boolean releaseClaim(TagAllocator.Lease lease) {
+        return allocator.release(lease);
+    }
+
+    /**
+     * Keep the claimed value for good: the lease ends and the value is saved like {@link #setTag(World, String, String)}.
+     * @return False if the claim already ended; nothing is saved then.
+     */
+    public boolean confirmClaim(TagAllocator.Lease lease) {
+        if (allocator.forget(lease.getWorld(), lease.getKey()) != lease) return false;
+        saveMetadata(lease.getWorld(), lease.getKey(), lease.getValue());
+        return true;
+    }
+
+    public TagAllocator.Stats getClaimStats() {
+        return allocator.getStats();
+    }
+
+    // Appended to the metadata journal; the whole metadata.yml is only rewritten when the journal is folded into it
+    private void saveMetadata(String worldPath, String key, Object value) {
+        journal.set(worldPath, key, value);
     }
 }
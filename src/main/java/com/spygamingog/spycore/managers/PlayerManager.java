@@ -57,7 +57,7 @@ public class PlayerManager implements Listener {
         if (!baseName.equals(deathWorldName)) {
             World targetWorld = SpyAPI.getWorld(baseName);
             if (targetWorld != null) {
-                // Find safe location in the base world
+                // Find safe location in the base world (usually cached when the world loaded)
                 Location respawnLoc = plugin.getWorldManager().findSafeLocation(targetWorld);
 
                 // Call custom event for other plugins to hook into
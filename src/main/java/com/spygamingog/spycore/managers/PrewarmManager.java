@@ -0,0 +1,235 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.api.WorldOperationException;
+import com.spygamingog.spycore.api.events.SpyWorldCreateEvent;
+import com.spygamingog.spycore.api.events.SpyWorldLoadEvent;
+import com.spygamingog.spycore.api.events.SpyWorldUnloadEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pulls the chunks around a world's spawn in asynchronously after it loads, so the first
+ * teleport into a fresh world does not load them on the main thread.
+ * Chunk requests go through Paper's {@link World#getChunkAtAsync(int, int)}, at most
+ * {@code prewarm.chunks-per-tick} per tick across all worlds, and the loaded chunks are
+ * held with plugin tickets for {@code prewarm.hold-seconds}.
+ * All state is confined to the main thread; Paper completes chunk futures there.
+ */
+public class PrewarmManager implements Listener {
+    private final SpyCore plugin;
+
+    private final boolean enabled;
+    private final int radius;
+    private final int chunksPerTick;
+    private final long holdTicks;
+    private final int teleportRadius;
+
+    // Key: World name (full path)
+    private final Map<String, Job> jobs = new HashMap<>();
+    private BukkitTask ticker;
+
+    public PrewarmManager(SpyCore plugin) {
+        this.plugin = plugin;
+
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("prewarm");
+        this.enabled = config == null || config.getBoolean("enabled", true);
+        this.radius = Math.max(0, config != null ? config.getInt("radius", 2) : 2);
+        this.chunksPerTick = Math.max(1, config != null ? config.getInt("chunks-per-tick", 4) : 4);
+        this.holdTicks = Math.max(1, config != null ? config.getLong("hold-seconds", 60) : 60) * 20L;
+        this.teleportRadius = Math.max(0, config != null ? config.getInt("teleport-radius", 1) : 1);
+
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+        for (Job job : jobs.values()) {
+            job.release();
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Load the chunks around the world's spawn in the background.
+     * Completes once every chunk in the radius is loaded; repeated calls share the same job.
+     */
+    public CompletableFuture<Void> prewarm(World world) {
+        if (!enabled) return CompletableFuture.completedFuture(null);
+
+        Job existing = jobs.get(world.getName());
+        if (existing != null) return existing.done;
+
+        Location spawn = world.getSpawnLocation();
+        Job job = new Job(world, spawn.getBlockX() >> 4, spawn.getBlockZ() >> 4, radius);
+        jobs.put(world.getName(), job);
+        if (ticker == null) {
+            ticker = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+        return job.done;
+    }
+
+    /**
+     * Teleport a player once the chunks around the target are loaded.
+     */
+    public CompletableFuture<Boolean> teleportAsync(Player player, Location target) {
+        return loadAround(target).thenCompose(ignored -> player.teleportAsync(target));
+    }
+
+    /**
+     * Teleport a player to a safe location near the world's spawn without loading chunks on the main thread.
+     */
+    public CompletableFuture<Boolean> teleportToSafeLocationAsync(Player player, World world) {
+        return plugin.getWorldManager().findSafeLocationAsync(world)
+                .thenCompose(safe -> teleportAsync(player, safe));
+    }
+
+    private CompletableFuture<Void> loadAround(Location location) {
+        World world = location.getWorld();
+        int centerX = location.getBlockX() >> 4;
+        int centerZ = location.getBlockZ() >> 4;
+
+        List<CompletableFuture<Chunk>> chunks = new ArrayList<>();
+        for (int x = -teleportRadius; x <= teleportRadius; x++) {
+            for (int z = -teleportRadius; z <= teleportRadius; z++) {
+                chunks.add(world.getChunkAtAsync(centerX + x, centerZ + z));
+            }
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(SpyWorldLoadEvent event) {
+        prewarmAndResolveSpawn(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldCreate(SpyWorldCreateEvent event) {
+        prewarmAndResolveSpawn(event.getWorld());
+    }
+
+    private void prewarmAndResolveSpawn(World world) {
+        // Resolve the safe spawn in the background too, so respawn redirects find it cached
+        prewarm(world).thenCompose(ignored -> plugin.getWorldManager().findSafeLocationAsync(world))
+                .exceptionally(ex -> {
+                    // Cancelled because the world is being unloaded
+                    if (WorldOperationException.unwrap(ex) instanceof CancellationException) return null;
+                    plugin.getLogger().warning("VFS: Could not resolve a safe spawn for " + world.getName() + ": " + WorldOperationException.unwrap(ex).getMessage());
+                    return null;
+                });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(SpyWorldUnloadEvent event) {
+        cancel(event.getWorld());
+    }
+
+    /**
+     * Stop prewarming a world and release its tickets, so chunk requests still in flight do not load
+     * chunks back in while the world is being unloaded. The job's future is cancelled.
+     */
+    public void cancel(World world) {
+        Job job = jobs.remove(world.getName());
+        if (job != null) {
+            job.release();
+            job.done.cancel(false);
+        }
+    }
+
+    private void tick() {
+        int budget = chunksPerTick;
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext() && budget > 0) {
+            Job job = iterator.next();
+            while (budget > 0 && !job.pending.isEmpty()) {
+                request(job, job.pending.poll());
+                budget--;
+            }
+        }
+
+        boolean pending = false;
+        for (Job job : jobs.values()) {
+            if (!job.pending.isEmpty()) {
+                pending = true;
+                break;
+            }
+        }
+        if (!pending) {
+            ticker.cancel();
+            ticker = null;
+        }
+    }
+
+    private void request(Job job, int[] coords) {
+        job.inFlight++;
+        job.world.getChunkAtAsync(coords[0], coords[1]).whenComplete((chunk, ex) -> {
+            job.inFlight--;
+            if (jobs.get(job.world.getName()) != job) return; // Unloaded or shut down meanwhile
+
+            if (ex == null && job.world.addPluginChunkTicket(coords[0], coords[1], plugin)) {
+                job.tickets.add(coords);
+            }
+            if (job.pending.isEmpty() && job.inFlight == 0 && !job.done.isDone()) {
+                long millis = (System.nanoTime() - job.startedAt) / 1_000_000;
+                plugin.getLogger().info("VFS: Prewarmed " + job.tickets.size() + " chunks around the spawn of " + job.world.getName() + " in " + millis + "ms.");
+                job.done.complete(null);
+                Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    if (jobs.remove(job.world.getName(), job)) {
+                        job.release();
+                    }
+                }, holdTicks);
+            }
+        });
+    }
+
+    private final class Job {
+        private final World world;
+        private final Deque<int[]> pending = new ArrayDeque<>();
+        private final List<int[]> tickets = new ArrayList<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final long startedAt = System.nanoTime();
+        private int inFlight;
+
+        private Job(World world, int centerX, int centerZ, int radius) {
+            this.world = world;
+            // Nearest rings first, so the chunk a player lands in is ready soonest
+            List<int[]> coords = new ArrayList<>();
+            for (int x = -radius; x <= radius; x++) {
+                for (int z = -radius; z <= radius; z++) {
+                    coords.add(new int[]{centerX + x, centerZ + z});
+                }
+            }
+            coords.sort(Comparator.comparingInt(c -> Math.max(Math.abs(c[0] - centerX), Math.abs(c[1] - centerZ))));
+            pending.addAll(coords);
+        }
+
+        private void release() {
+            for (int[] coords : tickets) {
+                world.removePluginChunkTicket(coords[0], coords[1], plugin);
+            }
+            tickets.clear();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unloads the managed worlds when the plugin is disabled, within {@code shutdown.deadline-seconds}.
+ * <p>
+ * Worlds are handled in this order:
+ * <ol>
+ *     <li>Disposable worlds (the {@code disposable} setting, or idle pool instances) are unloaded without saving,
+ *     so the server does not spend its own stop-time save on them either.</li>
+ *     <li>Whitelisted worlds, then other registered worlds, are saved and unloaded.</li>
+ *     <li>Leased pool instances are saved last; they are reset from their source on the next lease anyway.</li>
+ * </ol>
+ * Within a tier the chunks of all worlds are flushed interleaved through the {@link ChunkFlusher}, so the region
+ * file I/O thread writes one world while the next is serialized, and only then are the worlds themselves unloaded.
+ * <p>
+ * Once the deadline has passed, leased pool instances still loaded are unloaded without saving, and the other
+ * remaining worlds are left loaded for the server's own save, instead of running past the host's kill timeout.
+ * A per-world report is logged at the end.
+ * MUST be called on the main thread.
+ */
+public class ShutdownCoordinator {
+    private final SpyCore plugin;
+    private final WorldManager worldManager;
+    private final ChunkFlusher chunkFlusher;
+    private final long deadlineMillis;
+
+    public ShutdownCoordinator(SpyCore plugin, WorldManager worldManager, ChunkFlusher chunkFlusher) {
+        this.plugin = plugin;
+        this.worldManager = worldManager;
+        this.chunkFlusher = chunkFlusher;
+        this.deadlineMillis = Math.max(1, plugin.getConfig().getLong("shutdown.deadline-seconds", 45)) * 1000L;
+    }
+
+    /**
+     * Unload the given worlds.
+     * @param worlds Full path per alias, e.g. the alias map of the {@link WorldManager}.
+     * @return The outcome for each world, in the order they were handled.
+     */
+    public List<Result> unloadAll(Map<String, String> worlds) {
+        long start = System.currentTimeMillis();
+        long deadline = start + deadlineMillis;
+
+        List<Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, String> alias : worlds.entrySet()) {
+            World world = Bukkit.getWorld(alias.getValue());
+            if (world != null) {
+                entries.add(new Entry(alias.getKey(), world, tier(alias.getKey(), world)));
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Tier tier : Tier.values()) {
+            List<Entry> group = entries.stream().filter(entry -> entry.tier() == tier).toList();
+            if (group.isEmpty()) continue;
+
+            if (tier == Tier.DISPOSABLE) {
+                // Nothing worth saving, so no chunks to flush either
+                for (Entry entry : group) {
+                    results.add(unload(entry, false, Outcome.DISCARDED));
+                }
+                continue;
+            }
+
+            if (System.currentTimeMillis() < deadline) {
+                List<World> flushing = new ArrayList<>();
+                for (Entry entry : group) {
+                    // Players would keep their chunks loaded
+                    worldManager.evacuatePlayers(entry.world());
+                    flushing.add(entry.world());
+                }
+                chunkFlusher.flushNow(flushing, deadline);
+            }
+
+            for (Entry entry : group) {
+                if (System.currentTimeMillis() < deadline) {
+                    results.add(unload(entry, true, Outcome.SAVED));
+                } else if (tier == Tier.EPHEMERAL) {
+                    // Reset from its source on the next lease, so its changes are not worth the server's save
+                    results.add(unload(entry, false, Outcome.DROPPED));
+                } else {
+                    results.add(new Result(entry.alias(), entry.tier(), Outcome.DEFERRED, 0));
+                }
+            }
+        }
+
+        report(results, System.currentTimeMillis() - start);
+        return results;
+    }
+
+    private Result unload(Entry entry, boolean save, Outcome outcome) {
+        long worldStart = System.nanoTime();
+        boolean unloaded;
+        try {
+            worldManager.evacuatePlayers(entry.world());
+            unloaded = worldManager.unloadWorld(entry.alias(), save);
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("VFS: Unloading " + entry.alias() + " during shutdown failed: " + e.getMessage());
+            unloaded = false;
+        }
+        return new Result(entry.alias(), entry.tier(), unloaded ? outcome : Outcome.FAILED, (System.nanoTime() - worldStart) / 1_000_000);
+    }
+
+    private Tier tier(String alias, World world) {
+        WorldPoolManager pools = plugin.getWorldPoolManager();
+        if (toBoolean(worldManager.getWorldSetting(alias, "disposable", false)) || (pools != null && pools.isIdle(world))) {
+            return Tier.DISPOSABLE;
+        }
+        if (worldManager.isWorldWhitelisted(alias)) return Tier.CRITICAL;
+        if (pools != null && pools.isLeased(world)) return Tier.EPHEMERAL;
+        return Tier.NORMAL;
+    }
+
+    private static boolean toBoolean(Object value) {
+        return value instanceof Boolean bool ? bool : Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    private void report(List<Result> results, long totalMillis) {
+        long saved = results.stream().filter(result -> result.outcome() == Outcome.SAVED).count();
+        long discarded = results.stream().filter(result -> result.outcome() == Outcome.DISCARDED).count();
+        long failed = results.stream().filter(result -> result.outcome() == Outcome.FAILED).count();
+        long dropped = results.stream().filter(result -> result.outcome() == Outcome.DROPPED).count();
+        long deferred = results.stream().filter(result -> result.outcome() == Outcome.DEFERRED).count();
+        plugin.getLogger().info("VFS: Shutdown unloaded " + results.size() + " worlds in " + totalMillis + "ms (deadline " + deadlineMillis + "ms): "
+                + saved + " saved, " + discarded + " discarded, " + failed + " failed, " + dropped + " dropped past the deadline, "
+                + deferred + " left to the server.");
+
+        List<Result> slowestFirst = new ArrayList<>(results);
+        slowestFirst.sort(Comparator.comparingLong(Result::millis).reversed());
+        for (Result result : slowestFirst) {
+            String line = "VFS:   " + result.alias() + " [" + result.tier().name().toLowerCase() + "] "
+                    + result.outcome().name().toLowerCase() + " in " + result.millis() + "ms";
+            if (result.outcome() == Outcome.FAILED || result.outcome() == Outcome.DROPPED || result.outcome() == Outcome.DEFERRED) {
+                plugin.getLogger().warning(line);
+            } else {
+                plugin.getLogger().info(line);
+            }
+        }
+    }
+
+    /**
+     * Shutdown order; lower tiers are handled first.
+     */
+    public enum Tier {
+        DISPOSABLE,
+        CRITICAL,
+        NORMAL,
+        EPHEMERAL
+    }
+
+    public enum Outcome {
+        SAVED,
+        // Unloaded without saving because the world is disposable
+        DISCARDED,
+        FAILED,
+        // Leased pool instance not reached before the deadline; unloaded without saving
+        DROPPED,
+        // Not reached before the deadline; left loaded for the server to save
+        DEFERRED
+    }
+
+    public record Result(String alias, Tier tier, Outcome outcome, long millis) {
+    }
+
+    private record Entry(String alias, World world, Tier tier) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.storage.WorldRecord;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Loads the registered worlds at startup.
+ * <p>
+ * In {@code eager} mode every world loads before the plugin finishes enabling, as before.
+ * In {@code queued} mode only the critical worlds (the configured {@code startup.critical} worlds or containers,
+ * plus the hibernation whitelist) load during enable; the rest load afterwards from a queue, spending at most
+ * {@code startup.tick-budget-ms} per tick. In {@code lazy} mode the rest are only registered and load on first access.
+ * Load times are kept for {@code /spy startup}.
+ */
+public class StartupLoader {
+    private final SpyCore plugin;
+
+    private final String mode;
+    private final long budgetNanos;
+    // Lower case world names or container prefixes that load before the server accepts players
+    private final Set<String> critical = new HashSet<>();
+
+    private final Deque<WorldRecord> queue = new ArrayDeque<>();
+    private final List<Timing> timings = new ArrayList<>();
+    private BukkitTask task;
+    private long startedAt;
+    private long criticalMillis = -1;
+    private long finishedMillis = -1;
+    private int skipped;
+
+    public StartupLoader(SpyCore plugin) {
+        this.plugin = plugin;
+
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("startup");
+        String configuredMode = config != null ? config.getString("mode", "eager") : "eager";
+        String mode = configuredMode.toLowerCase(Locale.ROOT);
+        if (!mode.equals("eager") && !mode.equals("queued") && !mode.equals("lazy")) {
+            plugin.getLogger().warning("VFS: Unknown startup.mode '" + configuredMode + "' (expected eager, queued or lazy), using eager.");
+            mode = "eager";
+        }
+        this.mode = mode;
+        this.budgetNanos = Math.max(1, config != null ? config.getLong("tick-budget-ms", 10) : 10) * 1_000_000L;
+        if (config != null) {
+            for (String entry : config.getStringList("critical")) {
+                critical.add(entry.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    /**
+     * Load the given worlds according to the startup mode. Their aliases must already be registered.
+     * MUST be called on the main thread.
+     */
+    public void start(List<WorldRecord> worlds) {
+        startedAt = System.nanoTime();
+        List<WorldRecord> ordered = new ArrayList<>(worlds);
+        ordered.sort(Comparator.comparingInt(this::priority));
+
+        for (WorldRecord record : ordered) {
+            if (mode.equals("eager") || priority(record) < 2) {
+                load(record, priority(record) < 2 ? "critical" : "startup");
+            } else if (mode.equals("queued")) {
+                queue.add(record);
+            } else {
+                skipped++;
+            }
+        }
+        criticalMillis = elapsedMillis();
+
+        plugin.getLogger().info("VFS: Loaded " + timings.size() + " worlds during startup in " + criticalMillis + "ms"
+                + (queue.isEmpty() ? "" : ", " + queue.size() + " more queued") + (skipped == 0 ? "." : ", " + skipped + " left to load on first access."));
+        if (queue.isEmpty()) {
+            finish();
+        } else {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queue.clear();
+    }
+
+    public boolean isDone() {
+        return finishedMillis >= 0;
+    }
+
+    /**
+     * Get human readable report lines: totals, then the slowest worlds.
+     */
+    public List<String> getReport() {
+        List<String> report = new ArrayList<>();
+        report.add("Startup mode: " + mode);
+        report.add("Critical worlds ready after " + criticalMillis + "ms");
+        if (isDone()) {
+            report.add("All queued worlds loaded after " + finishedMillis + "ms");
+        } else {
+            report.add("Still queued: " + queue.size());
+        }
+        report.add("Loaded: " + timings.size() + ", failed: " + timings.stream().filter(timing -> !timing.loaded()).count()
+                + ", left for first access: " + skipped);
+
+        List<Timing> slowest = new ArrayList<>(timings);
+        slowest.sort(Comparator.comparingLong(Timing::millis).reversed());
+        for (Timing timing : slowest.subList(0, Math.min(10, slowest.size()))) {
+            report.add("  " + timing.alias() + ": " + timing.millis() + "ms (" + timing.phase() + (timing.loaded() ? "" : ", failed") + ")");
+        }
+        return report;
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + budgetNanos;
+        // At least one world per tick, even if a single load takes longer than the budget
+        do {
+            WorldRecord record = queue.poll();
+            if (record == null) break;
+            load(record, "queued");
+        } while (System.nanoTime() < deadline);
+
+        if (queue.isEmpty()) {
+            task.cancel();
+            task = null;
+            finish();
+        }
+    }
+
+    private void load(WorldRecord record, String phase) {
+        WorldManager worldManager = plugin.getWorldManager();
+        // Already loaded on first access while it waited in the queue
+        if (Bukkit.getWorld(worldManager.resolveFullPath(record.name())) != null) return;
+
+        long start = System.nanoTime();
+        World world = worldManager.loadRegisteredWorld(record);
+        timings.add(new Timing(record.name(), (System.nanoTime() - start) / 1_000_000, phase, world != null));
+    }
+
+    private void finish() {
+        finishedMillis = elapsedMillis();
+        List<String> report = getReport();
+        plugin.getLogger().info("VFS: Startup finished. " + String.join(" | ", report.subList(0, Math.min(4, report.size()))));
+    }
+
+    private int priority(WorldRecord record) {
+        String name = record.name().toLowerCase(Locale.ROOT);
+        if (critical.contains(name)) return 0;
+        if (record.container() != null) {
+            String container = record.container().toLowerCase(Locale.ROOT);
+            for (String entry : critical) {
+                if (container.equals(entry) || container.startsWith(entry + "/")) return 0;
+            }
+        }
+        if (plugin.getWorldManager().isWorldWhitelisted(record.name())) return 1;
+        return 2;
+    }
+
+    private long elapsedMillis() {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+
+    private record Timing(String alias, long millis, String phase, boolean loaded) {
+    }
+}
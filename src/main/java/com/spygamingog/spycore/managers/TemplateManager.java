@@ -1,12 +1,13 @@
 package com.spygamingog.spycore.managers;
 
 import com.spygamingog.spycore.SpyCore;
-import org.apache.commons.io.FileUtils;
+import com.spygamingog.spycore.api.WorldOperationException;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 public class TemplateManager {
@@ -21,6 +22,10 @@ public class TemplateManager {
         }
     }
 
+    /**
+     * Copy a template and load the copy. The copy blocks the calling thread, so on the main thread
+     * the server stalls until it finishes; prefer {@link #createFromTemplateAsync} there.
+     */
     public World createFromTemplate(String templateName, String targetContainer, String targetName) {
         File templateDir = new File(templatesFolder, templateName);
         if (!templateDir.exists()) {
@@ -28,15 +33,11 @@ public class TemplateManager {
             return null;
         }
 
-        File targetDir = new File(plugin.getServer().getWorldContainer(), "containers/" + targetContainer + "/" + targetName);
+        File targetDir = plugin.getWorldManager().getWorldFolder(targetContainer, targetName);
         
         try {
-            FileUtils.copyDirectory(templateDir, targetDir);
-            // Remove uid.dat if it exists to avoid UUID conflicts
-            File uidFile = new File(targetDir, "uid.dat");
-            if (uidFile.exists()) {
-                uidFile.delete();
-            }
+            // uid.dat and session.lock are skipped to avoid UUID conflicts
+            plugin.getWorldManager().getWorldCopier().copy(templateDir.toPath(), targetDir.toPath());
             
             return plugin.getWorldManager().loadWorld(targetContainer, targetName);
         } catch (IOException e) {
@@ -45,18 +46,46 @@ public class TemplateManager {
         }
     }
 
+    /**
+     * Copy a template off the main thread, then load the copy through the world operation queue.
+     * The future fails with a {@link WorldOperationException} if the template is missing or the copy fails.
+     */
+    public CompletableFuture<World> createFromTemplateAsync(String templateName, String targetContainer, String targetName, WorldOperationQueue.Priority priority) {
+        File templateDir = new File(templatesFolder, templateName);
+        File targetDir = plugin.getWorldManager().getWorldFolder(targetContainer, targetName);
+        WorldManager worldManager = plugin.getWorldManager();
+
+        return WorldManager.unwrapped(worldManager.runIo(() -> {
+            if (!templateDir.exists()) {
+                throw new WorldOperationException(targetName, "Template not found: " + templateName);
+            }
+            try {
+                worldManager.getWorldCopier().copy(templateDir.toPath(), targetDir.toPath());
+            } catch (IOException e) {
+                throw new WorldOperationException(targetName, "Failed to copy template: " + templateName, e);
+            }
+            return null;
+        }).thenCompose(ignored -> worldManager.schedule("template " + targetName, worldManager.resolveFullPath(targetContainer + "/" + targetName), priority, () -> {
+            World world = worldManager.loadWorld(targetContainer, targetName);
+            if (world == null) {
+                throw new WorldOperationException(targetName, "Bukkit failed to load the world");
+            }
+            return world;
+        })));
+    }
+
     public void deleteDisposableWorld(String container, String worldName) {
-        World world = Bukkit.getWorld("containers/" + container + "/" + worldName);
+        WorldManager worldManager = plugin.getWorldManager();
+        World world = Bukkit.getWorld(worldManager.resolveFullPath(container + "/" + worldName));
         if (world != null) {
             Bukkit.unloadWorld(world, false);
         }
 
-        File worldDir = new File(plugin.getServer().getWorldContainer(), "containers/" + container + "/" + worldName);
-        try {
-            FileUtils.deleteDirectory(worldDir);
+        File worldDir = worldManager.getWorldFolder(container, worldName);
+        if (worldManager.getTrashBin().discard(worldDir)) {
             plugin.getLogger().info("Deleted disposable world: " + container + "/" + worldName);
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to delete world: " + worldName, e);
+        } else {
+            plugin.getLogger().severe("Failed to delete world: " + worldName);
         }
     }
 }
@@ -1,29 +1,50 @@
 package com.spygamingog.spycore.managers;
 
 import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.api.WorldOperationException;
+import com.spygamingog.spycore.api.events.SpyWorldBatchCreateEvent;
 import com.spygamingog.spycore.api.events.SpyWorldCreateEvent;
 import com.spygamingog.spycore.api.events.SpyWorldLoadEvent;
 import com.spygamingog.spycore.api.events.SpyWorldUnloadEvent;
 import com.spygamingog.spycore.generators.LazyTemplateGenerator;
+import com.spygamingog.spycore.models.WorldSettings;
+import com.spygamingog.spycore.storage.JournalWorldRegistryStore;
+import com.spygamingog.spycore.storage.RegistryYaml;
+import com.spygamingog.spycore.storage.WorldRecord;
+import com.spygamingog.spycore.storage.WorldRegistryStore;
+import com.spygamingog.spycore.storage.YamlWorldRegistryStore;
+import com.spygamingog.spycore.utils.SafeLocationSearch;
+import com.spygamingog.spycore.utils.TemplateCache;
+import com.spygamingog.spycore.utils.TrashBin;
+import com.spygamingog.spycore.utils.WorldCopier;
 import lombok.Getter;
 import org.apache.commons.io.FileUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.WorldCreator;
-import org.bukkit.block.Block;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -31,14 +52,22 @@ public class WorldManager {
     private final SpyCore plugin;
     private final File containersFolder;
     private final File worldsConfigFile;
-    private FileConfiguration worldsConfig;
     
     private final Object configLock = new Object();
+
+    // Persistent world records and whitelist; writes are applied in memory and persisted in the background
+    @Getter
+    private WorldRegistryStore registryStore;
     
     // Key: Alias (e.g., "DesertMap"), Value: Full Path (e.g., "containers/Bedwars/Solo/DesertMap")
-    @Getter
     private final Map<String, String> worldAliases = new ConcurrentHashMap<>();
     
+    // Key: Full Path (world name), Value: Settings snapshot, replaced as a whole on every change
+    private final Map<String, WorldSettings> worldSettings = new ConcurrentHashMap<>();
+
+    // Reverse index of worldAliases, Key: Full Path (world name), Value: Alias and container
+    private final Map<String, WorldKey> pathIndex = new ConcurrentHashMap<>();
+
     // Key: Full Path, Value: Last access time
     private final Map<String, Long> lastAccessTime = new ConcurrentHashMap<>();
 
@@ -49,42 +78,176 @@ public class WorldManager {
     @Getter
     private final Set<String> hibernationWhitelist = ConcurrentHashMap.newKeySet();
 
+    // Folder staging (copy, move, delete) runs here so it never blocks the main thread
+    private final ExecutorService ioExecutor;
+
+    // Parallel region-file copier used for clones, resets and templates
+    @Getter
+    private final WorldCopier worldCopier;
+
+    // Deleted folders are renamed in here and purged in the background
+    @Getter
+    private final TrashBin trashBin;
+
+    // Unloads idle worlds when the heap crosses the configured high watermark
+    @Getter
+    private final MemoryPressureMonitor memoryMonitor;
+
+    // Main-thread steps of the async pipelines run here under a per-tick budget
+    @Getter
+    private final WorldOperationQueue operationQueue;
+
+    // Saves chunks across several ticks before a world is unloaded
+    @Getter
+    private final ChunkFlusher chunkFlusher;
+
+    // Key: Full Path, Value: Unload pipeline in progress
+    private final Map<String, CompletableFuture<Boolean>> unloads = new ConcurrentHashMap<>();
+
+    // Key: World name (full path), Value: Last safe location found near its spawn
+    private final Map<String, SafeSpawn> safeLocations = new ConcurrentHashMap<>();
+
     public WorldManager(SpyCore plugin) {
         this.plugin = plugin;
+        AtomicInteger ioThreadId = new AtomicInteger();
+        this.ioExecutor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+            Thread thread = new Thread(runnable, "SpyCore-IO-" + ioThreadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        TemplateCache templateCache = null;
+        if (plugin.getConfig().getBoolean("template-cache.enabled", false)) {
+            templateCache = new TemplateCache(
+                    plugin.getConfig().getLong("template-cache.max-size-mb", 128) * 1048576L,
+                    plugin.getConfig().getLong("template-cache.max-entry-size-mb", 64) * 1048576L,
+                    plugin.getConfig().getBoolean("template-cache.off-heap", true),
+                    plugin.getConfig().getInt("template-cache.admit-after", 2));
+        }
+        this.worldCopier = new WorldCopier(plugin.getConfig().getInt("copy-threads", 4), templateCache);
+        this.trashBin = new TrashBin(new File(plugin.getServer().getWorldContainer(), ".spycore-trash"),
+                plugin.getConfig().getInt("trash.purge-files-per-second", 500), plugin.getLogger());
         this.containersFolder = new File(plugin.getServer().getWorldContainer(), "spycore-worlds");
         if (!containersFolder.exists()) {
             containersFolder.mkdirs();
         }
         this.worldsConfigFile = new File(plugin.getDataFolder(), "worlds.yml");
+        this.memoryMonitor = new MemoryPressureMonitor(plugin, this);
+        this.operationQueue = new WorldOperationQueue(plugin);
+        this.chunkFlusher = new ChunkFlusher(plugin);
         loadConfig();
     }
 
     private void loadConfig() {
         synchronized (configLock) {
-            if (!worldsConfigFile.exists()) {
+            registryStore = openRegistryStore();
+            plugin.getLogger().info("VFS: Loaded " + registryStore.getStats().records() + " worlds from the " + registryStore.getStats().type()
+                    + " registry in " + registryStore.getStats().loadMillis() + "ms.");
+
+            // Load hibernation whitelist
+            hibernationWhitelist.addAll(registryStore.getWhitelist());
+        }
+    }
+
+    /**
+     * Open the configured registry store. Switching {@code registry.type} carries the registry over: the journal
+     * imports worlds.yml (kept as worlds.yml.imported), and the yaml store exports the journal back into worlds.yml.
+     * @throws IllegalStateException if the registry exists but cannot be read, instead of starting with no worlds.
+     */
+    private WorldRegistryStore openRegistryStore() {
+        long flushInterval = plugin.getConfig().getLong("persistence.flush-interval-ms", 1000);
+        int compactAfter = plugin.getConfig().getInt("registry.compact-after-entries", 10000);
+        plugin.getDataFolder().mkdirs();
+        File folder = new File(plugin.getDataFolder(), "registry");
+        File imported = new File(plugin.getDataFolder(), "worlds.yml.imported");
+
+        if (plugin.getConfig().getString("registry.type", "journal").equalsIgnoreCase("journal")) {
+            boolean fresh = !JournalWorldRegistryStore.exists(folder);
+            try {
+                JournalWorldRegistryStore store = new JournalWorldRegistryStore(folder, flushInterval, compactAfter, plugin.getLogger());
+                if (fresh && worldsConfigFile.exists()) {
+                    // First start on the journal: take over the existing worlds.yml once
+                    YamlConfiguration yaml = YamlConfiguration.loadConfiguration(worldsConfigFile);
+                    Map<String, WorldRecord> records = RegistryYaml.readWorlds(yaml);
+                    store.importAll(records, RegistryYaml.readWhitelist(yaml));
+                    imported.delete();
+                    if (worldsConfigFile.renameTo(imported)) {
+                        plugin.getLogger().info("VFS: Imported " + records.size() + " worlds from worlds.yml into the journaled registry (original kept as " + imported.getName() + ").");
+                    }
+                } else if (fresh && imported.exists()) {
+                    // The registry folder was removed after the import; the imported copy beats an empty registry
+                    YamlConfiguration yaml = YamlConfiguration.loadConfiguration(imported);
+                    Map<String, WorldRecord> records = RegistryYaml.readWorlds(yaml);
+                    store.importAll(records, RegistryYaml.readWhitelist(yaml));
+                    plugin.getLogger().warning("VFS: The journaled registry was missing, restored " + records.size() + " worlds from " + imported.getName() + ".");
+                }
+                return store;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not open the journaled world registry, falling back to worlds.yml", e);
+            }
+        }
+
+        if (!worldsConfigFile.exists()) {
+            if (JournalWorldRegistryStore.exists(folder)) {
+                exportJournal(folder, flushInterval, compactAfter);
+            } else if (imported.exists()) {
+                try {
+                    FileUtils.copyFile(imported, worldsConfigFile);
+                    plugin.getLogger().warning("VFS: worlds.yml was missing, restored it from " + imported.getName() + ".");
+                } catch (IOException e) {
+                    throw new IllegalStateException("VFS: Could not restore worlds.yml from " + imported.getName() + ", refusing to start with an empty world registry", e);
+                }
+            } else {
                 try {
-                    plugin.getDataFolder().mkdirs();
                     worldsConfigFile.createNewFile();
                 } catch (IOException e) {
                     plugin.getLogger().log(Level.SEVERE, "Could not create worlds.yml", e);
                 }
             }
-            worldsConfig = YamlConfiguration.loadConfiguration(worldsConfigFile);
-            
-            // Load hibernation whitelist
-            List<String> whitelist = worldsConfig.getStringList("hibernation-whitelist");
-            hibernationWhitelist.addAll(whitelist);
         }
+        return new YamlWorldRegistryStore(worldsConfigFile, flushInterval, plugin.getLogger());
+    }
+
+    /**
+     * Write the journaled registry into a new worlds.yml, then move the registry folder aside so switching back
+     * to the journal imports worlds.yml again instead of replaying an outdated journal.
+     */
+    private void exportJournal(File folder, long flushInterval, int compactAfter) {
+        try {
+            JournalWorldRegistryStore journal = new JournalWorldRegistryStore(folder, flushInterval, compactAfter, plugin.getLogger());
+            Map<String, WorldRecord> records = journal.getAll();
+            List<String> whitelist = journal.getWhitelist();
+            journal.close();
+            // Written next to worlds.yml first, so a failed export never leaves a partial worlds.yml to start from
+            File temp = new File(plugin.getDataFolder(), "worlds.yml.tmp");
+            RegistryYaml.export(temp, records, whitelist);
+            if (!temp.renameTo(worldsConfigFile)) {
+                throw new IOException("Could not rename " + temp.getName() + " to " + worldsConfigFile.getName());
+            }
+            plugin.getLogger().info("VFS: Exported " + records.size() + " worlds from the journaled registry into worlds.yml.");
+        } catch (IOException e) {
+            throw new IllegalStateException("VFS: Could not read the journaled world registry in " + folder.getName()
+                    + "/ and there is no worlds.yml, refusing to start with an empty world registry", e);
+        }
+
+        File exported = new File(plugin.getDataFolder(), "registry.exported");
+        FileUtils.deleteQuietly(exported);
+        if (!folder.renameTo(exported)) {
+            plugin.getLogger().warning("VFS: Could not rename " + folder.getName() + "/ to " + exported.getName()
+                    + "/; remove it before switching back to registry.type journal, or it will replace worlds.yml.");
+        }
+    }
+
+    /**
+     * Write the whole registry to a file in the worlds.yml format.
+     * This method is safe to call from an asynchronous thread.
+     */
+    public void exportRegistry(File file) throws IOException {
+        RegistryYaml.export(file, registryStore.getAll(), registryStore.getWhitelist());
     }
 
     private void saveWhitelist() {
         synchronized (configLock) {
-            worldsConfig.set("hibernation-whitelist", new ArrayList<>(hibernationWhitelist));
-            try {
-                worldsConfig.save(worldsConfigFile);
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not save hibernation whitelist", e);
-            }
+            registryStore.setWhitelist(hibernationWhitelist);
         }
     }
 
@@ -98,6 +261,15 @@ public class WorldManager {
         saveWhitelist();
     }
 
+    /**
+     * Get a read-only view of every registered alias and its full path.
+     * The view is live but cannot be modified; register and remove worlds through this manager so the
+     * reverse path index stays in sync. Writing to it throws {@link UnsupportedOperationException}.
+     */
+    public Map<String, String> getWorldAliases() {
+        return java.util.Collections.unmodifiableMap(worldAliases);
+    }
+
     public boolean isWorldWhitelisted(String alias) {
         return hibernationWhitelist.contains(alias);
     }
@@ -106,31 +278,32 @@ public class WorldManager {
         return getWorld(alias, true);
     }
 
+    /**
+     * Register every stored world and hand the ones that should be loaded to the {@link StartupLoader}.
+     */
     public void loadWorlds() {
+        List<WorldRecord> toLoad = new ArrayList<>();
         synchronized (configLock) {
-            if (worldsConfig.getConfigurationSection("worlds") == null) return;
-
-            for (String key : worldsConfig.getConfigurationSection("worlds").getKeys(false)) {
-                String container = worldsConfig.getString("worlds." + key + ".container");
-                String worldName = worldsConfig.getString("worlds." + key + ".name");
-                boolean hibernate = worldsConfig.getBoolean("worlds." + key + ".hibernate", false);
-                String generator = worldsConfig.getString("worlds." + key + ".generator");
-                String envStr = worldsConfig.getString("worlds." + key + ".environment");
-                World.Environment environment = envStr != null ? World.Environment.valueOf(envStr) : World.Environment.NORMAL;
-                
-                String fullPath = (container == null || container.isEmpty() || container.equalsIgnoreCase("root")) 
-                        ? worldName 
-                        : "spycore-worlds/" + container + "/" + worldName;
-                worldAliases.put(worldName, fullPath);
-                
-                if (!hibernate) {
-                    World world = loadWorldInternal(container, worldName, generator, environment, null);
-                    if (world != null) {
-                        applyWorldSettings(world, worldName);
-                    }
+            for (WorldRecord record : registryStore.getAll().values()) {
+                registerAlias(record.name(), getFullPath(record.container(), record.name()));
+                if (!record.hibernate()) {
+                    toLoad.add(record);
                 }
             }
         }
+        plugin.getStartupLoader().start(toLoad);
+    }
+
+    /**
+     * Load a stored world and apply its settings.
+     * MUST be called on the main thread.
+     */
+    public World loadRegisteredWorld(WorldRecord record) {
+        World world = loadWorldInternal(record.container(), record.name(), record.generator(), toEnvironment(record), null);
+        if (world != null) {
+            applyWorldSettings(world, record.name());
+        }
+        return world;
     }
 
     public boolean isWorldLoaded(String alias) {
@@ -140,34 +313,21 @@ public class WorldManager {
 
     public void applyWorldSettings(World world, String alias) {
         String container = getContainerFromPath(world.getName());
-        String key = container.replace(".", "_") + "_" + alias.replace(".", "_");
 
         // Keep Bedwars worlds in memory to ensure NPCs are always visible
         if (container.toLowerCase().contains("bedwars")) {
             world.setKeepSpawnInMemory(true);
         }
-        
-        synchronized (configLock) {
-            if (worldsConfig.contains("worlds." + key + ".settings")) {
-                String settingsPath = "worlds." + key + ".settings.";
-                
-                if (worldsConfig.contains(settingsPath + "timecycle")) {
-                    boolean timeCycle = worldsConfig.getBoolean(settingsPath + "timecycle");
-                    world.setGameRule(org.bukkit.GameRule.DO_DAYLIGHT_CYCLE, timeCycle);
-                }
-                
-                if (worldsConfig.contains(settingsPath + "weathercycle")) {
-                    boolean weatherCycle = worldsConfig.getBoolean(settingsPath + "weathercycle");
-                    world.setGameRule(org.bukkit.GameRule.DO_WEATHER_CYCLE, weatherCycle);
-                }
 
-                if (worldsConfig.contains(settingsPath + "difficulty")) {
-                    try {
-                        org.bukkit.Difficulty difficulty = org.bukkit.Difficulty.valueOf(worldsConfig.getString(settingsPath + "difficulty").toUpperCase());
-                        world.setDifficulty(difficulty);
-                    } catch (IllegalArgumentException | NullPointerException ignored) {}
-                }
-            }
+        WorldSettings settings = getSettings(world);
+        if (settings.timeCycle() != null) {
+            world.setGameRule(org.bukkit.GameRule.DO_DAYLIGHT_CYCLE, settings.timeCycle());
+        }
+        if (settings.weatherCycle() != null) {
+            world.setGameRule(org.bukkit.GameRule.DO_WEATHER_CYCLE, settings.weatherCycle());
+        }
+        if (settings.difficulty() != null) {
+            world.setDifficulty(settings.difficulty());
         }
     }
 
@@ -179,43 +339,48 @@ public class WorldManager {
         String fullPath = worldAliases.get(alias);
         if (fullPath == null) return;
 
-        String container = getContainerFromPath(fullPath);
-        String key = container.replace(".", "_") + "_" + alias.replace(".", "_");
-        
+        String key = getConfigKey(fullPath);
         synchronized (configLock) {
-            worldsConfig.set("worlds." + key + ".settings." + setting.toLowerCase(), value);
-            try {
-                worldsConfig.save(worldsConfigFile);
-                
-                World world = Bukkit.getWorld(fullPath);
-                if (world != null) {
-                    if (setting.equalsIgnoreCase("timecycle")) {
-                        world.setGameRule(org.bukkit.GameRule.DO_DAYLIGHT_CYCLE, (Boolean) value);
-                    } else if (setting.equalsIgnoreCase("weathercycle")) {
-                        world.setGameRule(org.bukkit.GameRule.DO_WEATHER_CYCLE, (Boolean) value);
-                    } else if (setting.equalsIgnoreCase("difficulty")) {
-                        try {
-                            org.bukkit.Difficulty difficulty = org.bukkit.Difficulty.valueOf(value.toString().toUpperCase());
-                            world.setDifficulty(difficulty);
-                        } catch (IllegalArgumentException ignored) {}
-                    }
-                }
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not save world setting: " + setting, e);
+            registryStore.update(key, record -> record == null ? null : record.withSetting(setting.toLowerCase(), value));
+        }
+
+        // Swap in a new snapshot; readers see either the old or the new settings, never a mix
+        WorldSettings settings = worldSettings.compute(fullPath, (path, current) -> (current != null ? current : WorldSettings.DEFAULTS).with(setting, value));
+
+        World world = Bukkit.getWorld(fullPath);
+        if (world != null) {
+            if (setting.equalsIgnoreCase("timecycle") && settings.timeCycle() != null) {
+                world.setGameRule(org.bukkit.GameRule.DO_DAYLIGHT_CYCLE, settings.timeCycle());
+            } else if (setting.equalsIgnoreCase("weathercycle") && settings.weatherCycle() != null) {
+                world.setGameRule(org.bukkit.GameRule.DO_WEATHER_CYCLE, settings.weatherCycle());
+            } else if (setting.equalsIgnoreCase("difficulty") && settings.difficulty() != null) {
+                world.setDifficulty(settings.difficulty());
             }
         }
     }
 
+    /**
+     * Look a setting up by its config key. Boolean settings always report their effective value.
+     * Hot paths should use {@link #getSettings(World)} instead.
+     */
     public Object getWorldSetting(String alias, String setting, Object defaultValue) {
         String fullPath = worldAliases.get(alias);
         if (fullPath == null) return defaultValue;
 
-        String container = getContainerFromPath(fullPath);
-        String key = container.replace(".", "_") + "_" + alias.replace(".", "_");
-        
-        synchronized (configLock) {
-            return worldsConfig.get("worlds." + key + ".settings." + setting.toLowerCase(), defaultValue);
-        }
+        WorldSettings settings = worldSettings.get(fullPath);
+        return settings != null ? settings.get(setting, defaultValue) : defaultValue;
+    }
+
+    /**
+     * Get the settings snapshot of a world without locking. Unregistered worlds get the defaults.
+     */
+    public WorldSettings getSettings(World world) {
+        return worldSettings.getOrDefault(world.getName(), WorldSettings.DEFAULTS);
+    }
+
+    private WorldSettings readSettings(String fullPath) {
+        WorldRecord record = registryStore.get(getConfigKey(fullPath));
+        return record != null ? WorldSettings.fromMap(record.settings()) : WorldSettings.DEFAULTS;
     }
 
     public World loadWorld(String container, String worldName) {
@@ -241,17 +406,14 @@ public class WorldManager {
             plugin.getLogger().warning("VFS: World '" + fullPath + "' loaded, but alias '" + worldName + "' is already taken by '" + existingPath + "'. Use full path to access this world.");
         }
 
-        worldAliases.put(worldName, fullPath);
+        registerAlias(worldName, fullPath);
         
         // Use provided environment or try to get from config
         World.Environment finalEnvironment = environment;
         if (finalEnvironment == null) {
             String safeContainer = container == null ? "root" : container;
             String key = safeContainer.replace(".", "_") + "_" + worldName.replace(".", "_");
-            synchronized (configLock) {
-                String envStr = worldsConfig.getString("worlds." + key + ".environment");
-                finalEnvironment = envStr != null ? World.Environment.valueOf(envStr) : World.Environment.NORMAL;
-            }
+            finalEnvironment = toEnvironment(registryStore.get(key));
         }
 
         World world = loadWorldInternal(container, worldName, generator, finalEnvironment, seed);
@@ -261,30 +423,43 @@ public class WorldManager {
         return world;
     }
 
+    /**
+     * Start removing a world, see {@link #removeWorldAsync(String)}. The removal finishes after this returns;
+     * a world that cannot be unloaded stays registered and the failure is logged.
+     * @return False if the world is neither registered nor loaded.
+     */
     public boolean removeWorld(String alias) {
         String fullPath = resolveFullPath(alias);
-        String baseName = getAliasFromPath(fullPath);
+        if (registryStore.get(getConfigKey(fullPath)) == null && Bukkit.getWorld(fullPath) == null) return false;
+        removeWorldAsync(alias);
+        return true;
+    }
 
-        unloadWorld(fullPath, true);
-        worldAliases.remove(baseName);
-        lastAccessTime.remove(fullPath);
-        hibernationWhitelist.remove(baseName);
-        saveWhitelist();
+    /**
+     * Unload a world, then stop managing it: its alias, registry record and whitelist entry are removed only
+     * once the unload has finished. The files are kept.
+     * @return A future completing with true once the world is unloaded and unregistered, or false if it could
+     * not be unloaded, in which case it stays registered.
+     */
+    public CompletableFuture<Boolean> removeWorldAsync(String alias) {
+        String fullPath = resolveFullPath(alias);
+        String baseName = getAliasFromPath(fullPath);
 
-        // Remove from config
-        String container = getContainerFromPath(fullPath);
-        String key = container.replace(".", "_") + "_" + baseName.replace(".", "_");
-        
-        synchronized (configLock) {
-            worldsConfig.set("worlds." + key, null);
-            try {
-                worldsConfig.save(worldsConfigFile);
-                return true;
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not save worlds.yml after world removal", e);
+        return unwrapped(unloadWorldAsync(baseName, fullPath, WorldOperationQueue.Priority.NORMAL).thenCompose(unloaded -> runSync(() -> {
+            if (Bukkit.getWorld(fullPath) != null) {
+                plugin.getLogger().warning("VFS: Could not unload '" + fullPath + "', it stays registered.");
                 return false;
             }
-        }
+            unregisterAlias(baseName);
+            lastAccessTime.remove(fullPath);
+            hibernationWhitelist.remove(baseName);
+            saveWhitelist();
+
+            synchronized (configLock) {
+                registryStore.remove(getConfigKey(fullPath));
+            }
+            return true;
+        })));
     }
 
     public boolean deleteWorld(String alias) {
@@ -333,7 +508,7 @@ public class WorldManager {
 
         plugin.getLogger().info("VFS: Attempting to delete world files for: " + fullPath + " (Alias: " + baseName + ")");
 
-        worldAliases.remove(baseName);
+        unregisterAlias(baseName);
         lastAccessTime.remove(fullPath);
         hibernationWhitelist.remove(baseName);
         saveWhitelist();
@@ -343,14 +518,11 @@ public class WorldManager {
         String key = container.replace(".", "_") + "_" + baseName.replace(".", "_");
         
         synchronized (configLock) {
-            if (worldsConfig.contains("worlds." + key)) {
-                worldsConfig.set("worlds." + key, null);
-                try {
-                    worldsConfig.save(worldsConfigFile);
-                } catch (IOException e) {
-                    plugin.getLogger().log(Level.SEVERE, "Could not save worlds.yml after world deletion", e);
-                }
-            }
+            registryStore.remove(key);
+        }
+
+        if (fullPath.startsWith("spycore-worlds/")) {
+            FileUtils.deleteQuietly(plugin.getColdStorageManager().getArchive(fullPath));
         }
 
         // Physically delete folder
@@ -359,27 +531,52 @@ public class WorldManager {
                 : new File(plugin.getServer().getWorldContainer(), fullPath);
 
         if (worldFolder.exists()) {
-            try {
-                FileUtils.deleteDirectory(worldFolder);
-                
-                // Verify deletion
-                if (worldFolder.exists()) {
-                    plugin.getLogger().severe("VFS: FAILED to delete folder (still exists): " + worldFolder.getAbsolutePath());
-                    return false;
-                }
-                
-                plugin.getLogger().info("VFS: Successfully deleted folder: " + worldFolder.getAbsolutePath());
-                return true;
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "VFS: Could not delete world folder: " + worldFolder.getAbsolutePath(), e);
+            // Renamed into the trash right away; the files are unlinked in the background
+            if (!trashBin.discard(worldFolder)) {
+                plugin.getLogger().severe("VFS: FAILED to delete folder (still exists): " + worldFolder.getAbsolutePath());
                 return false;
             }
+
+            plugin.getLogger().info("VFS: Successfully deleted folder: " + worldFolder.getAbsolutePath());
+            return true;
         } else {
             plugin.getLogger().info("VFS: Delete requested but folder does not exist: " + worldFolder.getAbsolutePath());
         }
         return true;
     }
 
+    private String getFullPath(String container, String worldName) {
+        return (container == null || container.isEmpty() || container.equalsIgnoreCase("root"))
+                ? worldName
+                : "spycore-worlds/" + container + "/" + worldName;
+    }
+
+    /**
+     * Resolve the folder of a world from its full technical path.
+     */
+    public File getWorldFolder(String fullPath) {
+        return fullPath.startsWith("spycore-worlds/")
+                ? new File(containersFolder, fullPath.replace("spycore-worlds/", "").replace("/", File.separator))
+                : new File(plugin.getServer().getWorldContainer(), fullPath);
+    }
+
+    /**
+     * Resolve the folder of a world from its container and name.
+     */
+    public File getWorldFolder(String container, String worldName) {
+        return (container == null || container.isEmpty() || container.equalsIgnoreCase("root"))
+                ? new File(plugin.getServer().getWorldContainer(), worldName)
+                : new File(containersFolder, container.replace("/", File.separator) + File.separator + worldName);
+    }
+
+    private World.Environment getConfiguredEnvironment(String fullPath) {
+        return toEnvironment(registryStore.get(getConfigKey(fullPath)));
+    }
+
+    private World.Environment toEnvironment(WorldRecord record) {
+        return record != null && record.environment() != null ? World.Environment.valueOf(record.environment()) : World.Environment.NORMAL;
+    }
+
     private String getAliasFromPath(String fullPath) {
         if (fullPath.startsWith("spycore-worlds/")) {
             String path = fullPath.replace("spycore-worlds/", "");
@@ -392,7 +589,7 @@ public class WorldManager {
         return fullPath;
     }
 
-    private String getContainerFromPath(String fullPath) {
+    public String getContainerFromPath(String fullPath) {
         if (!fullPath.startsWith("spycore-worlds/")) return "root";
         String relative = fullPath.replace("spycore-worlds/", "");
         int lastSlash = relative.lastIndexOf("/");
@@ -404,9 +601,16 @@ public class WorldManager {
         String fullPath = (container == null || container.isEmpty() || container.equalsIgnoreCase("root")) 
                 ? worldName 
                 : "spycore-worlds/" + container + "/" + worldName;
+        if (unloads.containsKey(fullPath)) {
+            plugin.getLogger().warning("VFS: World '" + fullPath + "' is being unloaded, use loadWorldAsync to load it again.");
+            return null;
+        }
         World world = Bukkit.getWorld(fullPath);
         if (world != null) return world;
 
+        // Hibernated worlds may have been packed into cold storage
+        if (!plugin.getColdStorageManager().ensureAvailableNow(fullPath)) return null;
+
         File worldFolder = (container == null || container.isEmpty() || container.equalsIgnoreCase("root")) 
                 ? new File(plugin.getServer().getWorldContainer(), worldName) 
                 : new File(containersFolder, container.replace("/", File.separator) + File.separator + worldName);
@@ -450,8 +654,17 @@ public class WorldManager {
         return getWorld(alias, true);
     }
 
+    /**
+     * @param loadIfAbsent Load the world if it is registered but not loaded. While the world is being unloaded
+     *                     this returns null instead, since the main thread cannot wait for the unload to finish;
+     *                     {@link #wakeWorldAsync(String)} waits for it and loads the world again.
+     */
     public World getWorld(String alias, boolean loadIfAbsent) {
         String fullPath = resolveFullPath(alias);
+        if (loadIfAbsent && unloads.containsKey(fullPath)) {
+            plugin.getLogger().warning("VFS: World '" + fullPath + "' is being unloaded, use wakeWorldAsync to load it again.");
+            return null;
+        }
         
         World world = Bukkit.getWorld(fullPath);
         if (world == null && loadIfAbsent) {
@@ -460,20 +673,19 @@ public class WorldManager {
             String container = getContainerFromPath(fullPath);
             String key = container.replace(".", "_") + "_" + baseName.replace(".", "_");
             
-            String generator;
-            String envStr;
-            synchronized (configLock) {
-                if (!worldsConfig.contains("worlds." + key)) {
-                    // Not a managed world we know about in config
-                    plugin.getLogger().warning("VFS: World load failed - Not in config: " + key + " (Alias: " + alias + ")");
-                    return null;
-                }
-                generator = worldsConfig.getString("worlds." + key + ".generator");
-                envStr = worldsConfig.getString("worlds." + key + ".environment");
+            WorldRecord record = registryStore.get(key);
+            if (record == null) {
+                // Not a managed world we know about in config
+                plugin.getLogger().warning("VFS: World load failed - Not in config: " + key + " (Alias: " + alias + ")");
+                return null;
             }
-            World.Environment environment = envStr != null ? World.Environment.valueOf(envStr) : World.Environment.NORMAL;
-            
-            return loadWorldInternal(container.equals("root") ? null : container, baseName, generator, environment, null);
+
+            // Worlds left unloaded by a lazy startup get their settings on first access
+            world = loadWorldInternal(container.equals("root") ? null : container, baseName, record.generator(), toEnvironment(record), null);
+            if (world != null) {
+                applyWorldSettings(world, baseName);
+            }
+            return world;
         }
         
         if (world != null) {
@@ -538,14 +750,17 @@ public class WorldManager {
             
             // Only find safe location if NOT a factory world to save time/resources during batch creation
             boolean isFactory = (container != null && container.equalsIgnoreCase("factory")) || (generator != null && generator.equalsIgnoreCase("lazy"));
+            Location safe = null;
             if (!isFactory) {
-                Location safe = findSafeLocation(world);
-                world.setSpawnLocation(safe);
+                safe = findSafeLocation(world);
             }
             
-            worldAliases.put(worldName, fullPath);
+            registerAlias(worldName, fullPath);
             lastAccessTime.put(fullPath, System.currentTimeMillis());
             saveWorldToConfig(container, worldName, false, generator, world.getEnvironment());
+            if (safe != null) {
+                applySafeSpawn(world, safe);
+            }
             plugin.getLogger().info("VFS: Created " + fullPath + " (Alias: " + worldName + ") " + (seed != null ? "with seed: " + seed : "") + " and generator: " + (generator != null ? generator : "default"));
             Bukkit.getPluginManager().callEvent(new SpyWorldCreateEvent(world, worldName));
         }
@@ -570,7 +785,8 @@ public class WorldManager {
 
     /**
      * Copy world files from source to target.
-     * This method is safe to call from an asynchronous thread.
+     * This method is safe to call from an asynchronous thread. Called from the main thread it
+     * blocks the server until the copy finishes; prefer {@link #cloneWorldAsync} there.
      * @return True if successful.
      */
     public boolean copyWorldFiles(String sourceAlias, String targetContainer, String targetName) {
@@ -579,6 +795,7 @@ public class WorldManager {
         File sourceFolder;
         
         if (sourceFullPath != null) {
+            if (!plugin.getColdStorageManager().ensureAvailableNow(sourceFullPath)) return false;
             sourceFolder = new File(plugin.getServer().getWorldContainer(), sourceFullPath.replace("/", File.separator));
         } else {
             // Check if it's a root world not yet in our system
@@ -604,12 +821,9 @@ public class WorldManager {
         }
 
         try {
-            // Copy files
-            FileUtils.copyDirectory(sourceFolder, targetFolder);
-            
-            // Remove session.lock and uid.dat
-            new File(targetFolder, "session.lock").delete();
-            new File(targetFolder, "uid.dat").delete();
+            // Copy files in parallel (session.lock and uid.dat are skipped)
+            WorldCopier.CopyResult result = worldCopier.copy(sourceFolder.toPath(), targetFolder.toPath());
+            plugin.getLogger().info("VFS: Copied " + result.files() + " files (" + (result.bytes() / 1048576) + " MB) from '" + sourceAlias + "' to '" + targetName + "' in " + result.millis() + "ms" + (result.fromCache() ? " [template cache]" : ""));
             return true;
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "VFS: Failed to copy world files from '" + sourceAlias + "' to '" + targetName + "'", e);
@@ -623,9 +837,70 @@ public class WorldManager {
         if (world == null) return false;
 
         Bukkit.getPluginManager().callEvent(new SpyWorldUnloadEvent(world, alias));
+        safeLocations.remove(fullPath);
         return Bukkit.unloadWorld(world, save);
     }
 
+    public CompletableFuture<Boolean> unloadWorldAsync(String alias) {
+        return unloadWorldAsync(alias, WorldOperationQueue.Priority.NORMAL);
+    }
+
+    /**
+     * Save and unload a world without spending one long tick on it. Players are moved out first, then the
+     * {@link ChunkFlusher} saves and unloads its chunks over several ticks, and only then is the world itself unloaded.
+     * {@link SpyWorldUnloadEvent} fires after the flush, right before the final unload.
+     * Calling this again while the world is still being unloaded returns the same future.
+     * @return A future completing with true once the world is unloaded, or false if it was not loaded or could not be unloaded.
+     */
+    public CompletableFuture<Boolean> unloadWorldAsync(String alias, WorldOperationQueue.Priority priority) {
+        return unloadWorldAsync(alias, resolveFullPath(alias), priority);
+    }
+
+    private CompletableFuture<Boolean> unloadWorldAsync(String alias, String fullPath, WorldOperationQueue.Priority priority) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = unloads.putIfAbsent(fullPath, result);
+        if (running != null) return running;
+
+        schedule("evacuate " + alias, fullPath, priority, () -> {
+            World world = Bukkit.getWorld(fullPath);
+            if (world != null) {
+                evacuatePlayers(world);
+            }
+            return world;
+        }).thenCompose(world -> {
+            if (world == null) return CompletableFuture.completedFuture(false);
+
+            // Prewarm requests still in flight would load chunks back in while they are flushed
+            PrewarmManager prewarm = plugin.getPrewarmManager();
+            if (prewarm != null) {
+                prewarm.cancel(world);
+            }
+            return chunkFlusher.flush(world).thenCompose(flushed -> schedule("unload " + alias, fullPath, priority, () -> {
+                // Players may have come back while the chunks were flushing
+                evacuatePlayers(world);
+                Bukkit.getPluginManager().callEvent(new SpyWorldUnloadEvent(world, alias));
+                safeLocations.remove(fullPath);
+                return Bukkit.unloadWorld(world, true);
+            }));
+        }).whenComplete((unloaded, error) -> {
+            unloads.remove(fullPath, result);
+            if (error != null) {
+                result.completeExceptionally(WorldOperationException.unwrap(error));
+            } else {
+                result.complete(unloaded);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * A future completing once the in-flight unload of a world, if any, has finished, whatever its outcome.
+     */
+    private CompletableFuture<Void> awaitUnload(String fullPath) {
+        CompletableFuture<Boolean> running = unloads.get(fullPath);
+        return running == null ? CompletableFuture.completedFuture(null) : running.handle((unloaded, error) -> null);
+    }
+
     public boolean createContainer(String name) {
         File folder = new File(containersFolder, name.replace("/", File.separator));
         if (folder.exists()) return false;
@@ -633,19 +908,16 @@ public class WorldManager {
     }
 
     public boolean removeContainer(String containerName) {
-        // First, unregister and unload everything in it
-        deleteContainer(containerName);
+        // First, unregister and unload everything in it. The folder is deleted next, so nothing is saved
+        for (Map.Entry<String, String> entry : unregisterContainer(containerName).entrySet()) {
+            unloadWorld(entry.getValue(), false);
+        }
         
         // Then, physically delete the folder
         File folder = new File(containersFolder, containerName.replace("/", File.separator));
         if (folder.exists()) {
-            try {
-                FileUtils.deleteDirectory(folder);
-                return true;
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not delete container folder: " + containerName, e);
-                return false;
-            }
+            if (trashBin.discard(folder)) return true;
+            plugin.getLogger().severe("Could not delete container folder: " + containerName);
         }
         return false;
     }
@@ -653,6 +925,7 @@ public class WorldManager {
     public boolean moveWorld(String alias, String targetContainer, String targetName) {
         String sourceFullPath = worldAliases.get(alias);
         if (sourceFullPath == null) return false;
+        if (!plugin.getColdStorageManager().ensureAvailableNow(sourceFullPath)) return false;
 
         File sourceFolder = sourceFullPath.startsWith("spycore-worlds/")
                 ? new File(containersFolder, sourceFullPath.replace("spycore-worlds/", "").replace("/", File.separator))
@@ -676,30 +949,7 @@ public class WorldManager {
         try {
             // Move directory
             FileUtils.moveDirectory(sourceFolder, targetFolder);
-            
-            // Remove from old config location
-            String oldContainer = getContainerFromPath(sourceFullPath);
-            String oldKey = oldContainer.replace(".", "_") + "_" + alias.replace(".", "_");
-            String generator;
-            String envStr;
-            synchronized (configLock) {
-                generator = worldsConfig.getString("worlds." + oldKey + ".generator");
-                envStr = worldsConfig.getString("worlds." + oldKey + ".environment");
-                worldsConfig.set("worlds." + oldKey, null);
-            }
-            World.Environment environment = envStr != null ? World.Environment.valueOf(envStr) : World.Environment.NORMAL;
-
-            // Update aliases and config
-            worldAliases.remove(alias);
-            worldAliases.put(targetName, targetFullPath);
-            lastAccessTime.remove(sourceFullPath);
-            
-            saveWorldToConfig(targetContainer, targetName, false, generator, environment);
-            
-            // Load in new location
-            loadWorldInternal(targetContainer, targetName, generator, environment, null);
-            
-            plugin.getLogger().info("VFS: Moved world '" + alias + "' to '" + targetFullPath + "'");
+            registerMovedWorld(alias, sourceFullPath, targetContainer, targetName);
             return true;
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "VFS: Failed to move world '" + alias + "'", e);
@@ -707,103 +957,630 @@ public class WorldManager {
         }
     }
 
-    public boolean moveContainer(String sourcePath, String targetParentPath) {
-        File sourceFolder = new File(containersFolder, sourcePath.replace("/", File.separator));
-        if (!sourceFolder.exists() || !sourceFolder.isDirectory()) return false;
-
-        String containerName = sourceFolder.getName();
-        String targetPath = (targetParentPath == null || targetParentPath.isEmpty() || targetParentPath.equalsIgnoreCase("root"))
-                ? containerName
-                : targetParentPath + "/" + containerName;
+    /**
+     * Re-registers a world whose folder has already been moved and loads it from its new location.
+     * MUST be called on the main thread.
+     */
+    private World registerMovedWorld(String alias, String sourceFullPath, String targetContainer, String targetName) {
+        String targetFullPath = getFullPath(targetContainer, targetName);
 
-        File targetFolder = (targetParentPath == null || targetParentPath.isEmpty() || targetParentPath.equalsIgnoreCase("root"))
-                ? new File(containersFolder, containerName)
-                : new File(containersFolder, targetPath.replace("/", File.separator));
+        // Remove from old config location
+        String oldContainer = getContainerFromPath(sourceFullPath);
+        String oldKey = oldContainer.replace(".", "_") + "_" + alias.replace(".", "_");
+        WorldRecord record;
+        synchronized (configLock) {
+            record = registryStore.get(oldKey);
+            registryStore.remove(oldKey);
+        }
+        String generator = record != null ? record.generator() : null;
+        World.Environment environment = toEnvironment(record);
 
-        if (targetFolder.exists()) return false;
+        // Update aliases and config
+        unregisterAlias(alias);
+        registerAlias(targetName, targetFullPath);
+        lastAccessTime.remove(sourceFullPath);
 
-        // Find all worlds in this container and its sub-containers
-        String prefix = "spycore-worlds/" + sourcePath + "/";
-        Map<String, String> affectedWorlds = worldAliases.entrySet().stream()
-                .filter(entry -> entry.getValue().startsWith(prefix))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        saveWorldToConfig(targetContainer, targetName, false, generator, environment);
 
-        // Unload all affected worlds
-        for (String alias : affectedWorlds.keySet()) {
-            unloadWorld(alias, true);
-        }
+        // Load in new location
+        World world = loadWorldInternal(targetContainer, targetName, generator, environment, null);
 
-        try {
-            // Move the whole container directory
-            FileUtils.moveDirectory(sourceFolder, targetFolder);
+        plugin.getLogger().info("VFS: Moved world '" + alias + "' to '" + targetFullPath + "'");
+        return world;
+    }
 
-            // Update config and aliases for each world
-            synchronized (configLock) {
-                for (Map.Entry<String, String> entry : affectedWorlds.entrySet()) {
-                    String alias = entry.getKey();
-                    String oldFullPath = entry.getValue();
-                    
-                    String oldContainer = getContainerFromPath(oldFullPath);
-                    String oldKey = oldContainer.replace(".", "_") + "_" + alias.replace(".", "_");
-                    String generator = worldsConfig.getString("worlds." + oldKey + ".generator");
-                    String envStr = worldsConfig.getString("worlds." + oldKey + ".environment");
-                    World.Environment environment = envStr != null ? World.Environment.valueOf(envStr) : World.Environment.NORMAL;
-                    worldsConfig.set("worlds." + oldKey, null);
-
-                    String relativeToSource = oldFullPath.replace(prefix, "");
-                    String newFullPath = "spycore-worlds/" + targetPath + "/" + relativeToSource;
-                    String newContainer = getContainerFromPath(newFullPath);
-                    
-                    worldAliases.put(alias, newFullPath);
-                    lastAccessTime.remove(oldFullPath);
-                    saveWorldToConfig(newContainer, alias, false, generator, environment);
-                    
-                    // Reload world in new location
-                    loadWorldInternal(newContainer, alias, generator, environment, null);
-                }
-                
-                try {
-                    worldsConfig.save(worldsConfigFile);
-                } catch (IOException e) {
-                    plugin.getLogger().log(Level.SEVERE, "Could not save worlds.yml after container move", e);
-                }
-            }
-            plugin.getLogger().info("VFS: Moved container '" + sourcePath + "' to '" + targetPath + "'");
-            return true;
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "VFS: Failed to move container '" + sourcePath + "'", e);
-            return false;
-        }
+    // ------------------------------------------------------------------
+    // Asynchronous lifecycle
+    //
+    // Every *Async method stages its file work on the I/O executor and only
+    // hops back to the main thread for Bukkit.createWorld / unloadWorld.
+    // Those main-thread steps go through the WorldOperationQueue, so a burst
+    // of requests is spread over several ticks by priority and container.
+    // The returned future completes with the world on success, or
+    // exceptionally with a WorldOperationException describing the failure.
+    // Stages chained onto it see that exception wrapped in a
+    // CompletionException; WorldOperationException.unwrap strips it.
+    // Dependent stages may run on either the main thread or an I/O thread.
+    // ------------------------------------------------------------------
+
+    public CompletableFuture<World> loadWorldAsync(String container, String worldName) {
+        return loadWorldAsync(container, worldName, null, null, null);
     }
 
-    public void deleteContainer(String containerName) {
-        Set<String> worldsInContainer = worldAliases.entrySet().stream()
-                .filter(entry -> entry.getValue().startsWith("spycore-worlds/" + containerName + "/"))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
+    public CompletableFuture<World> loadWorldAsync(String container, String worldName, String generator, World.Environment environment, Long seed) {
+        return loadWorldAsync(container, worldName, generator, environment, seed, WorldOperationQueue.Priority.NORMAL);
+    }
 
-        synchronized (configLock) {
-            for (String alias : worldsInContainer) {
-                String fullPath = worldAliases.get(alias);
-                unloadWorld(alias, true);
-                worldAliases.remove(alias);
-                lastAccessTime.remove(fullPath);
-                // Remove from config
-                String key = containerName.replace(".", "_") + "_" + alias.replace(".", "_");
-                worldsConfig.set("worlds." + key, null);
+    public CompletableFuture<World> loadWorldAsync(String container, String worldName, String generator, World.Environment environment, Long seed,
+                                                   WorldOperationQueue.Priority priority) {
+        File worldFolder = getWorldFolder(container, worldName);
+        return unwrapped(awaitUnload(getFullPath(container, worldName)).thenCompose(ignored -> plugin.getColdStorageManager().ensureAvailable(getFullPath(container, worldName))).thenCompose(restored -> runIo(() -> {
+            if (!worldFolder.exists()) {
+                throw new WorldOperationException(worldName, "Folder does not exist: " + worldFolder.getAbsolutePath());
             }
-            
-            try {
-                worldsConfig.save(worldsConfigFile);
-                plugin.getLogger().info("VFS: Container '" + containerName + "' unregistered and all worlds unloaded.");
+            return null;
+        })).thenCompose(ignored -> schedule("load " + worldName, getFullPath(container, worldName), priority, () -> {
+            World world = loadWorld(container, worldName, generator, environment, seed);
+            if (world == null) {
+                throw new WorldOperationException(worldName, "Bukkit failed to load the world");
+            }
+            return world;
+        })));
+    }
+
+    /**
+     * Wake a registered world without blocking on its folder checks.
+     * Completes immediately if the world is already loaded, and waits for an in-flight unload to finish first.
+     */
+    public CompletableFuture<World> wakeWorldAsync(String alias) {
+        return wakeWorldAsync(alias, WorldOperationQueue.Priority.NORMAL);
+    }
+
+    public CompletableFuture<World> wakeWorldAsync(String alias, WorldOperationQueue.Priority priority) {
+        String fullPath = resolveFullPath(alias);
+        World loaded = Bukkit.getWorld(fullPath);
+        if (loaded != null && !unloads.containsKey(fullPath)) {
+            lastAccessTime.put(fullPath, System.currentTimeMillis());
+            return CompletableFuture.completedFuture(loaded);
+        }
+
+        File worldFolder = getWorldFolder(fullPath);
+        return unwrapped(awaitUnload(fullPath).thenCompose(ignored -> plugin.getColdStorageManager().ensureAvailable(fullPath)).thenCompose(restored -> runIo(() -> {
+            if (!worldFolder.exists()) {
+                throw new WorldOperationException(alias, "Folder does not exist: " + worldFolder.getAbsolutePath());
+            }
+            return null;
+        })).thenCompose(ignored -> schedule("wake " + alias, fullPath, priority, () -> {
+            World world = getWorld(alias, true);
+            if (world == null) {
+                throw new WorldOperationException(alias, "World is not registered or failed to load");
+            }
+            return world;
+        })));
+    }
+
+    public CompletableFuture<World> createWorldAsync(String container, String worldName, World.Environment environment, String generator, Long seed) {
+        return createWorldAsync(container, worldName, environment, generator, seed, WorldOperationQueue.Priority.NORMAL);
+    }
+
+    public CompletableFuture<World> createWorldAsync(String container, String worldName, World.Environment environment, String generator, Long seed,
+                                                     WorldOperationQueue.Priority priority) {
+        return unwrapped(runIo(() -> {
+            // Ensure nested container directories exist
+            if (container != null && !container.isEmpty() && !container.equalsIgnoreCase("root")) {
+                File folder = new File(containersFolder, container.replace("/", File.separator));
+                if (!folder.exists() && !folder.mkdirs()) {
+                    throw new WorldOperationException(worldName, "Could not create container folder: " + folder.getAbsolutePath());
+                }
+            }
+            return null;
+        }).thenCompose(ignored -> schedule("create " + worldName, getFullPath(container, worldName), priority, () -> {
+            World world = createWorld(container, worldName, environment, generator, seed);
+            if (world == null) {
+                throw new WorldOperationException(worldName, "Bukkit failed to create the world");
+            }
+            return world;
+        })));
+    }
+
+    public CompletableFuture<BatchResult> createWorlds(String container, String namePattern, int count, World.Environment environment, String generator, Long seed) {
+        return createWorlds(container, namePattern, count, environment, generator, seed, WorldOperationQueue.Priority.NORMAL);
+    }
+
+    /**
+     * Create many worlds in one container as a pipeline: every folder is staged on the I/O pool in parallel,
+     * each world is created through the operation queue as soon as its folder is ready, and the registry is
+     * flushed to disk once at the end. Each world is registered before its create event fires, so listeners
+     * can change its settings right away.
+     * A {@link SpyWorldCreateEvent} fires for each world, then one {@link SpyWorldBatchCreateEvent} for the batch.
+     * @param namePattern World name where {@code {n}} is replaced by the index, from 0 to count - 1.
+     *                    Without {@code {n}} the index is appended.
+     * @return A future completing with the batch result once every world is done. Worlds that fail are listed
+     * in {@link BatchResult#failures()} rather than failing the future.
+     */
+    public CompletableFuture<BatchResult> createWorlds(String container, String namePattern, int count, World.Environment environment, String generator, Long seed,
+                                                       WorldOperationQueue.Priority priority) {
+        if (count <= 0) {
+            return CompletableFuture.failedFuture(new WorldOperationException(namePattern, "Batch size must be positive"));
+        }
+        long start = System.nanoTime();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(namePattern.contains("{n}") ? namePattern.replace("{n}", String.valueOf(i)) : namePattern + i);
+        }
+
+        List<CompletableFuture<World>> futures = new ArrayList<>(count);
+        for (String name : names) {
+            File folder = getWorldFolder(container, name);
+            String fullPath = getFullPath(container, name);
+            AtomicBoolean staged = new AtomicBoolean();
+            futures.add(runIo(() -> {
+                if (worldAliases.containsKey(name)) {
+                    throw new WorldOperationException(name, "A world with this name already exists");
+                }
+                if (folder.exists()) {
+                    throw new WorldOperationException(name, "Folder already exists: " + folder.getAbsolutePath());
+                }
+                if (!folder.mkdirs()) {
+                    throw new WorldOperationException(name, "Could not create folder: " + folder.getAbsolutePath());
+                }
+                staged.set(true);
+                return null;
+            }).thenCompose(ignored -> schedule("batch create " + name, fullPath, priority, () -> {
+                World world = createWorld(container, name, environment, generator, seed);
+                if (world == null) {
+                    throw new WorldOperationException(name, "Bukkit failed to create the world");
+                }
+                return world;
+            })).whenComplete((world, error) -> {
+                // Only the folder this batch created is removed, never one that was already there
+                if (error != null && staged.get() && Bukkit.getWorld(fullPath) == null) {
+                    trashBin.discard(folder);
+                }
+            }));
+        }
+
+        return unwrapped(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .handle((ignored, error) -> null)
+                .thenCompose(ignored -> runSync(() -> commitBatch(container, names, futures, start)))
+                .thenCompose(result -> runIo(() -> {
+                    // The records were registered world by world; write them to disk in one go
+                    try {
+                        registryStore.flush();
+                    } catch (IOException e) {
+                        plugin.getLogger().log(Level.SEVERE, "VFS: Could not flush the world registry after a batch, it will be retried", e);
+                    }
+                    return result;
+                })));
+    }
+
+    private BatchResult commitBatch(String container, List<String> names, List<CompletableFuture<World>> futures, long start) {
+        List<World> worlds = new ArrayList<>();
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            try {
+                worlds.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                Throwable cause = WorldOperationException.unwrap(e);
+                failures.put(name, cause.getMessage());
+                plugin.getLogger().warning("VFS: Batch creation of " + name + " failed: " + cause.getMessage());
+            }
+        }
+
+        BatchResult result = new BatchResult(container, worlds, failures, (System.nanoTime() - start) / 1_000_000);
+        plugin.getLogger().info(String.format("VFS: Batch created %d/%d worlds in %s in %dms (%.1f worlds/min)",
+                worlds.size(), names.size(), container == null ? "root" : container, result.millis(), result.worldsPerMinute()));
+        Bukkit.getPluginManager().callEvent(new SpyWorldBatchCreateEvent(container, worlds, failures, result.millis()));
+        return result;
+    }
+
+    /**
+     * Outcome of {@link #createWorlds}.
+     * @param failures Error message per world name that could not be created.
+     * @param millis Time from the call until the batch was committed.
+     */
+    public record BatchResult(String container, List<World> worlds, Map<String, String> failures, long millis) {
+        public double worldsPerMinute() {
+            return millis == 0 ? 0 : worlds.size() * 60_000.0 / millis;
+        }
+    }
+
+    public CompletableFuture<World> cloneWorldAsync(String sourceAlias, String targetContainer, String targetName, String generator) {
+        return cloneWorldAsync(sourceAlias, targetContainer, targetName, generator, WorldOperationQueue.Priority.NORMAL);
+    }
+
+    public CompletableFuture<World> cloneWorldAsync(String sourceAlias, String targetContainer, String targetName, String generator,
+                                                    WorldOperationQueue.Priority priority) {
+        // Read seed and environment without waking the source if it is hibernating
+        String sourceFullPath = resolveFullPath(sourceAlias);
+        World sourceWorld = Bukkit.getWorld(sourceFullPath);
+        Long seed = sourceWorld != null ? sourceWorld.getSeed() : null;
+        World.Environment env = sourceWorld != null ? sourceWorld.getEnvironment() : getConfiguredEnvironment(sourceFullPath);
+
+        return unwrapped(plugin.getColdStorageManager().ensureAvailable(sourceFullPath).thenCompose(restored -> runIo(() -> {
+            if (!copyWorldFiles(sourceAlias, targetContainer, targetName)) {
+                throw new WorldOperationException(targetName, "Failed to copy files from '" + sourceAlias + "'");
+            }
+            return null;
+        })).thenCompose(ignored -> schedule("clone " + targetName, getFullPath(targetContainer, targetName), priority, () -> {
+            World world = loadWorld(targetContainer, targetName, generator, env, seed);
+            if (world == null) {
+                throw new WorldOperationException(targetName, "Bukkit failed to load the cloned world");
+            }
+            return world;
+        })));
+    }
+
+    public CompletableFuture<World> moveWorldAsync(String alias, String targetContainer, String targetName) {
+        String sourceFullPath = worldAliases.get(alias);
+        if (sourceFullPath == null) {
+            return CompletableFuture.failedFuture(new WorldOperationException(alias, "World is not registered"));
+        }
+        File sourceFolder = getWorldFolder(sourceFullPath);
+        File targetFolder = getWorldFolder(targetContainer, targetName);
+
+        return unwrapped(plugin.getColdStorageManager().ensureAvailable(sourceFullPath).thenCompose(restored -> runIo(() -> {
+            if (!sourceFolder.exists()) {
+                throw new WorldOperationException(alias, "Folder does not exist: " + sourceFolder.getAbsolutePath());
+            }
+            if (targetFolder.exists()) {
+                throw new WorldOperationException(alias, "Target folder already exists: " + targetFolder.getAbsolutePath());
+            }
+            return null;
+        })).thenCompose(ignored -> unloadWorldAsync(alias, sourceFullPath, WorldOperationQueue.Priority.NORMAL))
+          .thenCompose(unloaded -> runSync(() -> {
+            // Moving the folder of a world that is still loaded would corrupt it
+            if (Bukkit.getWorld(sourceFullPath) != null) {
+                throw new WorldOperationException(alias, "Could not unload the world before moving it");
+            }
+            return null;
+        })).thenCompose(ignored -> runIo(() -> {
+            try {
+                FileUtils.moveDirectory(sourceFolder, targetFolder);
+            } catch (IOException e) {
+                throw new WorldOperationException(alias, "Failed to move world files", e);
+            }
+            return null;
+        })).thenCompose(ignored -> schedule("move " + alias, getFullPath(targetContainer, targetName), WorldOperationQueue.Priority.NORMAL, () -> {
+            World world = registerMovedWorld(alias, sourceFullPath, targetContainer, targetName);
+            if (world == null) {
+                throw new WorldOperationException(targetName, "Bukkit failed to load the moved world");
+            }
+            return world;
+        })));
+    }
+
+    public CompletableFuture<Void> deleteWorldAsync(String alias) {
+        String fullPath = resolveFullPath(alias);
+        return unwrapped(schedule("unload " + alias, fullPath, WorldOperationQueue.Priority.NORMAL, () -> {
+            boolean unloaded = unloadWorld(fullPath, false);
+            if (!unloaded && Bukkit.getWorld(fullPath) != null) {
+                throw new WorldOperationException(alias, "Failed to unload world before deletion");
+            }
+            return null;
+        }).thenCompose(ignored -> runIo(() -> {
+            if (!deleteWorldFiles(fullPath)) {
+                throw new WorldOperationException(alias, "Failed to delete world files");
+            }
+            return null;
+        })));
+    }
+
+    /**
+     * Restore a registered world to a fresh copy of its source without unregistering it.
+     * Players are moved out, the world is unloaded without saving, its folder is replaced
+     * by a copy of the source on an I/O thread and the world is loaded again.
+     */
+    public CompletableFuture<World> resetWorldAsync(String alias, String sourceAlias) {
+        return resetWorldAsync(alias, sourceAlias, WorldOperationQueue.Priority.NORMAL);
+    }
+
+    public CompletableFuture<World> resetWorldAsync(String alias, String sourceAlias, WorldOperationQueue.Priority priority) {
+        String fullPath = resolveFullPath(alias);
+        String container = getContainerFromPath(fullPath);
+        String worldName = getAliasFromPath(fullPath);
+        File worldFolder = getWorldFolder(fullPath);
+
+        return unwrapped(schedule("unload " + alias, fullPath, priority, () -> {
+            World world = Bukkit.getWorld(fullPath);
+            if (world != null) {
+                evacuatePlayers(world);
+                if (!unloadWorld(fullPath, false)) {
+                    throw new WorldOperationException(alias, "Failed to unload world before reset");
+                }
+            }
+            return null;
+        }).thenCompose(ignored -> runIo(() -> {
+            if (!trashBin.discard(worldFolder)) {
+                throw new WorldOperationException(alias, "Failed to clear world folder before reset");
+            }
+            if (!copyWorldFiles(sourceAlias, container, worldName)) {
+                throw new WorldOperationException(alias, "Failed to copy files from '" + sourceAlias + "'");
+            }
+            return null;
+        })).thenCompose(ignored -> schedule("reset " + alias, fullPath, priority, () -> {
+            World world = getWorld(fullPath, true);
+            if (world == null) {
+                throw new WorldOperationException(alias, "Bukkit failed to load the reset world");
+            }
+            return world;
+        })));
+    }
+
+    /**
+     * Teleport every player in the world to the spawn of the server's main world.
+     * MUST be called on the main thread.
+     */
+    public void evacuatePlayers(World world) {
+        World fallback = Bukkit.getWorlds().get(0);
+        if (fallback.equals(world)) return;
+
+        for (org.bukkit.entity.Player player : world.getPlayers()) {
+            player.teleport(fallback.getSpawnLocation());
+        }
+    }
+
+    /**
+     * Run a task on the main thread. Runs inline if already on the main thread.
+     */
+    public <T> CompletableFuture<T> runSync(Supplier<T> task) {
+        if (Bukkit.isPrimaryThread()) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (Throwable t) {
+                return CompletableFuture.failedFuture(t);
+            }
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                try {
+                    future.complete(task.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (IllegalStateException e) {
+            // Plugin is disabled; the scheduler no longer accepts tasks
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Queue a world operation for the main thread. Unlike {@link #runSync(Supplier)} it never runs inline;
+     * the {@link WorldOperationQueue} runs it once the current tick has budget left.
+     * @param fullPath World the operation targets; its container decides whose turn it is.
+     */
+    public <T> CompletableFuture<T> schedule(String label, String fullPath, WorldOperationQueue.Priority priority, Supplier<T> task) {
+        return operationQueue.submit(label, getContainerFromPath(fullPath), priority, task);
+    }
+
+    /**
+     * Run a file-system task on the dedicated I/O executor.
+     * A failure completes the future with the exception the task threw, not wrapped in a {@link CompletionException}.
+     */
+    public <T> CompletableFuture<T> runIo(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            ioExecutor.execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Plugin is disabled; the executor no longer accepts tasks
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * The same outcome as the given pipeline, with the {@link CompletionException} its dependent stages wrap
+     * failures in removed, so callers get the {@link WorldOperationException} itself.
+     */
+    public static <T> CompletableFuture<T> unwrapped(CompletableFuture<T> pipeline) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        pipeline.whenComplete((value, error) -> {
+            if (error != null) {
+                future.completeExceptionally(WorldOperationException.unwrap(error));
+            } else {
+                future.complete(value);
+            }
+        });
+        return future;
+    }
+
+    public boolean moveContainer(String sourcePath, String targetParentPath) {
+        File sourceFolder = new File(containersFolder, sourcePath.replace("/", File.separator));
+        if (!sourceFolder.exists() || !sourceFolder.isDirectory()) return false;
+
+        String containerName = sourceFolder.getName();
+        String targetPath = (targetParentPath == null || targetParentPath.isEmpty() || targetParentPath.equalsIgnoreCase("root"))
+                ? containerName
+                : targetParentPath + "/" + containerName;
+
+        File targetFolder = (targetParentPath == null || targetParentPath.isEmpty() || targetParentPath.equalsIgnoreCase("root"))
+                ? new File(containersFolder, containerName)
+                : new File(containersFolder, targetPath.replace("/", File.separator));
+
+        if (targetFolder.exists()) return false;
+
+        // Find all worlds in this container and its sub-containers
+        String prefix = "spycore-worlds/" + sourcePath + "/";
+        Map<String, String> affectedWorlds = worldAliases.entrySet().stream()
+                .filter(entry -> entry.getValue().startsWith(prefix))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        // Unload all affected worlds
+        for (String alias : affectedWorlds.keySet()) {
+            unloadWorld(alias, true);
+        }
+
+        try {
+            // Move the whole container directory
+            FileUtils.moveDirectory(sourceFolder, targetFolder);
+            registerMovedContainer(sourcePath, targetPath, affectedWorlds);
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "VFS: Failed to move container '" + sourcePath + "'", e);
+            return false;
+        }
+    }
+
+    /**
+     * Move a container without blocking the main thread. Its worlds go through the save-then-unload pipeline,
+     * the folder is moved on the I/O executor, and the worlds are re-registered and loaded from their new
+     * location on the main thread.
+     * @return A future completing once the container is moved, or exceptionally with a {@link WorldOperationException}.
+     */
+    public CompletableFuture<Void> moveContainerAsync(String sourcePath, String targetParentPath) {
+        File sourceFolder = new File(containersFolder, sourcePath.replace("/", File.separator));
+        String containerName = sourceFolder.getName();
+        String targetPath = (targetParentPath == null || targetParentPath.isEmpty() || targetParentPath.equalsIgnoreCase("root"))
+                ? containerName
+                : targetParentPath + "/" + containerName;
+        File targetFolder = new File(containersFolder, targetPath.replace("/", File.separator));
+
+        // Find all worlds in this container and its sub-containers
+        String prefix = "spycore-worlds/" + sourcePath + "/";
+        Map<String, String> affectedWorlds = worldAliases.entrySet().stream()
+                .filter(entry -> entry.getValue().startsWith(prefix))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        return unwrapped(runIo(() -> {
+            if (!sourceFolder.isDirectory()) {
+                throw new WorldOperationException(sourcePath, "Container does not exist: " + sourceFolder.getAbsolutePath());
+            }
+            if (targetFolder.exists()) {
+                throw new WorldOperationException(sourcePath, "Target folder already exists: " + targetFolder.getAbsolutePath());
+            }
+            return null;
+        }).thenCompose(ignored -> {
+            List<CompletableFuture<Boolean>> unloading = new ArrayList<>();
+            for (Map.Entry<String, String> entry : affectedWorlds.entrySet()) {
+                unloading.add(unloadWorldAsync(entry.getKey(), entry.getValue(), WorldOperationQueue.Priority.NORMAL));
+            }
+            return CompletableFuture.allOf(unloading.toArray(new CompletableFuture[0]));
+        }).thenCompose(ignored -> runSync(() -> {
+            // Moving the folder while one of its worlds is still loaded would corrupt that world
+            for (String fullPath : affectedWorlds.values()) {
+                if (Bukkit.getWorld(fullPath) != null) {
+                    throw new WorldOperationException(sourcePath, "Could not unload '" + fullPath + "' before moving the container");
+                }
+            }
+            return null;
+        })).thenCompose(ignored -> runIo(() -> {
+            try {
+                FileUtils.moveDirectory(sourceFolder, targetFolder);
             } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not save worlds.yml after container deletion", e);
+                throw new WorldOperationException(sourcePath, "Failed to move container files", e);
             }
+            return null;
+        })).thenCompose(ignored -> runSync(() -> {
+            registerMovedContainer(sourcePath, targetPath, affectedWorlds);
+            return null;
+        })));
+    }
+
+    /**
+     * Re-registers the worlds of a container whose folder has already been moved and loads them from their
+     * new location. MUST be called on the main thread.
+     * @param affectedWorlds Alias to old full path of every world in the container and its sub-containers.
+     */
+    private void registerMovedContainer(String sourcePath, String targetPath, Map<String, String> affectedWorlds) {
+        String prefix = "spycore-worlds/" + sourcePath + "/";
+        synchronized (configLock) {
+            for (Map.Entry<String, String> entry : affectedWorlds.entrySet()) {
+                String alias = entry.getKey();
+                String oldFullPath = entry.getValue();
+
+                String oldContainer = getContainerFromPath(oldFullPath);
+                String oldKey = oldContainer.replace(".", "_") + "_" + alias.replace(".", "_");
+                WorldRecord record = registryStore.get(oldKey);
+                String generator = record != null ? record.generator() : null;
+                World.Environment environment = toEnvironment(record);
+                registryStore.remove(oldKey);
+
+                String relativeToSource = oldFullPath.replace(prefix, "");
+                String newFullPath = "spycore-worlds/" + targetPath + "/" + relativeToSource;
+                String newContainer = getContainerFromPath(newFullPath);
+
+                registerAlias(alias, newFullPath);
+                lastAccessTime.remove(oldFullPath);
+                saveWorldToConfig(newContainer, alias, false, generator, environment);
+
+                // Reload world in new location
+                loadWorldInternal(newContainer, alias, generator, environment, null);
+            }
+        }
+        plugin.getLogger().info("VFS: Moved container '" + sourcePath + "' to '" + targetPath + "'");
+    }
+
+    /**
+     * Unload every world in a container through the save-then-unload pipeline, unregistering each one once
+     * its unload has finished. A world that could not be unloaded stays registered.
+     * @return A future completing once every world of the container has been handled.
+     */
+    public CompletableFuture<Void> deleteContainer(String containerName) {
+        List<CompletableFuture<Boolean>> removing = new ArrayList<>();
+        for (Map.Entry<String, String> entry : getWorldsInContainer(containerName).entrySet()) {
+            String alias = entry.getKey();
+            String fullPath = entry.getValue();
+            removing.add(unloadWorldAsync(alias, fullPath, WorldOperationQueue.Priority.NORMAL).thenCompose(unloaded -> runSync(() -> {
+                if (Bukkit.getWorld(fullPath) != null) {
+                    plugin.getLogger().warning("VFS: Could not unload '" + fullPath + "', it stays registered.");
+                    return false;
+                }
+                synchronized (configLock) {
+                    unregisterWorld(alias, fullPath);
+                }
+                return true;
+            })));
         }
+        return unwrapped(CompletableFuture.allOf(removing.toArray(new CompletableFuture[0]))
+                .thenRun(() -> plugin.getLogger().info("VFS: Container '" + containerName + "' unregistered and its worlds unloaded.")));
+    }
+
+    /**
+     * Remove the aliases and registry records of every world in a container.
+     * @return Full path per alias of the worlds that were unregistered; they are still loaded.
+     */
+    private Map<String, String> unregisterContainer(String containerName) {
+        Map<String, String> worldsInContainer = getWorldsInContainer(containerName);
+        synchronized (configLock) {
+            for (Map.Entry<String, String> entry : worldsInContainer.entrySet()) {
+                unregisterWorld(entry.getKey(), entry.getValue());
+            }
+        }
+        return worldsInContainer;
+    }
+
+    private Map<String, String> getWorldsInContainer(String containerName) {
+        return worldAliases.entrySet().stream()
+                .filter(entry -> entry.getValue().startsWith("spycore-worlds/" + containerName + "/"))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * MUST be called while holding configLock.
+     */
+    private void unregisterWorld(String alias, String fullPath) {
+        unregisterAlias(alias);
+        lastAccessTime.remove(fullPath);
+        // Remove from config
+        registryStore.remove(getConfigKey(fullPath));
     }
 
     public String getContainerForWorld(World world) {
         String worldName = world.getName();
+        WorldKey indexed = pathIndex.get(worldName);
+        if (indexed != null) return indexed.container();
+
         if (worldName.startsWith("spycore-worlds/")) {
             String path = worldName.replace("spycore-worlds/", "");
             int lastSlash = path.lastIndexOf("/");
@@ -815,15 +1592,13 @@ public class WorldManager {
     }
 
     public String getAliasForWorld(World world) {
-        String worldName = world.getName();
-        
-        // Try to find the alias from the map first
-        for (Map.Entry<String, String> entry : worldAliases.entrySet()) {
-            if (entry.getValue().equals(worldName)) {
-                return entry.getKey();
-            }
-        }
-        
+        return getAliasForWorld(world.getName());
+    }
+
+    public String getAliasForWorld(String worldName) {
+        WorldKey indexed = pathIndex.get(worldName);
+        if (indexed != null) return indexed.alias();
+
         // Fallback to extraction if not in map
         if (worldName.startsWith("spycore-worlds/")) {
             String path = worldName.replace("spycore-worlds/", "");
@@ -836,72 +1611,101 @@ public class WorldManager {
         return worldName;
     }
 
+    /**
+     * Map an alias to a world. Every alias mutation MUST go through here or {@link #unregisterAlias(String)}
+     * so the reverse index stays in sync.
+     */
+    private String registerAlias(String alias, String fullPath) {
+        String previous = worldAliases.put(alias, fullPath);
+        if (previous != null && !previous.equals(fullPath)) {
+            pathIndex.computeIfPresent(previous, (path, key) -> key.alias().equals(alias) ? null : key);
+        }
+        pathIndex.put(fullPath, new WorldKey(alias, getContainerFromPath(fullPath)));
+        if (!worldSettings.containsKey(fullPath)) {
+            // Read outside computeIfAbsent, so the config lock is never taken while holding a map bin
+            worldSettings.putIfAbsent(fullPath, readSettings(fullPath));
+        }
+        return previous;
+    }
+
+    private String unregisterAlias(String alias) {
+        String fullPath = worldAliases.remove(alias);
+        if (fullPath != null) {
+            pathIndex.computeIfPresent(fullPath, (path, key) -> key.alias().equals(alias) ? null : key);
+            worldSettings.remove(fullPath);
+        }
+        return fullPath;
+    }
+
+    private record WorldKey(String alias, String container) {
+    }
+
     private void saveWorldToConfig(String container, String worldName, boolean hibernate, String generator, World.Environment environment) {
         String safeContainer = container == null ? "root" : container;
         String key = safeContainer.replace(".", "_") + "_" + worldName.replace(".", "_");
         
         synchronized (configLock) {
-            worldsConfig.set("worlds." + key + ".container", container);
-            worldsConfig.set("worlds." + key + ".name", worldName);
-            worldsConfig.set("worlds." + key + ".hibernate", false); // Force hibernate false by default
-            if (generator != null && !generator.isEmpty()) {
-                worldsConfig.set("worlds." + key + ".generator", generator);
-            }
-            if (environment != null) {
-                worldsConfig.set("worlds." + key + ".environment", environment.name());
-            }
-            try {
-                worldsConfig.save(worldsConfigFile);
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not save worlds.yml", e);
-            }
+            registryStore.update(key, registration(container, worldName, generator, environment));
         }
     }
 
+    private UnaryOperator<WorldRecord> registration(String container, String worldName, String generator, World.Environment environment) {
+        return current -> {
+            WorldRecord base = current != null ? current : WorldRecord.of(container, worldName);
+            // Force hibernate false by default; keep the stored generator, environment, settings and safe spawn unless replaced
+            return new WorldRecord(container, worldName, false,
+                    generator != null && !generator.isEmpty() ? generator : base.generator(),
+                    environment != null ? environment.name() : base.environment(),
+                    base.settings(), base.safeSpawn());
+        };
+    }
+
+    /**
+     * Run one hibernation pass. Idle worlds are tracked and queued by the {@link HibernationManager},
+     * so this only unloads worlds that are already due.
+     */
     public void checkHibernation() {
-        long now = System.currentTimeMillis();
-        long threshold = 10 * 60 * 1000; // 10 minutes
+        plugin.getHibernationManager().processQueue();
+    }
 
-        for (Map.Entry<String, String> entry : worldAliases.entrySet()) {
-            String alias = entry.getKey();
-            String fullPath = entry.getValue();
-            
-            // Skip whitelisted worlds
-            if (hibernationWhitelist.contains(alias)) {
-                continue;
-            }
+    /**
+     * Mark a world as accessed now, restarting its hibernation timer.
+     */
+    public void touch(String fullPath) {
+        lastAccessTime.put(fullPath, System.currentTimeMillis());
+    }
 
-            World world = Bukkit.getWorld(fullPath);
-            
-            if (world != null) {
-                // Check if this world or any of its linked worlds have players
-                boolean hasPlayers = !world.getPlayers().isEmpty();
-                
-                if (!hasPlayers) {
-                    Set<String> linked = linkedWorlds.get(fullPath);
-                    if (linked != null) {
-                        for (String otherPath : linked) {
-                            World other = Bukkit.getWorld(otherPath);
-                            if (other != null && !other.getPlayers().isEmpty()) {
-                                hasPlayers = true;
-                                break;
-                            }
-                        }
-                    }
-                }
+    /**
+     * Get the last time a world was accessed. Worlds that were never accessed through SpyCore count as accessed now.
+     */
+    public long getLastAccessTime(String fullPath) {
+        return lastAccessTime.computeIfAbsent(fullPath, k -> System.currentTimeMillis());
+    }
 
-                if (!hasPlayers) {
-                    Long lastAccess = lastAccessTime.get(fullPath);
-                    if (lastAccess != null && (now - lastAccess) > threshold) {
-                        unloadWorld(entry.getKey(), true);
-                        plugin.getLogger().info("VFS: Hibernating world " + fullPath + " due to inactivity.");
-                    }
-                } else {
-                    // Update last access time if players are present in the set
-                    lastAccessTime.put(fullPath, now);
-                }
-            }
+    /**
+     * Get the names of all worlds linked to the given world.
+     */
+    public Set<String> getLinkedWorlds(String worldName) {
+        Set<String> linked = linkedWorlds.get(worldName);
+        return linked != null ? java.util.Collections.unmodifiableSet(linked) : java.util.Collections.emptySet();
+    }
+
+    /**
+     * Get the aliases of loaded worlds that could be evicted, least recently used first.
+     * Whitelisted worlds, leased pool instances and worlds whose linked group has players are excluded.
+     */
+    public List<String> getEvictionCandidates() {
+        HibernationManager hibernation = plugin.getHibernationManager();
+        WorldPoolManager pools = plugin.getWorldPoolManager();
+        List<String> candidates = new ArrayList<>();
+        for (Map.Entry<String, String> entry : worldAliases.entrySet()) {
+            World world = Bukkit.getWorld(entry.getValue());
+            if (world == null || isWorldWhitelisted(entry.getKey())) continue;
+            if (hibernation.isGroupOccupied(entry.getValue()) || pools.isLeased(world)) continue;
+            candidates.add(entry.getKey());
         }
+        candidates.sort(java.util.Comparator.comparingLong(alias -> getLastAccessTime(worldAliases.get(alias))));
+        return candidates;
     }
 
     public void linkWorlds(World world1, World world2) {
@@ -952,91 +1756,178 @@ public class WorldManager {
     }
 
     public void shutdown() {
-        // Unload all managed worlds
-        for (String alias : worldAliases.keySet()) {
-            unloadWorld(alias, true);
+        memoryMonitor.shutdown();
+        operationQueue.shutdown();
+        chunkFlusher.shutdown();
+
+        // Get the registry on disk while the worlds are saved on the main thread
+        CompletableFuture<Void> registryFlush = CompletableFuture.runAsync(() -> {
+            try {
+                registryStore.flush();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "VFS: Could not flush the world registry during shutdown", e);
+            }
+        }, ioExecutor);
+
+        // Unload all managed worlds, most important first, within the shutdown deadline
+        new ShutdownCoordinator(plugin, this, chunkFlusher).unloadAll(new HashMap<>(worldAliases));
+
+        // Write out whatever changed since; this blocks until the registry is on disk
+        registryFlush.join();
+        registryStore.close();
+
+        worldCopier.shutdown();
+        trashBin.shutdown();
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("VFS: I/O executor did not finish pending file operations in time.");
+                ioExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            ioExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * Find a safe standing spot near the world's spawn. Loads the chunks it needs synchronously.
+     * Prefer {@link #findSafeLocationAsync(World)}, which loads and scans them off the main thread.
+     * MUST be called from the main thread.
+     */
     public Location findSafeLocation(World world) {
         // The End spawn is already fine by default
         if (world.getEnvironment() == World.Environment.THE_END) {
             return world.getSpawnLocation().add(0.5, 0, 0.5);
         }
 
+        Location cached = getCachedSafeLocation(world);
+        if (cached != null) return cached;
+
         Location spawn = world.getSpawnLocation();
-        int spawnX = spawn.getBlockX();
-        int spawnZ = spawn.getBlockZ();
-        
-        // 1. For Overworld, try the highest block first (very fast)
-        if (world.getEnvironment() == World.Environment.NORMAL) {
-            int highestY = world.getHighestBlockYAt(spawnX, spawnZ);
-            Block b = world.getBlockAt(spawnX, highestY + 1, spawnZ);
-            if (isSafe(b)) return b.getLocation().add(0.5, 0, 0.5);
-        }
-
-        // 2. Search a smaller area (9x9 instead of 17x17) and optimize Y scan
-        int radius = 4;
-        for (int x = -radius; x <= radius; x++) {
-            for (int z = -radius; z <= radius; z++) {
-                int currX = spawnX + x;
-                int currZ = spawnZ + z;
-
-                if (world.getEnvironment() == World.Environment.NETHER) {
-                    // For Nether, scan downwards from just below the ceiling
-                    for (int y = 120; y > 32; y--) {
-                        Block b = world.getBlockAt(currX, y, currZ);
-                        if (isSafe(b)) return b.getLocation().add(0.5, 0, 0.5);
-                    }
-                } else {
-                    // For Overworld/others, check around the highest block
-                    int surfaceY = world.getHighestBlockYAt(currX, currZ);
-                    // Scan a small range around the surface
-                    for (int y = surfaceY + 5; y > surfaceY - 10; y--) {
-                        if (y < world.getMinHeight() + 1 || y > world.getMaxHeight() - 2) continue;
-                        Block b = world.getBlockAt(currX, y, currZ);
-                        if (isSafe(b)) return b.getLocation().add(0.5, 0, 0.5);
-                    }
-                }
-            }
+        Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+        for (long key : SafeLocationSearch.chunksAround(spawn.getBlockX(), spawn.getBlockZ())) {
+            snapshots.put(key, world.getChunkAt(SafeLocationSearch.chunkX(key), SafeLocationSearch.chunkZ(key)).getChunkSnapshot(true, false, false));
         }
-        
-        // Fallback for Overworld: highest block
-        if (world.getEnvironment() == World.Environment.NORMAL) {
-            int highestY = world.getHighestBlockYAt(spawnX, spawnZ);
-            return new Location(world, spawnX + 0.5, highestY + 1, spawnZ + 0.5);
+        Location safe = SafeLocationSearch.find(world, spawn, snapshots);
+        cacheSafeLocation(world, spawn, safe);
+        return safe.clone();
+    }
+
+    /**
+     * Find a safe standing spot near the world's spawn without blocking the main thread.
+     * The chunks are loaded asynchronously, snapshotted on the main thread and scanned on the I/O executor.
+     */
+    public CompletableFuture<Location> findSafeLocationAsync(World world) {
+        if (world.getEnvironment() == World.Environment.THE_END) {
+            return CompletableFuture.completedFuture(world.getSpawnLocation().add(0.5, 0, 0.5));
         }
-        
-        return spawn.clone().add(0.5, 0, 0.5);
+
+        Location cached = getCachedSafeLocation(world);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        Location spawn = world.getSpawnLocation();
+        Set<Long> keys = SafeLocationSearch.chunksAround(spawn.getBlockX(), spawn.getBlockZ());
+        List<CompletableFuture<org.bukkit.Chunk>> chunks = new ArrayList<>();
+        for (long key : keys) {
+            chunks.add(world.getChunkAtAsync(SafeLocationSearch.chunkX(key), SafeLocationSearch.chunkZ(key)));
+        }
+
+        return unwrapped(CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> runSync(() -> {
+                    Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+                    for (CompletableFuture<org.bukkit.Chunk> chunk : chunks) {
+                        org.bukkit.Chunk loaded = chunk.join();
+                        snapshots.put(SafeLocationSearch.key(loaded.getX(), loaded.getZ()), loaded.getChunkSnapshot(true, false, false));
+                    }
+                    return snapshots;
+                }))
+                .thenCompose(snapshots -> runIo(() -> SafeLocationSearch.find(world, spawn, snapshots)))
+                .thenApply(safe -> {
+                    cacheSafeLocation(world, spawn, safe);
+                    return safe.clone();
+                }));
     }
 
-    private boolean isSafe(Block block) {
-        Material foot = block.getType();
-        Material head = block.getRelative(0, 1, 0).getType();
-        Material ground = block.getRelative(0, -1, 0).getType();
+    /**
+     * Get the last safe location found for the world, if its spawn has not moved since.
+     * Falls back to the location persisted in worlds.yml, so lookups stay O(1) across restarts.
+     */
+    public Location getCachedSafeLocation(World world) {
+        Location spawn = world.getSpawnLocation();
+        SafeSpawn cached = getSafeSpawn(world);
+        if (cached == null) return null;
+        if (cached.spawnX() != spawn.getBlockX() || cached.spawnY() != spawn.getBlockY() || cached.spawnZ() != spawn.getBlockZ()) {
+            return null;
+        }
+        return cached.safe().clone();
+    }
 
-        // Check if the space is clear (not suffocating)
-        if (foot != Material.AIR && foot != Material.CAVE_AIR) return false;
-        if (head != Material.AIR && head != Material.CAVE_AIR) return false;
+    /**
+     * Forget the safe location of a world, e.g. after blocks near its spawn changed.
+     * Clears the persisted location too, which may exist without an in-memory entry after a restart or wake.
+     */
+    public void invalidateSafeLocation(World world) {
+        safeLocations.remove(world.getName());
 
-        // Check if the ground is solid and safe to stand on
-        if (!ground.isSolid()) return false;
-        
-        // Exclude harmful blocks
-        switch (ground) {
-            case LAVA:
-            case WATER:
-            case POWDER_SNOW:
-            case MAGMA_BLOCK:
-            case POINTED_DRIPSTONE:
-            case CACTUS:
-            case SWEET_BERRY_BUSH:
-            case FIRE:
-            case SOUL_FIRE:
-            case WITHER_ROSE:
-                return false;
-            default:
-                return true;
+        String key = getConfigKey(world.getName());
+        registryStore.update(key, record -> record == null || record.safeSpawn() == null ? record : record.withSafeSpawn(null));
+    }
+
+    /**
+     * Check whether a block lies in one of the columns the cached safe-location search of its world read.
+     */
+    public boolean isInSafeSpawnArea(World world, int blockX, int blockZ) {
+        SafeSpawn cached = getSafeSpawn(world);
+        if (cached == null) return false;
+        return Math.abs(blockX - cached.spawnX()) <= SafeLocationSearch.RADIUS && Math.abs(blockZ - cached.spawnZ()) <= SafeLocationSearch.RADIUS;
+    }
+
+    /**
+     * Move the world's spawn to a resolved safe location and cache it under the new spawn.
+     * MUST be called from the main thread.
+     */
+    public void applySafeSpawn(World world, Location safe) {
+        world.setSpawnLocation(safe);
+        cacheSafeLocation(world, world.getSpawnLocation(), safe);
+    }
+
+    private void cacheSafeLocation(World world, Location spawn, Location safe) {
+        // Skip worlds unloaded while the search ran, so the cache never pins an unloaded world
+        if (Bukkit.getWorld(world.getName()) == null) return;
+        SafeSpawn entry = new SafeSpawn(spawn.getBlockX(), spawn.getBlockY(), spawn.getBlockZ(), safe.clone());
+        safeLocations.put(world.getName(), entry);
+
+        String key = getConfigKey(world.getName());
+        WorldRecord.StoredSpawn stored = new WorldRecord.StoredSpawn(entry.spawnX(), entry.spawnY(), entry.spawnZ(), safe.getX(), safe.getY(), safe.getZ());
+        // Only registered worlds are persisted
+        registryStore.update(key, record -> record == null ? null : record.withSafeSpawn(stored));
+    }
+
+    /**
+     * The in-memory safe spawn of a world, loaded from its record when the cache was cleared by a restart or unload.
+     */
+    private SafeSpawn getSafeSpawn(World world) {
+        SafeSpawn cached = safeLocations.get(world.getName());
+        if (cached == null) {
+            cached = readSafeSpawn(world);
+            if (cached == null) return null;
+            safeLocations.put(world.getName(), cached);
         }
+        return cached;
+    }
+
+    private SafeSpawn readSafeSpawn(World world) {
+        WorldRecord record = registryStore.get(getConfigKey(world.getName()));
+        if (record == null || record.safeSpawn() == null) return null;
+        WorldRecord.StoredSpawn stored = record.safeSpawn();
+        return new SafeSpawn(stored.spawnX(), stored.spawnY(), stored.spawnZ(), new Location(world, stored.x(), stored.y(), stored.z()));
+    }
+
+    private String getConfigKey(String fullPath) {
+        return getContainerFromPath(fullPath).replace(".", "_") + "_" + getAliasFromPath(fullPath).replace(".", "_");
+    }
+
+    private record SafeSpawn(int spawnX, int spawnY, int spawnZ, Location safe) {
     }
 }
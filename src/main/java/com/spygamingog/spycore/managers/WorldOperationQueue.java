@@ -0,0 +1,228 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs main-thread world operations (create, load, unload) under a per-tick time budget,
+ * so a burst of requests is spread over several ticks instead of stacking into one.
+ * <p>
+ * Operations run in {@link Priority} order. Within a priority, containers take turns, so one container
+ * spinning up many arenas cannot starve the others. Each tick runs operations until
+ * {@code operations.tick-budget-ms} is spent, but always at least one, since a single world load can
+ * take longer than the whole budget.
+ * Operations may be submitted from any thread; they always run on the main thread.
+ */
+public class WorldOperationQueue {
+    private static final int HISTORY = 20;
+
+    private final SpyCore plugin;
+    private final long budgetNanos;
+
+    // Per priority, pending operations by container in turn order
+    private final Map<Priority, LinkedHashMap<String, Deque<Operation<?>>>> pending = new EnumMap<>(Priority.class);
+    private final Deque<Timing> history = new ArrayDeque<>();
+    private BukkitTask ticker;
+    private int size;
+
+    private long executed;
+    private long failed;
+    private long runNanos;
+    private long waitNanos;
+    private long maxRunNanos;
+    private long overBudgetTicks;
+
+    public WorldOperationQueue(SpyCore plugin) {
+        this.plugin = plugin;
+        this.budgetNanos = Math.max(1, plugin.getConfig().getLong("operations.tick-budget-ms", 20)) * 1_000_000L;
+        for (Priority priority : Priority.values()) {
+            pending.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Queue an operation for the main thread.
+     * @param label Short description shown in {@code /spy queue}, e.g. "create arena_3".
+     * @param container Container the world belongs to, used for fair sharing; "root" for root worlds.
+     */
+    public <T> CompletableFuture<T> submit(String label, String container, Priority priority, Supplier<T> task) {
+        Operation<T> operation = new Operation<>(label, container, priority, task);
+        synchronized (this) {
+            pending.get(priority).computeIfAbsent(container, key -> new ArrayDeque<>()).add(operation);
+            size++;
+            if (ticker == null) {
+                try {
+                    ticker = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+                } catch (IllegalStateException e) {
+                    // Plugin is disabled; the scheduler no longer accepts tasks
+                    remove(operation);
+                    operation.future.completeExceptionally(e);
+                }
+            }
+        }
+        return operation.future;
+    }
+
+    /**
+     * Fail every queued operation, e.g. on shutdown.
+     */
+    public void shutdown() {
+        List<Operation<?>> dropped = new ArrayList<>();
+        synchronized (this) {
+            if (ticker != null) {
+                ticker.cancel();
+                ticker = null;
+            }
+            for (LinkedHashMap<String, Deque<Operation<?>>> containers : pending.values()) {
+                containers.values().forEach(dropped::addAll);
+                containers.clear();
+            }
+            size = 0;
+        }
+        for (Operation<?> operation : dropped) {
+            operation.future.completeExceptionally(new IllegalStateException("Plugin is shutting down"));
+        }
+    }
+
+    public synchronized Stats getStats() {
+        Map<Priority, Integer> byPriority = new EnumMap<>(Priority.class);
+        Map<String, Integer> byContainer = new LinkedHashMap<>();
+        for (Map.Entry<Priority, LinkedHashMap<String, Deque<Operation<?>>>> entry : pending.entrySet()) {
+            int count = 0;
+            for (Map.Entry<String, Deque<Operation<?>>> container : entry.getValue().entrySet()) {
+                count += container.getValue().size();
+                byContainer.merge(container.getKey(), container.getValue().size(), Integer::sum);
+            }
+            byPriority.put(entry.getKey(), count);
+        }
+        return new Stats(budgetNanos / 1_000_000, size, byPriority, byContainer, executed, failed,
+                executed == 0 ? 0 : runNanos / executed / 1_000_000.0,
+                executed == 0 ? 0 : waitNanos / executed / 1_000_000.0,
+                maxRunNanos / 1_000_000, overBudgetTicks, new ArrayList<>(history));
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        do {
+            Operation<?> operation;
+            synchronized (this) {
+                operation = next();
+                if (operation == null) break;
+            }
+            run(operation);
+        } while (System.nanoTime() < deadline);
+
+        boolean overBudget = System.nanoTime() - start > budgetNanos;
+        synchronized (this) {
+            if (overBudget) overBudgetTicks++;
+            if (size == 0 && ticker != null) {
+                ticker.cancel();
+                ticker = null;
+            }
+        }
+    }
+
+    /**
+     * Take the next operation: highest priority first, then the container whose turn it is.
+     * The chosen container moves to the back of the turn order.
+     */
+    private Operation<?> next() {
+        for (LinkedHashMap<String, Deque<Operation<?>>> containers : pending.values()) {
+            Iterator<Map.Entry<String, Deque<Operation<?>>>> iterator = containers.entrySet().iterator();
+            if (!iterator.hasNext()) continue;
+
+            Map.Entry<String, Deque<Operation<?>>> turn = iterator.next();
+            iterator.remove();
+            Operation<?> operation = turn.getValue().poll();
+            if (!turn.getValue().isEmpty()) {
+                containers.put(turn.getKey(), turn.getValue());
+            }
+            size--;
+            return operation;
+        }
+        return null;
+    }
+
+    private void remove(Operation<?> operation) {
+        Deque<Operation<?>> queue = pending.get(operation.priority).get(operation.container);
+        if (queue != null && queue.remove(operation)) {
+            size--;
+            if (queue.isEmpty()) {
+                pending.get(operation.priority).remove(operation.container);
+            }
+        }
+    }
+
+    private <T> void run(Operation<T> operation) {
+        long start = System.nanoTime();
+        boolean success = true;
+        try {
+            operation.future.complete(operation.task.get());
+        } catch (Throwable t) {
+            success = false;
+            operation.future.completeExceptionally(t);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        synchronized (this) {
+            executed++;
+            if (!success) failed++;
+            runNanos += elapsed;
+            waitNanos += start - operation.queuedAt;
+            maxRunNanos = Math.max(maxRunNanos, elapsed);
+            history.addFirst(new Timing(operation.label, operation.container, operation.priority,
+                    (start - operation.queuedAt) / 1_000_000, elapsed / 1_000_000, success));
+            if (history.size() > HISTORY) {
+                history.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Order in which queued operations run.
+     */
+    public enum Priority {
+        // A player is waiting on the result, e.g. a command or a matchmaking lease
+        PLAYER_WAITING,
+        NORMAL,
+        // Pool refills, recycling and other work nobody is waiting for
+        BACKGROUND
+    }
+
+    private static final class Operation<T> {
+        private final String label;
+        private final String container;
+        private final Priority priority;
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long queuedAt = System.nanoTime();
+
+        private Operation(String label, String container, Priority priority, Supplier<T> task) {
+            this.label = label;
+            this.container = container;
+            this.priority = priority;
+            this.task = task;
+        }
+    }
+
+    public record Timing(String label, String container, Priority priority, long waitMillis, long runMillis, boolean success) {
+    }
+
+    public record Stats(long budgetMillis, int pending, Map<Priority, Integer> pendingByPriority, Map<String, Integer> pendingByContainer,
+                        long executed, long failed, double averageRunMillis, double averageWaitMillis, long maxRunMillis,
+                        long overBudgetTicks, List<Timing> recent) {
+    }
+}
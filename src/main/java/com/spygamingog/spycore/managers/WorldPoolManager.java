@@ -0,0 +1,321 @@
+package com.spygamingog.spycore.managers;
+
+import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.api.WorldOperationException;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps pre-warmed world instances per pool so arenas can be leased instantly.
+ * Instances are cloned from the pool's source world, loaded and spawn-resolved ahead of time.
+ * Released instances are reset from the source and returned to the pool instead of being deleted.
+ */
+public class WorldPoolManager {
+    private final SpyCore plugin;
+    private final WorldManager worldManager;
+
+    // Key: Pool name
+    private final Map<String, WorldPool> pools = new ConcurrentHashMap<>();
+
+    // Key: Alias of a leased instance, Value: The pool it belongs to
+    private final Map<String, WorldPool> leasedInstances = new ConcurrentHashMap<>();
+
+    private BukkitTask refillTask;
+
+    public WorldPoolManager(SpyCore plugin) {
+        this.plugin = plugin;
+        this.worldManager = plugin.getWorldManager();
+    }
+
+    /**
+     * Read pool definitions and adopt instances left over from a previous run.
+     * MUST be called after the world registry has been loaded.
+     */
+    public void initialize() {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("pools");
+        if (section == null) return;
+
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection poolSection = section.getConfigurationSection(name);
+            if (poolSection == null) continue;
+
+            String source = poolSection.getString("source");
+            if (source == null || source.isEmpty()) {
+                plugin.getLogger().warning("Pool '" + name + "' has no source world and will be ignored.");
+                continue;
+            }
+
+            WorldPool pool = new WorldPool(name, source,
+                    poolSection.getString("container", name),
+                    poolSection.getString("generator"),
+                    Math.max(0, poolSection.getInt("size", 2)),
+                    Math.max(1, poolSection.getInt("refill-per-minute", 6)));
+            pools.put(name, pool);
+            adoptExistingInstances(pool);
+            plugin.getLogger().info("Pool '" + name + "' registered (source: " + source + ", size: " + pool.targetSize + ", adopted: " + pool.recycling.size() + ")");
+        }
+
+        if (!pools.isEmpty()) {
+            refillTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tickRefill, 20L, 20L);
+        }
+    }
+
+    public void shutdown() {
+        if (refillTask != null) {
+            refillTask.cancel();
+            refillTask = null;
+        }
+    }
+
+    /**
+     * Lease an instance from a pool. Completes immediately when a warm instance is available,
+     * otherwise a new instance is cloned on demand.
+     */
+    public CompletableFuture<World> lease(String poolName) {
+        WorldPool pool = pools.get(poolName);
+        if (pool == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown world pool: " + poolName));
+        }
+
+        String alias = pool.ready.poll();
+        if (alias != null) {
+            pool.hits.incrementAndGet();
+            leasedInstances.put(alias, pool);
+            World world = worldManager.getWorld(alias, false);
+            if (world != null) {
+                return CompletableFuture.completedFuture(world);
+            }
+            // Instance hibernated while idle in the pool
+            return WorldManager.unwrapped(worldManager.wakeWorldAsync(alias, WorldOperationQueue.Priority.PLAYER_WAITING)
+                    .whenComplete((w, error) -> {
+                        if (error != null) leasedInstances.remove(alias);
+                    }));
+        }
+
+        pool.misses.incrementAndGet();
+        return WorldManager.unwrapped(createInstance(pool, WorldOperationQueue.Priority.PLAYER_WAITING).thenApply(world -> {
+            leasedInstances.put(worldManager.getAliasForWorld(world), pool);
+            return world;
+        }));
+    }
+
+    /**
+     * Return a leased instance to its pool. The world is reset from the pool source in the background.
+     * @return False if the world was not leased from a pool.
+     */
+    public boolean release(World world) {
+        String alias = worldManager.getAliasForWorld(world);
+        WorldPool pool = leasedInstances.remove(alias);
+        if (pool == null) return false;
+
+        recycle(pool, alias);
+        return true;
+    }
+
+    public boolean isLeased(World world) {
+        return leasedInstances.containsKey(worldManager.getAliasForWorld(world));
+    }
+
+    /**
+     * Whether the world is a pool instance waiting to be leased or being recycled.
+     * Such instances hold nothing worth saving; they are copies of their pool source.
+     */
+    public boolean isIdle(World world) {
+        String alias = worldManager.getAliasForWorld(world);
+        for (WorldPool pool : pools.values()) {
+            if (pool.ready.contains(alias) || pool.recycling.contains(alias)) return true;
+        }
+        return false;
+    }
+
+    public Collection<String> getPoolNames() {
+        return pools.keySet();
+    }
+
+    public PoolStats getStats(String poolName) {
+        WorldPool pool = pools.get(poolName);
+        return pool != null ? pool.snapshot() : null;
+    }
+
+    public List<PoolStats> getAllStats() {
+        List<PoolStats> stats = new ArrayList<>();
+        for (WorldPool pool : pools.values()) {
+            stats.add(pool.snapshot());
+        }
+        return stats;
+    }
+
+    private void tickRefill() {
+        long now = System.currentTimeMillis();
+        for (WorldPool pool : pools.values()) {
+            // Instances from a previous run are reset before they are handed out
+            String stale = pool.recycling.poll();
+            if (stale != null) {
+                recycle(pool, stale);
+                continue;
+            }
+
+            int available = pool.ready.size() + pool.inFlight.get();
+            if (available >= pool.targetSize) continue;
+            if (now - pool.lastRefillStart < 60_000L / pool.refillPerMinute) continue;
+
+            pool.lastRefillStart = now;
+            createInstance(pool, WorldOperationQueue.Priority.BACKGROUND).whenComplete((world, error) -> {
+                if (world != null) {
+                    pool.ready.offer(worldManager.getAliasForWorld(world));
+                }
+            });
+        }
+    }
+
+    private CompletableFuture<World> createInstance(WorldPool pool, WorldOperationQueue.Priority priority) {
+        String name = nextInstanceName(pool);
+        long start = System.currentTimeMillis();
+        pool.inFlight.incrementAndGet();
+
+        return worldManager.cloneWorldAsync(pool.source, pool.container, name, pool.generator, priority)
+                .thenCompose(world -> worldManager.findSafeLocationAsync(world).thenCompose(safe -> worldManager.runSync(() -> {
+                    worldManager.applySafeSpawn(world, safe);
+                    return world;
+                })))
+                .whenComplete((world, error) -> {
+                    pool.inFlight.decrementAndGet();
+                    if (error != null) {
+                        plugin.getLogger().warning("Pool '" + pool.name + "': failed to create instance '" + name + "': " + WorldOperationException.unwrap(error).getMessage());
+                        return;
+                    }
+                    long elapsed = System.currentTimeMillis() - start;
+                    pool.refills.incrementAndGet();
+                    pool.totalRefillMillis.addAndGet(elapsed);
+                    pool.lastRefillMillis = elapsed;
+                });
+    }
+
+    private void recycle(WorldPool pool, String alias) {
+        // The pool filled up while this instance was out; resetting it would only grow the pool past its size
+        if (pool.ready.size() + pool.inFlight.get() >= pool.targetSize) {
+            discard(pool, alias);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        pool.inFlight.incrementAndGet();
+
+        worldManager.resetWorldAsync(alias, pool.source, WorldOperationQueue.Priority.BACKGROUND)
+                .thenCompose(world -> worldManager.findSafeLocationAsync(world).thenCompose(safe -> worldManager.runSync(() -> {
+                    worldManager.applySafeSpawn(world, safe);
+                    return world;
+                })))
+                .whenComplete((world, error) -> {
+                    pool.inFlight.decrementAndGet();
+                    if (error != null) {
+                        plugin.getLogger().warning("Pool '" + pool.name + "': failed to reset instance '" + alias + "': " + WorldOperationException.unwrap(error).getMessage());
+                        // Its folder may be gone; the refill task replaces it with a fresh clone
+                        discard(pool, alias);
+                        return;
+                    }
+                    pool.resets.incrementAndGet();
+                    pool.totalRefillMillis.addAndGet(System.currentTimeMillis() - start);
+                    pool.ready.offer(alias);
+                });
+    }
+
+    /**
+     * Unregister an instance the pool no longer needs and send its folder to the trash.
+     */
+    private void discard(WorldPool pool, String alias) {
+        worldManager.deleteWorldAsync(alias).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Pool '" + pool.name + "': failed to delete instance '" + alias + "': " + WorldOperationException.unwrap(error).getMessage());
+            }
+        });
+    }
+
+    private void adoptExistingInstances(WorldPool pool) {
+        String prefix = "spycore-worlds/" + pool.container + "/";
+        for (Map.Entry<String, String> entry : worldManager.getWorldAliases().entrySet()) {
+            if (entry.getValue().startsWith(prefix) && pool.instancePattern.matcher(entry.getKey()).matches()) {
+                pool.recycling.offer(entry.getKey());
+            }
+        }
+    }
+
+    private String nextInstanceName(WorldPool pool) {
+        while (true) {
+            String name = pool.name + "_" + pool.nextInstanceId.getAndIncrement();
+            if (!worldManager.getWorldAliases().containsKey(name) && !worldManager.getWorldFolder(pool.container, name).exists()) {
+                return name;
+            }
+        }
+    }
+
+    /**
+     * Point-in-time metrics of a pool.
+     */
+    public record PoolStats(String name, int depth, int targetSize, int leased, int inFlight,
+                            long hits, long misses, long refills, long resets,
+                            double hitRate, long averageRefillMillis, long lastRefillMillis) {
+    }
+
+    private class WorldPool {
+        private final String name;
+        private final String source;
+        private final String container;
+        private final String generator;
+        private final int targetSize;
+        private final int refillPerMinute;
+        private final Pattern instancePattern;
+
+        private final Queue<String> ready = new ConcurrentLinkedQueue<>();
+        private final Queue<String> recycling = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger nextInstanceId = new AtomicInteger();
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong refills = new AtomicLong();
+        private final AtomicLong resets = new AtomicLong();
+        private final AtomicLong totalRefillMillis = new AtomicLong();
+        private volatile long lastRefillMillis;
+        private volatile long lastRefillStart;
+
+        private WorldPool(String name, String source, String container, String generator, int targetSize, int refillPerMinute) {
+            this.name = name;
+            this.source = source;
+            this.container = container;
+            this.generator = generator;
+            this.targetSize = targetSize;
+            this.refillPerMinute = refillPerMinute;
+            this.instancePattern = Pattern.compile(Pattern.quote(name) + "_\\d+");
+        }
+
+        private PoolStats snapshot() {
+            long h = hits.get();
+            long m = misses.get();
+            long operations = refills.get() + resets.get();
+            int leased = 0;
+            for (WorldPool owner : leasedInstances.values()) {
+                if (owner == this) leased++;
+            }
+            return new PoolStats(name, ready.size(), targetSize, leased, inFlight.get(),
+                    h, m, refills.get(), resets.get(),
+                    h + m == 0 ? 0.0 : (double) h / (h + m),
+                    operations == 0 ? 0 : totalRefillMillis.get() / operations,
+                    lastRefillMillis);
+        }
+    }
+}
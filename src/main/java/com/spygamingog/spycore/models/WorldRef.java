@@ -0,0 +1,43 @@
+package com.spygamingog.spycore.models;
+
+import com.spygamingog.spycore.SpyCore;
+import com.spygamingog.spycore.managers.WorldOperationQueue;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Lightweight handle to a managed world, as returned by metadata queries.
+ * Creating or reading a handle never loads the world; only {@link #loadAsync()} does.
+ * @param fullPath Technical world name, e.g. "spycore-worlds/Bedwars/arena_1".
+ * @param container Container of the world, or "root".
+ * @param loaded Whether the world was loaded when the handle was created. Use {@link #getWorldIfLoaded()} for the current state.
+ * @param tags Tags of the world when the handle was created.
+ */
+public record WorldRef(String alias, String fullPath, String container, boolean loaded, Map<String, String> tags) {
+
+    public WorldRef {
+        tags = Map.copyOf(tags);
+    }
+
+    /**
+     * Get the world if it is loaded right now, without loading it.
+     */
+    public World getWorldIfLoaded() {
+        return Bukkit.getWorld(fullPath);
+    }
+
+    /**
+     * Load the world, waking it from hibernation or cold storage if needed.
+     * Files are checked off the main thread and the load itself runs through the world operation queue.
+     */
+    public CompletableFuture<World> loadAsync() {
+        return loadAsync(WorldOperationQueue.Priority.NORMAL);
+    }
+
+    public CompletableFuture<World> loadAsync(WorldOperationQueue.Priority priority) {
+        return SpyCore.getInstance().getWorldManager().wakeWorldAsync(fullPath, priority);
+    }
+}
@@ -0,0 +1,118 @@
+package com.spygamingog.spycore.models;
+
+import org.bukkit.Difficulty;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a world's settings.
+ * Snapshots are replaced as a whole when a setting changes, so readers never lock and never see a half-applied update.
+ * Game rules that were never set are null, so the world keeps its own value.
+ * Settings without a dedicated field are kept in {@code extensions}.
+ */
+public record WorldSettings(boolean autoHeal, boolean hunger, boolean fly, boolean mobSpawn,
+                            Boolean timeCycle, Boolean weatherCycle, Difficulty difficulty,
+                            Map<String, Object> extensions) {
+
+    public static final WorldSettings DEFAULTS = new WorldSettings(true, true, false, true, null, null, null, Map.of());
+
+    public WorldSettings {
+        extensions = Map.copyOf(extensions);
+    }
+
+    /**
+     * Read a snapshot from a world's {@code settings} section in worlds.yml.
+     */
+    public static WorldSettings fromSection(ConfigurationSection section) {
+        return section == null ? DEFAULTS : fromMap(section.getValues(false));
+    }
+
+    /**
+     * Read a snapshot from the stored settings of a world record.
+     */
+    public static WorldSettings fromMap(Map<String, Object> values) {
+        WorldSettings settings = DEFAULTS;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            settings = settings.with(entry.getKey(), entry.getValue());
+        }
+        return settings;
+    }
+
+    /**
+     * Get a copy with one setting changed. Values are parsed the way {@code /spy world modify} passes them.
+     */
+    public WorldSettings with(String setting, Object value) {
+        String key = setting.toLowerCase(Locale.ROOT);
+        switch (key) {
+            case "autoheal":
+                return new WorldSettings(toBoolean(value, autoHeal), hunger, fly, mobSpawn, timeCycle, weatherCycle, difficulty, extensions);
+            case "hunger":
+                return new WorldSettings(autoHeal, toBoolean(value, hunger), fly, mobSpawn, timeCycle, weatherCycle, difficulty, extensions);
+            case "fly":
+                return new WorldSettings(autoHeal, hunger, toBoolean(value, fly), mobSpawn, timeCycle, weatherCycle, difficulty, extensions);
+            case "mobspawn":
+                return new WorldSettings(autoHeal, hunger, fly, toBoolean(value, mobSpawn), timeCycle, weatherCycle, difficulty, extensions);
+            case "timecycle":
+                return new WorldSettings(autoHeal, hunger, fly, mobSpawn, value == null ? null : toBoolean(value, true), weatherCycle, difficulty, extensions);
+            case "weathercycle":
+                return new WorldSettings(autoHeal, hunger, fly, mobSpawn, timeCycle, value == null ? null : toBoolean(value, true), difficulty, extensions);
+            case "difficulty":
+                return new WorldSettings(autoHeal, hunger, fly, mobSpawn, timeCycle, weatherCycle, toDifficulty(value), extensions);
+            default:
+                Map<String, Object> updated = new HashMap<>(extensions);
+                if (value == null) {
+                    updated.remove(key);
+                } else {
+                    updated.put(key, value);
+                }
+                return new WorldSettings(autoHeal, hunger, fly, mobSpawn, timeCycle, weatherCycle, difficulty, updated);
+        }
+    }
+
+    /**
+     * Look a setting up by name, for callers that only know the config key.
+     */
+    public Object get(String setting, Object defaultValue) {
+        switch (setting.toLowerCase(Locale.ROOT)) {
+            case "autoheal":
+                return autoHeal;
+            case "hunger":
+                return hunger;
+            case "fly":
+                return fly;
+            case "mobspawn":
+                return mobSpawn;
+            case "timecycle":
+                return timeCycle != null ? timeCycle : defaultValue;
+            case "weathercycle":
+                return weatherCycle != null ? weatherCycle : defaultValue;
+            case "difficulty":
+                return difficulty != null ? difficulty.name() : defaultValue;
+            default:
+                return extensions.getOrDefault(setting.toLowerCase(Locale.ROOT), defaultValue);
+        }
+    }
+
+    private static boolean toBoolean(Object value, boolean fallback) {
+        if (value instanceof Boolean bool) return bool;
+        if (value != null) {
+            String text = value.toString();
+            if (text.equalsIgnoreCase("true")) return true;
+            if (text.equalsIgnoreCase("false")) return false;
+        }
+        return fallback;
+    }
+
+    private static Difficulty toDifficulty(Object value) {
+        if (value == null) return null;
+        if (value instanceof Difficulty difficulty) return difficulty;
+        try {
+            return Difficulty.valueOf(value.toString().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.spygamingog.spycore.storage;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind persistence for a YAML file that is edited in memory.
+ * Callers change the configuration under its lock and call {@link #markDirty()}; changes made within one
+ * debounce interval are coalesced into a single write on a background thread. Every write goes to a temp
+ * file that is synced and then atomically renamed over the target, so a crash never leaves a truncated file.
+ */
+public class AsyncYamlWriter {
+    // Delay before a failed write is retried
+    private static final long RETRY_MILLIS = 5000;
+
+    private final String name;
+    private final FileConfiguration config;
+    private final Object configLock;
+    private final File file;
+    private final long debounceMillis;
+    private final Logger logger;
+
+    private final ScheduledExecutorService executor;
+    // Serializes flushes, so an older snapshot can never be written after a newer one
+    private final Object writeLock = new Object();
+    private ScheduledFuture<?> pending;
+    // True while a flush is queued and has not started; a running flush has already taken its snapshot
+    private boolean scheduled;
+    private boolean dirty;
+
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastFlushMillis;
+
+    public AsyncYamlWriter(String name, FileConfiguration config, Object configLock, File file, long debounceMillis, Logger logger) {
+        this.name = name;
+        this.config = config;
+        this.configLock = configLock;
+        this.file = file;
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.logger = logger;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SpyCore-Persist-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Record that the configuration changed. The file is written once the debounce interval has passed.
+     * Cheap enough to call while holding the config lock.
+     */
+    public void markDirty() {
+        synchronized (this) {
+            dirty = true;
+            if (scheduled) {
+                coalesced.incrementAndGet();
+                return;
+            }
+            schedule(debounceMillis);
+        }
+    }
+
+    /**
+     * Write pending changes now, on the calling thread.
+     * @throws IOException if the file could not be written; the changes stay pending.
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            String data;
+            synchronized (this) {
+                if (!dirty) return;
+                dirty = false;
+            }
+            synchronized (configLock) {
+                data = config.saveToString();
+            }
+
+            long start = System.nanoTime();
+            try {
+                write(data.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                synchronized (this) {
+                    dirty = true;
+                }
+                failures.incrementAndGet();
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+            flushes.incrementAndGet();
+            flushNanos.addAndGet(elapsed);
+            lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        }
+    }
+
+    /**
+     * Stop the background thread and write anything still pending.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not save " + file.getName() + " on shutdown", e);
+        }
+    }
+
+    public boolean isDirty() {
+        synchronized (this) {
+            return dirty;
+        }
+    }
+
+    public Stats getStats() {
+        long count = flushes.get();
+        return new Stats(name, count, coalesced.get(), bytesWritten.get(), count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(flushNanos.get()) / (double) count,
+                lastFlushMillis, failures.get(), isDirty());
+    }
+
+    private void schedule(long delayMillis) {
+        // Callers hold this monitor, and shutdown() stops the executor under it, so the schedule is never rejected
+        if (executor.isShutdown()) return;
+        scheduled = true;
+        pending = executor.schedule(this::flushQuietly, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushQuietly() {
+        synchronized (this) {
+            scheduled = false;
+        }
+        boolean failed = false;
+        try {
+            flush();
+        } catch (IOException e) {
+            failed = true;
+            logger.log(Level.SEVERE, "Could not save " + file.getName() + ", retrying in " + (RETRY_MILLIS / 1000) + "s", e);
+        }
+        synchronized (this) {
+            // Changes made while this flush ran, or a failed write, need another flush
+            if (dirty && !scheduled) {
+                schedule(failed ? RETRY_MILLIS : debounceMillis);
+            }
+        }
+    }
+
+    private void write(byte[] data) throws IOException {
+        Path target = file.toPath();
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        bytesWritten.addAndGet(data.length);
+    }
+
+    /**
+     * Persistence metrics of one file.
+     */
+    public record Stats(String name, long flushes, long coalesced, long bytesWritten, double averageFlushMillis,
+                        long lastFlushMillis, long failures, boolean dirty) {
+    }
+}
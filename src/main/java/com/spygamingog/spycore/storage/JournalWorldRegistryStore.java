@@ -0,0 +1,563 @@
+package com.spygamingog.spycore.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Registry store made of a binary snapshot plus an append-only journal.
+ * <p>
+ * Every change appends one checksummed entry holding only the affected record, so an update costs O(record)
+ * regardless of how many worlds are registered. Entries are batched on a background thread and synced once
+ * per batch. Once {@code compactAfter} entries have accumulated, the registry is written as a new snapshot
+ * (temp file plus atomic rename) and the journal starts over.
+ * <p>
+ * On open, the snapshot is read with a single bulk read and the journal is replayed on top of it. Neither file is
+ * memory-mapped, because a mapped file cannot be replaced or truncated on Windows until the mapping is collected.
+ * A torn entry at the end of the journal (crash mid-append) is dropped. Snapshot and journal carry a
+ * generation number, so a journal left over from a crash during compaction is never replayed onto the
+ * newer snapshot that already contains it.
+ */
+public class JournalWorldRegistryStore implements WorldRegistryStore {
+    private static final int SNAPSHOT_MAGIC = 0x53505752; // SPWR
+    private static final int JOURNAL_MAGIC = 0x5350574A; // SPWJ
+    private static final int VERSION = 1;
+    private static final int JOURNAL_HEADER = 12;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte WHITELIST = 3;
+    // Delay before a failed batch is retried
+    private static final long RETRY_MILLIS = 5000;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final long flushIntervalMillis;
+    private final int compactAfter;
+    private final Logger logger;
+
+    // Guards the in-memory state and the pending entries
+    private final Object lock = new Object();
+    private final Map<String, WorldRecord> records = new ConcurrentHashMap<>();
+    private final List<String> whitelist = new ArrayList<>();
+    private final List<byte[]> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduled;
+    // True while a flush is queued and has not started; a running flush has already drained pending
+    private boolean queued;
+
+    // Guards the files; only one flush or compaction runs at a time
+    private final Object writeLock = new Object();
+    private final FileChannel journal;
+    private long generation;
+    private long journalEntries;
+
+    private final ScheduledExecutorService executor;
+    private final long loadMillis;
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastFlushMillis;
+
+    /**
+     * Open the store in a folder, creating it if needed.
+     * @throws IOException if the snapshot is unreadable; the files are left untouched.
+     */
+    public JournalWorldRegistryStore(File folder, long flushIntervalMillis, int compactAfter, Logger logger) throws IOException {
+        this.snapshotFile = folder.toPath().resolve("worlds.snapshot");
+        this.journalFile = folder.toPath().resolve("worlds.journal");
+        this.flushIntervalMillis = Math.max(0, flushIntervalMillis);
+        this.compactAfter = Math.max(1, compactAfter);
+        this.logger = logger;
+        Files.createDirectories(folder.toPath());
+
+        long start = System.nanoTime();
+        if (Files.exists(snapshotFile)) {
+            readSnapshot();
+        }
+        this.journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            replayJournal();
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+        this.loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SpyCore-Persist-registry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Check whether a folder holds a journaled registry.
+     */
+    public static boolean exists(File folder) {
+        return new File(folder, "worlds.snapshot").exists() || new File(folder, "worlds.journal").length() > JOURNAL_HEADER;
+    }
+
+    /**
+     * Replace the whole registry, e.g. with the contents of an imported worlds.yml, and write a snapshot right away.
+     */
+    public void importAll(Map<String, WorldRecord> imported, Collection<String> importedWhitelist) throws IOException {
+        synchronized (lock) {
+            records.clear();
+            records.putAll(imported);
+            whitelist.clear();
+            whitelist.addAll(importedWhitelist);
+        }
+        synchronized (writeLock) {
+            compact();
+        }
+    }
+
+    @Override
+    public WorldRecord get(String key) {
+        return records.get(key);
+    }
+
+    @Override
+    public Map<String, WorldRecord> getAll() {
+        return new LinkedHashMap<>(records);
+    }
+
+    @Override
+    public WorldRecord update(String key, UnaryOperator<WorldRecord> updater) {
+        synchronized (lock) {
+            return apply(key, updater);
+        }
+    }
+
+    @Override
+    public void updateAll(Map<String, UnaryOperator<WorldRecord>> updaters) {
+        // Entries queued under one lock hold are drained by the same flush, so the batch is a single append and fsync
+        synchronized (lock) {
+            for (Map.Entry<String, UnaryOperator<WorldRecord>> entry : updaters.entrySet()) {
+                apply(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private WorldRecord apply(String key, UnaryOperator<WorldRecord> updater) {
+        WorldRecord current = records.get(key);
+        WorldRecord updated = updater.apply(current);
+        if (updated == current) return current;
+        if (updated == null) {
+            records.remove(key);
+        } else {
+            records.put(key, updated);
+        }
+        enqueue(encode(updated == null ? REMOVE : PUT, out -> {
+            RecordCodec.writeString(out, key);
+            if (updated != null) {
+                RecordCodec.writeRecord(out, updated);
+            }
+        }));
+        return updated;
+    }
+
+    @Override
+    public List<String> getWhitelist() {
+        synchronized (lock) {
+            return new ArrayList<>(whitelist);
+        }
+    }
+
+    @Override
+    public void setWhitelist(Collection<String> updated) {
+        synchronized (lock) {
+            whitelist.clear();
+            whitelist.addAll(updated);
+            enqueue(encode(WHITELIST, out -> writeWhitelist(out, whitelist)));
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            List<byte[]> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) return;
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+
+            long start = System.nanoTime();
+            int size = 0;
+            for (byte[] entry : batch) {
+                size += entry.length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (byte[] entry : batch) {
+                buffer.put(entry);
+            }
+            buffer.flip();
+
+            long position = journal.size();
+            try {
+                journal.position(position);
+                while (buffer.hasRemaining()) {
+                    journal.write(buffer);
+                }
+                journal.force(false);
+            } catch (IOException e) {
+                // Drop any partial entry so later appends stay replayable, and retry the batch with the next flush
+                try {
+                    journal.truncate(position);
+                } catch (IOException ignored) {
+                }
+                synchronized (lock) {
+                    pending.addAll(0, batch);
+                }
+                failures.incrementAndGet();
+                throw e;
+            }
+
+            journalEntries += batch.size();
+            bytesWritten.addAndGet(size);
+            record(System.nanoTime() - start);
+
+            if (journalEntries >= compactAfter) {
+                compact();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not write the world registry journal on shutdown", e);
+        }
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public Stats getStats() {
+        long count = flushes.get();
+        boolean dirty;
+        synchronized (lock) {
+            dirty = !pending.isEmpty();
+        }
+        long entries;
+        synchronized (writeLock) {
+            entries = journalEntries;
+        }
+        return new Stats("journal", records.size(), count, bytesWritten.get(), count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(flushNanos.get()) / (double) count,
+                lastFlushMillis, loadMillis, entries, compactions.get(), failures.get(), dirty);
+    }
+
+    /**
+     * Write the registry as a new snapshot and start an empty journal. MUST hold the write lock.
+     */
+    private void compact() throws IOException {
+        long start = System.nanoTime();
+        Map<String, WorldRecord> copy;
+        List<String> whitelistCopy;
+        synchronized (lock) {
+            copy = new LinkedHashMap<>(records);
+            whitelistCopy = new ArrayList<>(whitelist);
+            // Everything still queued is already part of the copy
+            pending.clear();
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(Math.max(1024, copy.size() * 128));
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeInt(copy.size());
+        for (Map.Entry<String, WorldRecord> entry : copy.entrySet()) {
+            RecordCodec.writeString(out, entry.getKey());
+            RecordCodec.writeRecord(out, entry.getValue());
+        }
+        writeWhitelist(out, whitelistCopy);
+        out.flush();
+        byte[] bodyBytes = body.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(bodyBytes);
+        long nextGeneration = generation + 1;
+        ByteBuffer header = ByteBuffer.allocate(28);
+        header.putInt(SNAPSHOT_MAGIC).putInt(VERSION).putLong(nextGeneration).putLong(bodyBytes.length).putInt((int) crc.getValue());
+        header.flip();
+
+        Path temp = snapshotFile.resolveSibling("worlds.snapshot.tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bodyBuffer = ByteBuffer.wrap(bodyBytes);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (bodyBuffer.hasRemaining()) {
+                channel.write(bodyBuffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // From here on the old journal no longer matches the snapshot's generation, even if the reset below never happens
+        generation = nextGeneration;
+        resetJournal();
+        journalEntries = 0;
+        compactions.incrementAndGet();
+        bytesWritten.addAndGet(28L + bodyBytes.length);
+        record(System.nanoTime() - start);
+    }
+
+    private void resetJournal() throws IOException {
+        journal.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER);
+        header.putInt(JOURNAL_MAGIC).putLong(generation);
+        header.flip();
+        journal.position(0);
+        while (header.hasRemaining()) {
+            journal.write(header);
+        }
+        journal.force(false);
+    }
+
+    private void readSnapshot() throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = readFully(channel, channel.size());
+            if (buffer.remaining() < 28 || buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a world registry snapshot: " + snapshotFile);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported world registry snapshot version " + version);
+            }
+            long snapshotGeneration = buffer.getLong();
+            long length = buffer.getLong();
+            int checksum = buffer.getInt();
+            if (length != buffer.remaining()) {
+                throw new IOException("Truncated world registry snapshot: " + snapshotFile);
+            }
+
+            ByteBuffer body = buffer.slice();
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Checksum mismatch in world registry snapshot: " + snapshotFile);
+            }
+
+            RecordCodec.decode(body, in -> {
+                int count = RecordCodec.readCount(in);
+                for (int i = 0; i < count; i++) {
+                    String key = RecordCodec.readString(in);
+                    records.put(key, RecordCodec.readRecord(in));
+                }
+                whitelist.addAll(readWhitelist(in));
+                return null;
+            });
+            generation = snapshotGeneration;
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        long size = journal.size();
+        if (size < JOURNAL_HEADER) {
+            resetJournal();
+            return;
+        }
+
+        ByteBuffer buffer = readFully(journal, size);
+        if (buffer.getInt() != JOURNAL_MAGIC || buffer.getLong() != generation) {
+            // Written before the current snapshot; the snapshot already contains all of it
+            logger.info("VFS: Discarding a world registry journal from an older snapshot.");
+            resetJournal();
+            return;
+        }
+
+        long valid = buffer.position();
+        int applied = 0;
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) break;
+
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) break;
+
+            try {
+                RecordCodec.decode(payload, this::apply);
+            } catch (IOException e) {
+                break;
+            }
+            buffer.position(buffer.position() + length);
+            valid = buffer.position();
+            applied++;
+        }
+
+        if (valid < size) {
+            logger.warning("VFS: Dropped " + (size - valid) + " bytes of an incomplete world registry journal entry.");
+            journal.truncate(valid);
+        }
+        journal.position(valid);
+        journalEntries = applied;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("World registry file too large: " + size + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        channel.position(0);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) break;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private Void apply(ByteBuffer in) throws IOException {
+        byte op = in.get();
+        switch (op) {
+            case PUT: {
+                String key = RecordCodec.readString(in);
+                records.put(key, RecordCodec.readRecord(in));
+                break;
+            }
+            case REMOVE:
+                records.remove(RecordCodec.readString(in));
+                break;
+            case WHITELIST:
+                whitelist.clear();
+                whitelist.addAll(readWhitelist(in));
+                break;
+            default:
+                throw new IOException("Unknown journal entry type " + op);
+        }
+        return null;
+    }
+
+    private void enqueue(byte[] entry) {
+        pending.add(entry);
+        if (!queued) {
+            schedule(flushIntervalMillis);
+        }
+    }
+
+    /**
+     * Queue a flush. MUST hold the lock; close() stops the executor under it, so the schedule is never rejected.
+     */
+    private void schedule(long delayMillis) {
+        if (executor.isShutdown()) return;
+        queued = true;
+        scheduled = executor.schedule(this::flushQuietly, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushQuietly() {
+        synchronized (lock) {
+            queued = false;
+        }
+        boolean failed = false;
+        try {
+            flush();
+        } catch (IOException e) {
+            failed = true;
+            logger.log(Level.SEVERE, "Could not write the world registry journal, retrying in " + (RETRY_MILLIS / 1000) + "s", e);
+        }
+        synchronized (lock) {
+            // Entries added while this flush ran, or a failed batch put back, need another flush
+            if (!pending.isEmpty() && !queued) {
+                schedule(failed ? RETRY_MILLIS : flushIntervalMillis);
+            }
+        }
+    }
+
+    private void record(long nanos) {
+        flushes.incrementAndGet();
+        flushNanos.addAndGet(nanos);
+        lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Frame one journal entry: payload length, CRC32 of the payload, then the payload itself.
+     */
+    private static byte[] encode(byte op, Payload payload) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(op);
+            payload.write(out);
+            out.flush();
+
+            byte[] entry = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(entry, 8, entry.length - 8);
+            ByteBuffer.wrap(entry).putInt(entry.length - 8).putInt((int) crc.getValue());
+            return entry;
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeWhitelist(DataOutputStream out, List<String> whitelist) throws IOException {
+        out.writeInt(whitelist.size());
+        for (String alias : whitelist) {
+            RecordCodec.writeString(out, alias);
+        }
+    }
+
+    private static List<String> readWhitelist(ByteBuffer in) throws IOException {
+        int count = RecordCodec.readCount(in);
+        List<String> aliases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            aliases.add(RecordCodec.readString(in));
+        }
+        return aliases;
+    }
+
+    @FunctionalInterface
+    private interface Payload {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,568 @@
+package com.spygamingog.spycore.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Persistence for world tags: metadata.yml as the snapshot plus an append-only binary journal next to it.
+ * <p>
+ * Every tag change appends one checksummed entry holding only that tag, instead of rewriting the whole
+ * metadata.yml. Once {@code compactAfter} entries have accumulated, the tags are folded into a new metadata.yml
+ * on the background thread (temp file plus atomic rename) and the journal starts over. On a clean shutdown the
+ * journal is always folded in, so metadata.yml is complete whenever the server is stopped.
+ * <p>
+ * On open, metadata.yml is read and the journal is replayed on top of it; a torn entry at the end of the journal
+ * is dropped. metadata.yml stores the generation of its journal under {@code journal-generation}, so a journal
+ * left over from a crash during compaction is never replayed onto the newer snapshot that already contains it.
+ */
+public class MetadataJournal {
+    private static final int JOURNAL_MAGIC = 0x53504D4A; // SPMJ
+    private static final int JOURNAL_HEADER = 12;
+
+    private static final byte SET = 1;
+    private static final byte REMOVE = 2;
+    // Delay before a failed flush is retried
+    private static final long RETRY_MILLIS = 5000;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Durability durability;
+    private final long flushIntervalMillis;
+    private final int compactAfter;
+    private final Logger logger;
+
+    // Guards the in-memory tags and the pending entries
+    private final Object lock = new Object();
+    // Key: World name (full path), Value: Tags as saved
+    private final Map<String, Map<String, Object>> tags = new LinkedHashMap<>();
+    private final List<byte[]> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduled;
+    // True while a flush is queued and has not started; a running flush has already drained pending
+    private boolean queued;
+    private boolean compactionScheduled;
+
+    // Guards the files; only one flush or compaction runs at a time
+    private final Object writeLock = new Object();
+    // Null if the journal could not be opened; every flush then rewrites metadata.yml
+    private final FileChannel journal;
+    private long generation;
+    private long journalEntries;
+
+    private final ScheduledExecutorService executor;
+    private final long loadMillis;
+    private final int replayed;
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastFlushMillis;
+    private volatile long lastCompactionMillis;
+    private volatile long snapshotBytes;
+
+    /**
+     * Open the tags saved in a metadata.yml and its journal, creating the journal if needed.
+     * @param compactAfter Journal entries after which they are folded into metadata.yml.
+     */
+    public MetadataJournal(File snapshot, Durability durability, long flushIntervalMillis, int compactAfter, Logger logger) {
+        this.snapshotFile = snapshot.toPath();
+        this.journalFile = snapshotFile.resolveSibling(snapshot.getName().replace(".yml", "") + ".journal");
+        this.durability = durability;
+        this.flushIntervalMillis = Math.max(0, flushIntervalMillis);
+        this.compactAfter = Math.max(1, compactAfter);
+        this.logger = logger;
+
+        long start = System.nanoTime();
+        readSnapshot();
+        FileChannel channel = null;
+        int replayedEntries = 0;
+        try {
+            channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replayedEntries = replayJournal(channel);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not open " + journalFile.getFileName() + ", every tag change will rewrite "
+                    + snapshotFile.getFileName() + " instead", e);
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+                channel = null;
+            }
+        }
+        this.journal = channel;
+        this.replayed = replayedEntries;
+        this.loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SpyCore-Persist-metadata");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get a copy of every saved tag, keyed by world name (full path).
+     */
+    public Map<String, Map<String, Object>> getAll() {
+        synchronized (lock) {
+            Map<String, Map<String, Object>> copy = new LinkedHashMap<>();
+            tags.forEach((world, worldTags) -> copy.put(world, new LinkedHashMap<>(worldTags)));
+            return copy;
+        }
+    }
+
+    /**
+     * Save a tag, or remove it if the value is null. With {@link Durability#SYNC} the change is on disk when
+     * this returns; otherwise it is written with the next batch.
+     * @param value A string, number or boolean.
+     */
+    public void set(String world, String key, Object value) {
+        synchronized (lock) {
+            if (value == null) {
+                Map<String, Object> worldTags = tags.get(world);
+                if (worldTags == null || worldTags.remove(key) == null) return;
+                if (worldTags.isEmpty()) {
+                    tags.remove(world);
+                }
+            } else {
+                tags.computeIfAbsent(world, k -> new LinkedHashMap<>()).put(key, value);
+            }
+            pending.add(encode(value == null ? REMOVE : SET, out -> {
+                RecordCodec.writeString(out, world);
+                RecordCodec.writeString(out, key);
+                if (value != null) {
+                    RecordCodec.writeValue(out, value);
+                }
+            }));
+            appended.incrementAndGet();
+            if (durability != Durability.SYNC && !queued) {
+                schedule(flushIntervalMillis);
+            }
+        }
+        if (durability == Durability.SYNC) {
+            flushQuietly();
+        }
+    }
+
+    /**
+     * Append pending changes to the journal now, on the calling thread, and sync it unless the durability
+     * is {@link Durability#LAZY}. Folding the journal into metadata.yml is left to the background thread.
+     * @throws IOException if the journal could not be written; the changes stay pending.
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            if (journal == null) {
+                boolean dirty;
+                synchronized (lock) {
+                    dirty = !pending.isEmpty();
+                }
+                if (dirty) compact();
+                return;
+            }
+
+            List<byte[]> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) return;
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+
+            long start = System.nanoTime();
+            int size = 0;
+            for (byte[] entry : batch) {
+                size += entry.length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (byte[] entry : batch) {
+                buffer.put(entry);
+            }
+            buffer.flip();
+
+            long position = journal.size();
+            try {
+                journal.position(position);
+                while (buffer.hasRemaining()) {
+                    journal.write(buffer);
+                }
+                if (durability != Durability.LAZY) {
+                    journal.force(false);
+                    syncs.incrementAndGet();
+                }
+            } catch (IOException e) {
+                // Drop any partial entry so later appends stay replayable, and retry the batch with the next flush
+                try {
+                    journal.truncate(position);
+                } catch (IOException ignored) {
+                }
+                synchronized (lock) {
+                    pending.addAll(0, batch);
+                }
+                failures.incrementAndGet();
+                throw e;
+            }
+
+            journalEntries += batch.size();
+            bytesWritten.addAndGet(size);
+            long elapsed = System.nanoTime() - start;
+            flushes.incrementAndGet();
+            flushNanos.addAndGet(elapsed);
+            lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+
+            if (journalEntries >= compactAfter) {
+                scheduleCompaction();
+            }
+        }
+    }
+
+    /**
+     * Stop the background thread, write anything still pending and fold the journal into metadata.yml.
+     */
+    public void close() {
+        synchronized (lock) {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            try {
+                flush();
+                if (journalEntries > 0) {
+                    compact();
+                }
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not save world metadata on shutdown", e);
+            }
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    public Stats getStats() {
+        int worlds;
+        int waiting;
+        synchronized (lock) {
+            worlds = tags.size();
+            waiting = pending.size();
+        }
+        long entries;
+        synchronized (writeLock) {
+            entries = journalEntries;
+        }
+        long count = flushes.get();
+        return new Stats(journal == null ? "snapshot only" : durability.name().toLowerCase(Locale.ROOT), worlds, appended.get(), waiting,
+                count, syncs.get(), bytesWritten.get(), count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(flushNanos.get()) / (double) count,
+                lastFlushMillis, entries, compactions.get(), lastCompactionMillis, snapshotBytes, failures.get(), loadMillis, replayed);
+    }
+
+    private void scheduleCompaction() {
+        synchronized (lock) {
+            if (compactionScheduled || executor.isShutdown()) return;
+            compactionScheduled = true;
+        }
+        executor.execute(() -> {
+            synchronized (lock) {
+                compactionScheduled = false;
+            }
+            synchronized (writeLock) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "Could not fold the metadata journal into " + snapshotFile.getFileName() + ", retrying later", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Write every tag to a new metadata.yml and start an empty journal. MUST hold the write lock.
+     */
+    private void compact() throws IOException {
+        long start = System.nanoTime();
+        Map<String, Map<String, Object>> copy;
+        int folded;
+        synchronized (lock) {
+            copy = getAll();
+            // Everything queued so far is part of the copy; it is dropped once the copy is on disk
+            folded = pending.size();
+        }
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        long nextGeneration = generation + 1;
+        yaml.set("journal-generation", nextGeneration);
+        for (Map.Entry<String, Map<String, Object>> world : copy.entrySet()) {
+            String safePath = world.getKey().replace("/", "__").replace(".", "_");
+            for (Map.Entry<String, Object> tag : world.getValue().entrySet()) {
+                yaml.set("worlds." + safePath + "." + tag.getKey(), tag.getValue());
+            }
+        }
+        byte[] data = yaml.saveToString().getBytes(StandardCharsets.UTF_8);
+
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            failures.incrementAndGet();
+            throw e;
+        }
+        try {
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // From here on the old journal no longer matches the snapshot's generation, even if the reset below never happens
+        generation = nextGeneration;
+        synchronized (lock) {
+            // Entries queued after the copy stay pending; only the flush and compaction insert anywhere but the end
+            pending.subList(0, folded).clear();
+        }
+        if (journal != null) {
+            resetJournal(journal);
+        }
+        journalEntries = 0;
+        compactions.incrementAndGet();
+        bytesWritten.addAndGet(data.length);
+        snapshotBytes = data.length;
+        lastCompactionMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void resetJournal(FileChannel channel) throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER);
+        header.putInt(JOURNAL_MAGIC).putLong(generation);
+        header.flip();
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+    }
+
+    private void readSnapshot() {
+        if (!Files.exists(snapshotFile)) return;
+        snapshotBytes = snapshotFile.toFile().length();
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(snapshotFile.toFile());
+        generation = yaml.getLong("journal-generation", 0);
+
+        ConfigurationSection worlds = yaml.getConfigurationSection("worlds");
+        if (worlds == null) return;
+        for (String worldPath : worlds.getKeys(false)) {
+            ConfigurationSection section = worlds.getConfigurationSection(worldPath);
+            if (section == null) continue;
+            // Convert back from safe YAML keys
+            Map<String, Object> worldTags = tags.computeIfAbsent(worldPath.replace("__", "/"), k -> new LinkedHashMap<>());
+            for (String tag : section.getKeys(false)) {
+                Object value = section.get(tag);
+                if (value != null) {
+                    worldTags.put(tag, value);
+                }
+            }
+        }
+    }
+
+    private int replayJournal(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < JOURNAL_HEADER) {
+            resetJournal(channel);
+            return 0;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Metadata journal too large: " + size + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        channel.position(0);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) break;
+        }
+        buffer.flip();
+        if (buffer.getInt() != JOURNAL_MAGIC || buffer.getLong() != generation) {
+            // Written before the current metadata.yml, which already contains all of it
+            logger.info("VFS: Discarding a metadata journal from an older metadata.yml.");
+            resetJournal(channel);
+            return 0;
+        }
+
+        long valid = buffer.position();
+        int applied = 0;
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) break;
+
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) break;
+
+            try {
+                RecordCodec.decode(payload, this::apply);
+            } catch (IOException e) {
+                break;
+            }
+            buffer.position(buffer.position() + length);
+            valid = buffer.position();
+            applied++;
+        }
+
+        if (valid < size) {
+            logger.warning("VFS: Dropped " + (size - valid) + " bytes of an incomplete metadata journal entry.");
+            channel.truncate(valid);
+        }
+        channel.position(valid);
+        journalEntries = applied;
+        return applied;
+    }
+
+    private Void apply(ByteBuffer in) throws IOException {
+        byte op = in.get();
+        String world = RecordCodec.readString(in);
+        String key = RecordCodec.readString(in);
+        switch (op) {
+            case SET: {
+                Object value = RecordCodec.readValue(in);
+                if (value != null) {
+                    tags.computeIfAbsent(world, k -> new LinkedHashMap<>()).put(key, value);
+                }
+                break;
+            }
+            case REMOVE: {
+                Map<String, Object> worldTags = tags.get(world);
+                if (worldTags != null) {
+                    worldTags.remove(key);
+                    if (worldTags.isEmpty()) {
+                        tags.remove(world);
+                    }
+                }
+                break;
+            }
+            default:
+                throw new IOException("Unknown journal entry type " + op);
+        }
+        return null;
+    }
+
+    /**
+     * Queue a flush. MUST hold the lock; close() stops the executor under it, so the schedule is never rejected.
+     */
+    private void schedule(long delayMillis) {
+        if (executor.isShutdown()) return;
+        queued = true;
+        scheduled = executor.schedule(this::flushQuietly, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushQuietly() {
+        synchronized (lock) {
+            queued = false;
+        }
+        boolean failed = false;
+        try {
+            flush();
+        } catch (IOException e) {
+            failed = true;
+            logger.log(Level.SEVERE, "Could not write the metadata journal, retrying in " + (RETRY_MILLIS / 1000) + "s", e);
+        }
+        synchronized (lock) {
+            // Changes made while this flush ran, or a failed batch put back, need another flush
+            if (!pending.isEmpty() && !queued) {
+                schedule(failed ? RETRY_MILLIS : flushIntervalMillis);
+            }
+        }
+    }
+
+    /**
+     * Frame one journal entry: payload length, CRC32 of the payload, then the payload itself.
+     */
+    private static byte[] encode(byte op, Payload payload) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(op);
+            payload.write(out);
+            out.flush();
+
+            byte[] entry = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(entry, 8, entry.length - 8);
+            ByteBuffer.wrap(entry).putInt(entry.length - 8).putInt((int) crc.getValue());
+            return entry;
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * When a tag change is considered saved.
+     */
+    public enum Durability {
+        // Appended and synced before set returns
+        SYNC,
+        // Appended and synced together once per flush interval; a crash loses at most one interval
+        BATCH,
+        // Appended once per flush interval but never synced; survives a server crash, not a power loss
+        LAZY
+    }
+
+    @FunctionalInterface
+    private interface Payload {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * @param appended Tag changes recorded since startup.
+     * @param pending Tag changes not yet written to the journal.
+     * @param journalEntries Entries in the journal that are not yet folded into metadata.yml.
+     * @param replayed Journal entries replayed on startup.
+     */
+    public record Stats(String durability, int worlds, long appended, int pending, long flushes, long syncs, long bytesWritten,
+                        double averageFlushMillis, long lastFlushMillis, long journalEntries, long compactions,
+                        long lastCompactionMillis, long snapshotBytes, long failures, long loadMillis, int replayed) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.spygamingog.spycore.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of world records and tag values for the journals and their snapshots.
+ * Written through a {@link DataOutputStream}, read back from a {@link ByteBuffer}.
+ */
+final class RecordCodec {
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte STRING = 5;
+
+    private RecordCodec() {
+    }
+
+    static void writeRecord(DataOutputStream out, WorldRecord record) throws IOException {
+        writeString(out, record.container());
+        writeString(out, record.name());
+        out.writeBoolean(record.hibernate());
+        writeString(out, record.generator());
+        writeString(out, record.environment());
+
+        out.writeInt(record.settings().size());
+        for (Map.Entry<String, Object> setting : record.settings().entrySet()) {
+            writeString(out, setting.getKey());
+            writeValue(out, setting.getValue());
+        }
+
+        WorldRecord.StoredSpawn spawn = record.safeSpawn();
+        out.writeBoolean(spawn != null);
+        if (spawn != null) {
+            out.writeInt(spawn.spawnX());
+            out.writeInt(spawn.spawnY());
+            out.writeInt(spawn.spawnZ());
+            out.writeDouble(spawn.x());
+            out.writeDouble(spawn.y());
+            out.writeDouble(spawn.z());
+        }
+    }
+
+    static WorldRecord readRecord(ByteBuffer in) throws IOException {
+        String container = readString(in);
+        String name = readString(in);
+        boolean hibernate = in.get() != 0;
+        String generator = readString(in);
+        String environment = readString(in);
+
+        int settingCount = readCount(in);
+        Map<String, Object> settings = new LinkedHashMap<>();
+        for (int i = 0; i < settingCount; i++) {
+            String key = readString(in);
+            Object value = readValue(in);
+            if (key != null && value != null) {
+                settings.put(key, value);
+            }
+        }
+
+        WorldRecord.StoredSpawn spawn = null;
+        if (in.get() != 0) {
+            spawn = new WorldRecord.StoredSpawn(in.getInt(), in.getInt(), in.getInt(), in.getDouble(), in.getDouble(), in.getDouble());
+        }
+        return new WorldRecord(container, name, hibernate, generator, environment, settings, spawn);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length == -1) return null;
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Corrupt string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int readCount(ByteBuffer in) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IOException("Corrupt count " + count);
+        }
+        return count;
+    }
+
+    static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INT);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else {
+            out.writeByte(STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    static Object readValue(ByteBuffer in) throws IOException {
+        byte type = in.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return in.get() != 0;
+            case INT:
+                return in.getInt();
+            case LONG:
+                return in.getLong();
+            case DOUBLE:
+                return in.getDouble();
+            case STRING:
+                return readString(in);
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    /**
+     * Run a decoder, turning reads past the end of the buffer into an {@link IOException}.
+     */
+    static <T> T decode(ByteBuffer in, Decoder<T> decoder) throws IOException {
+        try {
+            return decoder.decode(in);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated record", e);
+        }
+    }
+
+    @FunctionalInterface
+    interface Decoder<T> {
+        T decode(ByteBuffer in) throws IOException;
+    }
+}
@@ -0,0 +1,108 @@
+package com.spygamingog.spycore.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps world records to and from the {@code worlds.yml} layout.
+ * YAML is the human editable import/export format of every {@link WorldRegistryStore}.
+ */
+public final class RegistryYaml {
+    public static final String WORLDS = "worlds";
+    public static final String WHITELIST = "hibernation-whitelist";
+
+    private RegistryYaml() {
+    }
+
+    /**
+     * Read every world record below the {@code worlds} section.
+     */
+    public static Map<String, WorldRecord> readWorlds(ConfigurationSection root) {
+        Map<String, WorldRecord> records = new LinkedHashMap<>();
+        ConfigurationSection worlds = root.getConfigurationSection(WORLDS);
+        if (worlds == null) return records;
+
+        for (String key : worlds.getKeys(false)) {
+            ConfigurationSection section = worlds.getConfigurationSection(key);
+            if (section != null) {
+                records.put(key, read(section));
+            }
+        }
+        return records;
+    }
+
+    public static WorldRecord read(ConfigurationSection section) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        ConfigurationSection settingsSection = section.getConfigurationSection("settings");
+        if (settingsSection != null) {
+            settings.putAll(settingsSection.getValues(false));
+        }
+
+        WorldRecord.StoredSpawn safeSpawn = null;
+        String spawn = section.getString("safe-spawn.spawn");
+        if (spawn != null) {
+            String[] parts = spawn.split(",");
+            try {
+                safeSpawn = new WorldRecord.StoredSpawn(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                        section.getDouble("safe-spawn.x"), section.getDouble("safe-spawn.y"), section.getDouble("safe-spawn.z"));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException ignored) {
+                // Unreadable entries are resolved again on the next load
+            }
+        }
+
+        return new WorldRecord(section.getString("container"), section.getString("name"), section.getBoolean("hibernate", false),
+                section.getString("generator"), section.getString("environment"), settings, safeSpawn);
+    }
+
+    /**
+     * Replace the entry of a key below the {@code worlds} section; a null record removes it.
+     */
+    public static void write(ConfigurationSection root, String key, WorldRecord record) {
+        String path = WORLDS + "." + key;
+        root.set(path, null);
+        if (record == null) return;
+
+        ConfigurationSection section = root.createSection(path);
+        section.set("container", record.container());
+        section.set("name", record.name());
+        section.set("hibernate", record.hibernate());
+        if (record.generator() != null && !record.generator().isEmpty()) {
+            section.set("generator", record.generator());
+        }
+        section.set("environment", record.environment());
+        for (Map.Entry<String, Object> setting : record.settings().entrySet()) {
+            section.set("settings." + setting.getKey(), setting.getValue());
+        }
+        WorldRecord.StoredSpawn safeSpawn = record.safeSpawn();
+        if (safeSpawn != null) {
+            section.set("safe-spawn.spawn", safeSpawn.spawnX() + "," + safeSpawn.spawnY() + "," + safeSpawn.spawnZ());
+            section.set("safe-spawn.x", safeSpawn.x());
+            section.set("safe-spawn.y", safeSpawn.y());
+            section.set("safe-spawn.z", safeSpawn.z());
+        }
+    }
+
+    /**
+     * Write a complete registry to a YAML file.
+     */
+    public static void export(File file, Map<String, WorldRecord> records, Collection<String> whitelist) throws IOException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set(WHITELIST, new ArrayList<>(whitelist));
+        for (Map.Entry<String, WorldRecord> entry : records.entrySet()) {
+            write(yaml, entry.getKey(), entry.getValue());
+        }
+        yaml.save(file);
+    }
+
+    public static List<String> readWhitelist(ConfigurationSection root) {
+        return root.getStringList(WHITELIST);
+    }
+}
@@ -0,0 +1,47 @@
+package com.spygamingog.spycore.storage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persisted registration of one managed world, as kept by a {@link WorldRegistryStore}.
+ * Records are immutable; updates replace the whole record.
+ * @param container Container path, or null for root worlds.
+ * @param environment Name of the {@link org.bukkit.World.Environment}, or null if unknown.
+ * @param settings Settings set with {@code /spy world modify}, keyed by lower case setting name.
+ * @param safeSpawn Last resolved safe location near the spawn, or null.
+ */
+public record WorldRecord(String container, String name, boolean hibernate, String generator, String environment,
+                          Map<String, Object> settings, StoredSpawn safeSpawn) {
+
+    public WorldRecord {
+        settings = settings == null ? Map.of() : Map.copyOf(settings);
+    }
+
+    public static WorldRecord of(String container, String name) {
+        return new WorldRecord(container, name, false, null, null, Map.of(), null);
+    }
+
+    /**
+     * Get a copy with one setting changed; a null value removes it.
+     */
+    public WorldRecord withSetting(String setting, Object value) {
+        Map<String, Object> updated = new LinkedHashMap<>(settings);
+        if (value == null) {
+            updated.remove(setting);
+        } else {
+            updated.put(setting, value);
+        }
+        return new WorldRecord(container, name, hibernate, generator, environment, updated, safeSpawn);
+    }
+
+    public WorldRecord withSafeSpawn(StoredSpawn safeSpawn) {
+        return new WorldRecord(container, name, hibernate, generator, environment, settings, safeSpawn);
+    }
+
+    /**
+     * A safe location and the spawn block it was resolved for.
+     */
+    public record StoredSpawn(int spawnX, int spawnY, int spawnZ, double x, double y, double z) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.spygamingog.spycore.storage;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Persistent registry of managed worlds and the hibernation whitelist.
+ * The whole registry is held in memory once opened; reads never touch the disk.
+ * Writes are applied in memory immediately and persisted in the background, so every method is cheap to
+ * call from the main thread. Implementations are thread-safe.
+ */
+public interface WorldRegistryStore {
+
+    /**
+     * Get the record stored under a key, or null.
+     */
+    WorldRecord get(String key);
+
+    /**
+     * Get a snapshot of every record, keyed by config key.
+     */
+    Map<String, WorldRecord> getAll();
+
+    /**
+     * Atomically replace the record under a key. The updater receives null if there is none,
+     * and returning null removes the record.
+     */
+    WorldRecord update(String key, UnaryOperator<WorldRecord> updater);
+
+    /**
+     * Apply several updates atomically, as one change. They are persisted together,
+     * so a batch costs one write instead of one per record.
+     */
+    void updateAll(Map<String, UnaryOperator<WorldRecord>> updaters);
+
+    default void put(String key, WorldRecord record) {
+        update(key, current -> record);
+    }
+
+    default void remove(String key) {
+        update(key, current -> null);
+    }
+
+    List<String> getWhitelist();
+
+    void setWhitelist(Collection<String> whitelist);
+
+    /**
+     * Write every pending change now, on the calling thread.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flush and release the store. It must not be used afterwards.
+     */
+    void close();
+
+    Stats getStats();
+
+    /**
+     * Persistence metrics of a store.
+     * @param loadMillis Time it took to open the store and read every record.
+     * @param journalEntries Entries appended since the last compaction; always 0 for stores without a journal.
+     */
+    record Stats(String type, int records, long flushes, long bytesWritten, double averageFlushMillis, long lastFlushMillis,
+                 long loadMillis, long journalEntries, long compactions, long failures, boolean dirty) {
+    }
+}
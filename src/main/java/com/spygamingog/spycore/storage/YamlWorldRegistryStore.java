@@ -0,0 +1,120 @@
+package com.spygamingog.spycore.storage;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Registry store backed by a single {@code worlds.yml}.
+ * Every change rewrites the whole file, coalesced by an {@link AsyncYamlWriter}, so it suits small registries;
+ * large ones should use the {@link JournalWorldRegistryStore}.
+ */
+public class YamlWorldRegistryStore implements WorldRegistryStore {
+    private final YamlConfiguration yaml;
+    private final Object lock = new Object();
+    private final AsyncYamlWriter writer;
+    private final Map<String, WorldRecord> records = new ConcurrentHashMap<>();
+    private final List<String> whitelist;
+    private final long loadMillis;
+
+    public YamlWorldRegistryStore(File file, long flushIntervalMillis, Logger logger) {
+        long start = System.nanoTime();
+        this.yaml = YamlConfiguration.loadConfiguration(file);
+        this.records.putAll(RegistryYaml.readWorlds(yaml));
+        this.whitelist = new ArrayList<>(RegistryYaml.readWhitelist(yaml));
+        this.loadMillis = (System.nanoTime() - start) / 1_000_000;
+        this.writer = new AsyncYamlWriter("worlds", yaml, lock, file, flushIntervalMillis, logger);
+    }
+
+    @Override
+    public WorldRecord get(String key) {
+        return records.get(key);
+    }
+
+    @Override
+    public Map<String, WorldRecord> getAll() {
+        return new LinkedHashMap<>(records);
+    }
+
+    @Override
+    public WorldRecord update(String key, UnaryOperator<WorldRecord> updater) {
+        synchronized (lock) {
+            WorldRecord current = records.get(key);
+            WorldRecord updated = apply(key, updater);
+            if (updated != current) {
+                writer.markDirty();
+            }
+            return updated;
+        }
+    }
+
+    @Override
+    public void updateAll(Map<String, UnaryOperator<WorldRecord>> updaters) {
+        synchronized (lock) {
+            boolean changed = false;
+            for (Map.Entry<String, UnaryOperator<WorldRecord>> entry : updaters.entrySet()) {
+                WorldRecord current = records.get(entry.getKey());
+                changed |= apply(entry.getKey(), entry.getValue()) != current;
+            }
+            if (changed) {
+                writer.markDirty();
+            }
+        }
+    }
+
+    private WorldRecord apply(String key, UnaryOperator<WorldRecord> updater) {
+        WorldRecord current = records.get(key);
+        WorldRecord updated = updater.apply(current);
+        if (updated == current) return current;
+        if (updated == null) {
+            records.remove(key);
+        } else {
+            records.put(key, updated);
+        }
+        RegistryYaml.write(yaml, key, updated);
+        return updated;
+    }
+
+    @Override
+    public List<String> getWhitelist() {
+        synchronized (lock) {
+            return new ArrayList<>(whitelist);
+        }
+    }
+
+    @Override
+    public void setWhitelist(Collection<String> whitelist) {
+        synchronized (lock) {
+            this.whitelist.clear();
+            this.whitelist.addAll(whitelist);
+            yaml.set(RegistryYaml.WHITELIST, new ArrayList<>(whitelist));
+            writer.markDirty();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+    }
+
+    @Override
+    public Stats getStats() {
+        AsyncYamlWriter.Stats stats = writer.getStats();
+        return new Stats("yaml", records.size(), stats.flushes(), stats.bytesWritten(), stats.averageFlushMillis(), stats.lastFlushMillis(),
+                loadMillis, 0, 0, stats.failures(), stats.dirty());
+    }
+}
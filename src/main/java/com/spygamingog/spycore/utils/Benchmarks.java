@@ -0,0 +1,389 @@
+package com.spygamingog.spycore.utils;
+
+import com.spygamingog.spycore.managers.WorldManager;
+import com.spygamingog.spycore.storage.JournalWorldRegistryStore;
+import com.spygamingog.spycore.storage.RegistryYaml;
+import com.spygamingog.spycore.storage.WorldRecord;
+import com.spygamingog.spycore.storage.YamlWorldRegistryStore;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * In-process micro benchmarks backing {@code /spy bench}.
+ * Every benchmark runs off the main thread and returns human readable report lines.
+ */
+public final class Benchmarks {
+    // Written with every benchmark result so the JIT cannot drop the measured loops
+    private static volatile long blackhole;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Compare the commons-io directory copy against the parallel NIO copier.
+     * The engines alternate every round so neither one benefits more from a warm page cache.
+     */
+    public static List<String> copy(WorldCopier copier, File source, File scratchFolder, int rounds) throws IOException {
+        long bytes = FileUtils.sizeOfDirectory(source);
+        long commonsTotal = 0;
+        long nioTotal = 0;
+        int cachedRounds = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            File commonsTarget = new File(scratchFolder, "commons-" + round);
+            File nioTarget = new File(scratchFolder, "nio-" + round);
+            try {
+                long start = System.nanoTime();
+                FileUtils.copyDirectory(source, commonsTarget);
+                commonsTotal += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                if (copier.copy(source.toPath(), nioTarget.toPath()).fromCache()) {
+                    cachedRounds++;
+                }
+                nioTotal += System.nanoTime() - start;
+            } finally {
+                FileUtils.deleteQuietly(commonsTarget);
+                FileUtils.deleteQuietly(nioTarget);
+            }
+        }
+
+        long commonsMillis = commonsTotal / rounds / 1_000_000;
+        long nioMillis = nioTotal / rounds / 1_000_000;
+        List<String> report = new ArrayList<>();
+        report.add("Copy benchmark: " + source.getName() + " (" + (bytes / 1048576) + " MB, " + rounds + " rounds)");
+        report.add("  commons-io: " + commonsMillis + "ms avg");
+        report.add("  parallel nio: " + nioMillis + "ms avg" + (cachedRounds > 0 ? " (" + cachedRounds + " rounds served from template cache)" : ""));
+        report.add("  speedup: " + (nioMillis == 0 ? "n/a" : String.format("%.2fx", (double) commonsMillis / nioMillis)));
+        return report;
+    }
+
+    /**
+     * Compare the old linear alias scan against {@link WorldManager#getAliasForWorld(String)} for world-to-alias lookups.
+     * Both run against the live registry of the given world manager and look up random registered worlds,
+     * so the result reflects this server's registry size.
+     */
+    public static List<String> aliasLookup(WorldManager worldManager, int lookups) {
+        Map<String, String> aliases = worldManager.getWorldAliases();
+        String[] names = aliases.values().toArray(new String[0]);
+        List<String> report = new ArrayList<>();
+        if (names.length == 0) {
+            report.add("Alias lookup benchmark: no registered worlds to look up");
+            return report;
+        }
+        int worlds = names.length;
+
+        // Warm up both paths so the JIT has compiled them before timing
+        long sink = 0;
+        for (int i = 0; i < Math.min(lookups, 10_000); i++) {
+            sink += scan(aliases, names[i % worlds]).length() + worldManager.getAliasForWorld(names[i % worlds]).length();
+        }
+
+        java.util.Random random = new java.util.Random(42);
+        int[] order = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            order[i] = random.nextInt(worlds);
+        }
+
+        long start = System.nanoTime();
+        for (int i : order) {
+            sink += scan(aliases, names[i]).length();
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i : order) {
+            sink += worldManager.getAliasForWorld(names[i]).length();
+        }
+        long indexNanos = System.nanoTime() - start;
+        blackhole = sink;
+
+        report.add("Alias lookup benchmark: " + worlds + " registered worlds, " + lookups + " lookups");
+        report.add(String.format("  linear scan: %.1f ns/lookup", (double) scanNanos / lookups));
+        report.add(String.format("  getAliasForWorld: %.1f ns/lookup", (double) indexNanos / lookups));
+        report.add("  speedup: " + (indexNanos == 0 ? "n/a" : String.format("%.0fx", (double) scanNanos / indexNanos)));
+        return report;
+    }
+
+    /**
+     * Compare how long the YAML and the journaled registry take to open at different registry sizes,
+     * and how many bytes a single world update writes with each of them.
+     * The journaled registry is opened from a snapshot plus {@code updates} journal entries, as after a normal run.
+     */
+    public static List<String> registryStartup(File scratchFolder, int[] sizes, int updates, Logger logger) throws IOException {
+        List<String> report = new ArrayList<>();
+        report.add("Registry startup benchmark (" + updates + " journal entries on top of the snapshot)");
+        scratchFolder.mkdirs();
+        try {
+            for (int size : sizes) {
+                Map<String, WorldRecord> records = new LinkedHashMap<>();
+                String[] keys = new String[size];
+                for (int i = 0; i < size; i++) {
+                    String container = "bench/" + (i % 16);
+                    String name = "arena_" + i;
+                    keys[i] = container.replace(".", "_") + "_" + name;
+                    records.put(keys[i], new WorldRecord(container, name, false, null, "NORMAL",
+                            Map.of("mobspawn", false, "difficulty", "PEACEFUL"), new WorldRecord.StoredSpawn(0, 64, 0, 0.5, 65, 0.5)));
+                }
+
+                File yamlFile = new File(scratchFolder, "worlds-" + size + ".yml");
+                RegistryYaml.export(yamlFile, records, List.of());
+                long start = System.nanoTime();
+                YamlWorldRegistryStore yaml = new YamlWorldRegistryStore(yamlFile, 1000, logger);
+                long yamlMillis = (System.nanoTime() - start) / 1_000_000;
+                blackhole = yaml.getAll().size();
+                yaml.close();
+
+                File journalFolder = new File(scratchFolder, "registry-" + size);
+                JournalWorldRegistryStore journal = new JournalWorldRegistryStore(journalFolder, 1000, Integer.MAX_VALUE, logger);
+                journal.importAll(records, List.of());
+                long before = journal.getStats().bytesWritten();
+                for (int i = 0; i < updates; i++) {
+                    boolean fly = i % 2 == 0;
+                    journal.update(keys[i % size], record -> record.withSetting("fly", fly));
+                }
+                journal.flush();
+                long bytesPerUpdate = (journal.getStats().bytesWritten() - before) / Math.max(1, updates);
+                journal.close();
+
+                start = System.nanoTime();
+                JournalWorldRegistryStore reopened = new JournalWorldRegistryStore(journalFolder, 1000, Integer.MAX_VALUE, logger);
+                long journalMillis = (System.nanoTime() - start) / 1_000_000;
+                blackhole = reopened.getAll().size();
+                reopened.close();
+
+                report.add("  " + size + " worlds:");
+                report.add("    yaml: " + yamlMillis + "ms to load, " + (yamlFile.length() / 1024) + " KB written per update");
+                report.add("    journal: " + journalMillis + "ms to load, " + bytesPerUpdate + " bytes written per update");
+                FileUtils.deleteQuietly(yamlFile);
+                FileUtils.deleteQuietly(journalFolder);
+            }
+        } finally {
+            FileUtils.deleteQuietly(scratchFolder);
+        }
+        return report;
+    }
+
+    /**
+     * Compare the old linear tag scan against the inverted {@link TagIndex} for matchmaking style queries:
+     * {@code worlds} arenas spread over 4 game containers, each tagged with a mode, a map and a state,
+     * queried for waiting arenas of one mode and map.
+     */
+    public static List<String> tagQuery(int worlds, int queries) {
+        String[] modes = {"solo", "duos", "trios", "squads"};
+        String[] states = {"waiting", "playing", "ending"};
+        int maps = 20;
+
+        Map<String, Map<String, String>> scanned = new HashMap<>();
+        TagIndex index = new TagIndex();
+        for (int i = 0; i < worlds; i++) {
+            String container = "games/" + modes[i % modes.length];
+            String world = "spycore-worlds/" + container + "/arena_" + i;
+            Map<String, String> tags = new HashMap<>();
+            tags.put("mode", modes[i % modes.length]);
+            tags.put("map", "map" + (i / modes.length) % maps);
+            tags.put("state", states[(i / (modes.length * maps)) % states.length]);
+            scanned.put(world, tags);
+            tags.forEach((key, value) -> index.set(world, container, key, value));
+        }
+
+        java.util.Random random = new java.util.Random(42);
+        List<Map<String, String>> workload = new ArrayList<>(queries);
+        for (int i = 0; i < queries; i++) {
+            workload.add(Map.of("mode", modes[random.nextInt(modes.length)].toUpperCase(),
+                    "map", "map" + random.nextInt(maps), "state", "waiting"));
+        }
+
+        // Warm up both paths so the JIT has compiled them before timing
+        long sink = 0;
+        for (int i = 0; i < Math.min(queries, 2_000); i++) {
+            sink += scanTags(scanned, "games", workload.get(i)) + index.find("games", workload.get(i)).size();
+        }
+
+        long start = System.nanoTime();
+        long scanMatches = 0;
+        for (Map<String, String> query : workload) {
+            scanMatches += scanTags(scanned, "games", query);
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long indexMatches = 0;
+        for (Map<String, String> query : workload) {
+            indexMatches += index.find("games", query).size();
+        }
+        long indexNanos = System.nanoTime() - start;
+        blackhole = sink + scanMatches + indexMatches;
+
+        List<String> report = new ArrayList<>();
+        report.add("Tag query benchmark: " + worlds + " worlds, " + queries + " queries, "
+                + String.format("%.1f", (double) indexMatches / queries) + " matches/query"
+                + (scanMatches == indexMatches ? "" : " (MISMATCH: scan found " + scanMatches + ")"));
+        report.add(String.format("  linear scan: %.1f us/query", scanNanos / 1000.0 / queries));
+        report.add(String.format("  inverted index: %.1f us/query", indexNanos / 1000.0 / queries));
+        report.add("  speedup: " + (indexNanos == 0 ? "n/a" : String.format("%.0fx", (double) scanNanos / indexNanos)));
+        return report;
+    }
+
+    /**
+     * Compare {@code players < n ORDER BY lastReset LIMIT 5} done the old way (scan every world, parse its tags,
+     * sort) with the sorted tag index.
+     */
+    public static List<String> rangeQuery(int worlds, int queries) {
+        java.util.Random random = new java.util.Random(42);
+        TagIndex index = new TagIndex();
+        Map<String, Map<String, String>> scanned = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < worlds; i++) {
+            String world = "spycore-worlds/games/arena_" + i;
+            Map<String, String> tags = Map.of("players", Integer.toString(random.nextInt(16)),
+                    "lastReset", Long.toString(now - random.nextInt(86_400_000)));
+            scanned.put(world, tags);
+            tags.forEach((key, value) -> index.set(world, "games", key, value));
+        }
+
+        int[] limits = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            limits[i] = 1 + random.nextInt(15);
+        }
+
+        // Warm up both paths so the JIT has compiled them before timing
+        long sink = 0;
+        for (int i = 0; i < Math.min(queries, 200); i++) {
+            sink += scanRange(scanned, limits[i]).size() + index.query(playersBelow(limits[i])).size();
+        }
+
+        long start = System.nanoTime();
+        long scanMatches = 0;
+        for (int limit : limits) {
+            scanMatches += scanRange(scanned, limit).size();
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long indexMatches = 0;
+        for (int limit : limits) {
+            indexMatches += index.query(playersBelow(limit)).size();
+        }
+        long indexNanos = System.nanoTime() - start;
+        blackhole = sink + scanMatches + indexMatches;
+
+        List<String> report = new ArrayList<>();
+        report.add("Range query benchmark: " + worlds + " worlds, " + queries + " queries of players < n ORDER BY lastReset LIMIT 5"
+                + (scanMatches == indexMatches ? "" : " (MISMATCH: scan found " + scanMatches + ", index " + indexMatches + ")"));
+        report.add(String.format("  parse and sort: %.1f us/query", scanNanos / 1000.0 / queries));
+        report.add(String.format("  sorted index: %.1f us/query", indexNanos / 1000.0 / queries));
+        report.add("  speedup: " + (indexNanos == 0 ? "n/a" : String.format("%.0fx", (double) scanNanos / indexNanos)));
+        return report;
+    }
+
+    private static TagQuery playersBelow(int players) {
+        return TagQuery.in("games").lessThan("players", players).orderBy("lastReset").limit(5);
+    }
+
+    // How plugins filtered numeric tags before typed queries
+    private static List<String> scanRange(Map<String, Map<String, String>> worlds, int players) {
+        return worlds.entrySet().stream()
+                .filter(entry -> Integer.parseInt(entry.getValue().get("players")) < players)
+                .sorted(java.util.Comparator.comparingLong((Map.Entry<String, Map<String, String>> entry) -> Long.parseLong(entry.getValue().get("lastReset")))
+                        .thenComparing(Map.Entry::getKey))
+                .limit(5)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Hammer the tag allocator with concurrent matchmaking pops: every thread claims a WAITING world, checks
+     * no other thread holds it, and releases it again. Fewer worlds than threads means more contention.
+     */
+    public static List<String> claims(int worlds, int threads, int popsPerThread) throws InterruptedException {
+        TagIndex index = new TagIndex();
+        for (int i = 0; i < worlds; i++) {
+            index.set("spycore-worlds/games/arena_" + i, "games", "state", "WAITING");
+        }
+        TagAllocator allocator = new TagAllocator(index, world -> "games");
+        Map<String, String> waiting = Map.of("state", "WAITING");
+        Set<String> held = ConcurrentHashMap.newKeySet();
+        AtomicLong doubleClaims = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                ready.countDown();
+                go.await();
+                for (int i = 0; i < popsPerThread; i++) {
+                    TagAllocator.Lease lease = allocator.claim("games", waiting, "state", "INGAME", 0);
+                    if (lease == null) continue;
+                    if (!held.add(lease.getWorld())) doubleClaims.incrementAndGet();
+                    held.remove(lease.getWorld());
+                    allocator.release(lease);
+                }
+                return null;
+            }));
+        }
+
+        long start;
+        try {
+            ready.await();
+            start = System.nanoTime();
+            go.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        long nanos = System.nanoTime() - start;
+
+        TagAllocator.Stats stats = allocator.getStats();
+        long pops = stats.claims() + stats.misses();
+        List<String> report = new ArrayList<>();
+        report.add("Claim benchmark: " + worlds + " worlds, " + threads + " threads, " + pops + " pops");
+        report.add(String.format("  throughput: %.0f pops/s", pops * 1_000_000_000.0 / Math.max(1, nanos)));
+        report.add(String.format("  latency: %.1f us avg, %.0f us max", stats.averageMicros(), stats.maxMicros()));
+        report.add(String.format("  claimed: %d, no free world: %d, conflicts: %.2f per pop", stats.claims(), stats.misses(),
+                (double) stats.conflicts() / Math.max(1, pops)));
+        report.add("  double claims: " + doubleClaims.get() + (doubleClaims.get() == 0 ? "" : " (BROKEN)"));
+        return report;
+    }
+
+    // The query MetadataManager.findWorlds ran before the index
+    private static int scanTags(Map<String, Map<String, String>> worlds, String container, Map<String, String> required) {
+        return (int) worlds.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("spycore-worlds/" + container + "/"))
+                .filter(entry -> required.entrySet().stream()
+                        .allMatch(tag -> entry.getValue().containsKey(tag.getKey()) && entry.getValue().get(tag.getKey()).equalsIgnoreCase(tag.getValue())))
+                .count();
+    }
+
+    // The lookup WorldManager.getAliasForWorld used before the reverse index
+    private static String scan(Map<String, String> aliases, String worldName) {
+        for (Map.Entry<String, String> entry : aliases.entrySet()) {
+            if (entry.getValue().equals(worldName)) {
+                return entry.getKey();
+            }
+        }
+        return worldName;
+    }
+}
@@ -0,0 +1,135 @@
+package com.spygamingog.spycore.utils;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds a safe standing spot near a world's spawn by scanning {@link ChunkSnapshot}s.
+ * Snapshots are immutable copies of chunk data, so the scan itself can run on any thread;
+ * only taking the snapshots has to happen on the main thread.
+ */
+public final class SafeLocationSearch {
+    // Blocks scanned around the spawn in each direction (9x9 columns)
+    public static final int RADIUS = 4;
+
+    private static final Set<Material> PASSABLE = EnumSet.of(Material.AIR, Material.CAVE_AIR);
+
+    private static final Set<Material> HARMFUL_GROUND = EnumSet.of(
+            Material.LAVA, Material.WATER, Material.POWDER_SNOW, Material.MAGMA_BLOCK, Material.POINTED_DRIPSTONE,
+            Material.CACTUS, Material.SWEET_BERRY_BUSH, Material.FIRE, Material.SOUL_FIRE, Material.WITHER_ROSE);
+
+    // Solid, harmless blocks a player can stand on; precomputed so the scan is one bit test per block
+    private static final Set<Material> SAFE_GROUND = EnumSet.noneOf(Material.class);
+
+    static {
+        for (Material material : Material.values()) {
+            if (!material.isLegacy() && material.isBlock() && material.isSolid() && !HARMFUL_GROUND.contains(material)) {
+                SAFE_GROUND.add(material);
+            }
+        }
+    }
+
+    private SafeLocationSearch() {
+    }
+
+    /**
+     * Get the chunk coordinates a search around the given spawn reads, as {@link #key(int, int)} values.
+     */
+    public static Set<Long> chunksAround(int spawnX, int spawnZ) {
+        Set<Long> chunks = new LinkedHashSet<>();
+        for (int x = (spawnX - RADIUS) >> 4; x <= (spawnX + RADIUS) >> 4; x++) {
+            for (int z = (spawnZ - RADIUS) >> 4; z <= (spawnZ + RADIUS) >> 4; z++) {
+                chunks.add(key(x, z));
+            }
+        }
+        return chunks;
+    }
+
+    public static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int chunkZ(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Search for a safe location around the spawn.
+     * Only immutable world properties are read, so this is safe to call off the main thread.
+     * @param snapshots Snapshots of every chunk in {@link #chunksAround(int, int)}, taken with the height map.
+     */
+    public static Location find(World world, Location spawn, Map<Long, ChunkSnapshot> snapshots) {
+        Scan scan = new Scan(snapshots, world.getMinHeight(), world.getMaxHeight());
+        int spawnX = spawn.getBlockX();
+        int spawnZ = spawn.getBlockZ();
+
+        // 1. For Overworld, try the highest block first (very fast)
+        if (world.getEnvironment() == World.Environment.NORMAL) {
+            int highestY = scan.highestY(spawnX, spawnZ);
+            if (scan.isSafe(spawnX, highestY + 1, spawnZ)) return new Location(world, spawnX + 0.5, highestY + 1, spawnZ + 0.5);
+        }
+
+        // 2. Search the surrounding columns
+        for (int x = -RADIUS; x <= RADIUS; x++) {
+            for (int z = -RADIUS; z <= RADIUS; z++) {
+                int currX = spawnX + x;
+                int currZ = spawnZ + z;
+
+                if (world.getEnvironment() == World.Environment.NETHER) {
+                    // For Nether, scan downwards from just below the ceiling
+                    for (int y = 120; y > 32; y--) {
+                        if (scan.isSafe(currX, y, currZ)) return new Location(world, currX + 0.5, y, currZ + 0.5);
+                    }
+                } else {
+                    // For Overworld/others, scan a small range around the surface
+                    int surfaceY = scan.highestY(currX, currZ);
+                    for (int y = surfaceY + 5; y > surfaceY - 10; y--) {
+                        if (scan.isSafe(currX, y, currZ)) return new Location(world, currX + 0.5, y, currZ + 0.5);
+                    }
+                }
+            }
+        }
+
+        // Fallback for Overworld: highest block
+        if (world.getEnvironment() == World.Environment.NORMAL) {
+            return new Location(world, spawnX + 0.5, scan.highestY(spawnX, spawnZ) + 1, spawnZ + 0.5);
+        }
+        return spawn.clone().add(0.5, 0, 0.5);
+    }
+
+    private record Scan(Map<Long, ChunkSnapshot> snapshots, int minY, int maxY) {
+        private int highestY(int x, int z) {
+            return snapshot(x, z).getHighestBlockYAt(x & 15, z & 15);
+        }
+
+        private boolean isSafe(int x, int y, int z) {
+            if (y - 1 < minY || y + 1 >= maxY) return false;
+            ChunkSnapshot snapshot = snapshot(x, z);
+            int localX = x & 15;
+            int localZ = z & 15;
+            // Clear space for feet and head, on solid and harmless ground
+            return PASSABLE.contains(snapshot.getBlockType(localX, y, localZ))
+                    && PASSABLE.contains(snapshot.getBlockType(localX, y + 1, localZ))
+                    && SAFE_GROUND.contains(snapshot.getBlockType(localX, y - 1, localZ));
+        }
+
+        private ChunkSnapshot snapshot(int x, int z) {
+            ChunkSnapshot snapshot = snapshots.get(key(x >> 4, z >> 4));
+            if (snapshot == null) {
+                throw new IllegalStateException("Missing chunk snapshot at " + (x >> 4) + ", " + (z >> 4));
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.spygamingog.spycore.utils;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Claims worlds by flipping a tag with compare-and-set on a {@link TagIndex}, e.g. {@code state} from
+ * {@code WAITING} to {@code INGAME}, so two concurrent matchmaking pops never get the same world.
+ * <p>
+ * Each claim is a {@link Lease}. Releasing it, or letting it expire, puts the previous value back, so a
+ * world whose game never started returns to the pool by itself. Leases are registered and dropped under the
+ * index lock, in the same step as the tag change, so an explicit {@link #set} can never be undone by a lease. Claimers start at a random candidate,
+ * which keeps concurrent pops from all racing for the first match.
+ * Safe to use from any thread.
+ */
+public class TagAllocator {
+    private final TagIndex index;
+    // World key to container, needed to update the index
+    private final Function<String, String> containerOf;
+
+    private final Map<LeaseKey, Lease> leases = new ConcurrentHashMap<>();
+
+    private final LongAdder claims = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder claimNanos = new LongAdder();
+    private final AtomicLong maxClaimNanos = new AtomicLong();
+
+    public TagAllocator(TagIndex index, Function<String, String> containerOf) {
+        this.index = index;
+        this.containerOf = containerOf;
+    }
+
+    /**
+     * Claim one world in a container (or its nested containers) that carries every required tag, by setting
+     * {@code key} to {@code value}.
+     * @param required Tags the world must carry; must include {@code key}, e.g. {@code state=WAITING}.
+     * @param leaseMillis How long the claim holds before the previous value is put back, or 0 to hold it until released.
+     * @return The lease, or null if no world matched.
+     */
+    public Lease claim(String container, Map<String, String> required, String key, String value, long leaseMillis) {
+        if (!required.containsKey(key)) {
+            throw new IllegalArgumentException("The claimed tag '" + key + "' must be one of the required tags");
+        }
+        long start = System.nanoTime();
+        List<String> candidates = new ArrayList<>(index.find(container, required));
+        int lost = 0;
+        Lease lease = null;
+        if (!candidates.isEmpty()) {
+            int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+            for (int i = 0; i < candidates.size() && lease == null; i++) {
+                String world = candidates.get((offset + i) % candidates.size());
+                String worldContainer = containerOf.apply(world);
+                synchronized (index) {
+                    String previous = index.compareAndSet(world, worldContainer, required, key, value);
+                    if (previous == null) {
+                        // Another claimer or a tag change got there first
+                        lost++;
+                        continue;
+                    }
+                    lease = new Lease(world, worldContainer, key, value, previous, expiry(leaseMillis));
+                    leases.put(new LeaseKey(world, key), lease);
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        claimNanos.add(elapsed);
+        maxClaimNanos.accumulateAndGet(elapsed, Math::max);
+        conflicts.add(lost);
+        (lease != null ? claims : misses).increment();
+        return lease;
+    }
+
+    /**
+     * Extend a lease so it expires {@code leaseMillis} from now, or never if 0.
+     * @return False if the lease was already released, expired or forgotten.
+     */
+    public boolean renew(Lease lease, long leaseMillis) {
+        if (leases.get(new LeaseKey(lease.world, lease.key)) != lease) return false;
+        lease.expiresAt = expiry(leaseMillis);
+        return true;
+    }
+
+    /**
+     * End a lease and put the previous value back, unless the tag was changed since the claim.
+     * @return False if the lease was already released, expired or forgotten.
+     */
+    public boolean release(Lease lease) {
+        synchronized (index) {
+            if (!leases.remove(new LeaseKey(lease.world, lease.key), lease)) return false;
+            restore(lease);
+        }
+        released.increment();
+        return true;
+    }
+
+    /**
+     * Set a tag explicitly, or remove it if the value is null. Any lease on the tag is dropped without restoring.
+     */
+    public void set(String world, String container, String key, String value) {
+        synchronized (index) {
+            leases.remove(new LeaseKey(world, key));
+            index.set(world, container, key, value);
+        }
+    }
+
+    /**
+     * Drop the lease on a world's tag without restoring anything, e.g. because the claimed value was confirmed.
+     * @return The dropped lease, or null if there was none.
+     */
+    public Lease forget(String world, String key) {
+        return leases.remove(new LeaseKey(world, key));
+    }
+
+    /**
+     * Release every lease that expired before {@code now}.
+     * @return The number of expired leases.
+     */
+    public int expire(long now) {
+        int count = 0;
+        Iterator<Lease> iterator = leases.values().iterator();
+        while (iterator.hasNext()) {
+            Lease lease = iterator.next();
+            if (lease.expiresAt == 0 || lease.expiresAt > now) continue;
+            synchronized (index) {
+                if (leases.remove(new LeaseKey(lease.world, lease.key), lease)) {
+                    restore(lease);
+                    count++;
+                }
+            }
+        }
+        expired.add(count);
+        return count;
+    }
+
+    public Stats getStats() {
+        long attempts = claims.sum() + misses.sum();
+        return new Stats(claims.sum(), misses.sum(), conflicts.sum(), released.sum(), expired.sum(), leases.size(),
+                attempts == 0 ? 0 : claimNanos.sum() / attempts / 1000.0, maxClaimNanos.get() / 1000.0);
+    }
+
+    /**
+     * MUST hold the index lock, together with removing the lease.
+     */
+    private void restore(Lease lease) {
+        index.compareAndSet(lease.world, lease.container, Map.of(lease.key, lease.value), lease.key, lease.previousValue);
+    }
+
+    private static long expiry(long leaseMillis) {
+        return leaseMillis > 0 ? System.currentTimeMillis() + leaseMillis : 0;
+    }
+
+    /**
+     * A claimed world. The claimed value is in memory only until the claim is confirmed or the tag is set.
+     */
+    @Getter
+    public static final class Lease {
+        // Full path of the claimed world, e.g. "spycore-worlds/Bedwars/arena_1"
+        private final String world;
+        private final String container;
+        private final String key;
+        private final String value;
+        // Value the tag had before the claim, put back on release or expiry
+        private final String previousValue;
+        // Epoch millis, or 0 for no expiry
+        private volatile long expiresAt;
+
+        private Lease(String world, String container, String key, String value, String previousValue, long expiresAt) {
+            this.world = world;
+            this.container = container;
+            this.key = key;
+            this.value = value;
+            this.previousValue = previousValue;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private record LeaseKey(String world, String key) {
+    }
+
+    /**
+     * @param conflicts Candidates lost to a concurrent claimer or tag change; each one cost an extra attempt.
+     * @param averageMicros Average time per claim call, including misses.
+     */
+    public record Stats(long claims, long misses, long conflicts, long released, long expired, int active,
+                        double averageMicros, double maxMicros) {
+    }
+}
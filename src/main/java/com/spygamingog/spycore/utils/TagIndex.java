@@ -0,0 +1,257 @@
+package com.spygamingog.spycore.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * World tags with an inverted index from (container, tag, value) to the worlds carrying that tag.
+ * A world is indexed under its own container and every parent container, so a query for {@code Bedwars}
+ * also finds worlds in {@code Bedwars/Arenas}. Values are matched case-insensitively.
+ * <p>
+ * Multi-tag queries intersect the postings smallest first, so their cost follows the smallest posting
+ * instead of the number of worlds. Writes are serialized on the index itself, so a caller can make its own
+ * bookkeeping atomic with a write by synchronizing on the index; reads never lock.
+ * <p>
+ * Every value is also parsed once into a {@link TagValue} and kept in a sorted index per (container, tag),
+ * which serves the ranges and ordering of a {@link TagQuery}.
+ */
+public class TagIndex {
+    // Key: World key, Value: Tags as they were set
+    private final Map<String, Map<String, String>> tags = new ConcurrentHashMap<>();
+    // Key: Container, Value: Every tagged world in it or in one of its nested containers
+    private final Map<String, Set<String>> byContainer = new ConcurrentHashMap<>();
+    private final Map<Posting, Set<String>> postings = new ConcurrentHashMap<>();
+    // Key: World key, Value: Typed tag values
+    private final Map<String, Map<String, TagValue>> values = new ConcurrentHashMap<>();
+    private final Map<Posting, NavigableSet<Sorted>> sorted = new ConcurrentHashMap<>();
+
+    /**
+     * Set a tag, or remove it if the value is null.
+     * @param container Container of the world, e.g. "Bedwars/Arenas", or "root".
+     */
+    public synchronized void set(String world, String container, String key, String value) {
+        put(world, container, key, value);
+    }
+
+    /**
+     * Set a tag only if the world still carries every expected tag (values compared case-insensitively).
+     * @param expected Tags the world must carry; must include {@code key}.
+     * @return The previous value of {@code key}, or null if the world no longer matched and nothing was changed.
+     */
+    public synchronized String compareAndSet(String world, String container, Map<String, String> expected, String key, String value) {
+        Map<String, String> worldTags = tags.get(world);
+        if (worldTags == null) return null;
+        for (Map.Entry<String, String> tag : expected.entrySet()) {
+            String current = worldTags.get(tag.getKey());
+            if (current == null || !normalize(current).equals(normalize(tag.getValue()))) return null;
+        }
+        return put(world, container, key, value);
+    }
+
+    private String put(String world, String container, String key, String value) {
+        Map<String, String> worldTags = tags.computeIfAbsent(world, k -> new ConcurrentHashMap<>());
+        String previous = value == null ? worldTags.remove(key) : worldTags.put(key, value);
+        Map<String, TagValue> worldValues = values.computeIfAbsent(world, k -> new ConcurrentHashMap<>());
+        TagValue typed = value == null ? null : TagValue.parse(value);
+        TagValue previousTyped = typed == null ? worldValues.remove(key) : worldValues.put(key, typed);
+
+        for (String scope : scopes(container)) {
+            byContainer.computeIfAbsent(scope, k -> ConcurrentHashMap.newKeySet()).add(world);
+            if (previous != null) {
+                Posting old = new Posting(scope, key, normalize(previous));
+                Set<String> worlds = postings.get(old);
+                if (worlds != null && worlds.remove(world) && worlds.isEmpty()) {
+                    postings.remove(old);
+                }
+                NavigableSet<Sorted> ordered = sorted.get(new Posting(scope, key, null));
+                if (ordered != null) {
+                    ordered.remove(new Sorted(previousTyped, world));
+                }
+            }
+            if (value != null) {
+                postings.computeIfAbsent(new Posting(scope, key, normalize(value)), k -> ConcurrentHashMap.newKeySet()).add(world);
+                sorted.computeIfAbsent(new Posting(scope, key, null), k -> new ConcurrentSkipListSet<>(Sorted.ORDER)).add(new Sorted(typed, world));
+            }
+        }
+        return previous;
+    }
+
+    public String get(String world, String key) {
+        Map<String, String> worldTags = tags.get(world);
+        return worldTags != null ? worldTags.get(key) : null;
+    }
+
+    /**
+     * Get a copy of a world's tags; empty if it has none.
+     */
+    public Map<String, String> getAll(String world) {
+        Map<String, String> worldTags = tags.get(world);
+        return worldTags != null ? new HashMap<>(worldTags) : new HashMap<>();
+    }
+
+    /**
+     * Get the typed value of a tag, or null if the world does not have it.
+     */
+    public TagValue getValue(String world, String key) {
+        Map<String, TagValue> worldValues = values.get(world);
+        return worldValues != null ? worldValues.get(key) : null;
+    }
+
+    /**
+     * Get every tagged world as a read-only view, keyed by world key.
+     */
+    public Map<String, Map<String, String>> asMap() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    /**
+     * Find the worlds in a container (or its nested containers) that carry every required tag.
+     * With no required tags, every tagged world of the container matches.
+     */
+    public Set<String> find(String container, Map<String, String> required) {
+        if (required.isEmpty()) {
+            Set<String> worlds = byContainer.get(container);
+            return worlds != null ? new LinkedHashSet<>(worlds) : new LinkedHashSet<>();
+        }
+
+        List<Set<String>> matches = new ArrayList<>(required.size());
+        for (Map.Entry<String, String> tag : required.entrySet()) {
+            Set<String> worlds = postings.get(new Posting(container, tag.getKey(), normalize(tag.getValue())));
+            if (worlds == null || worlds.isEmpty()) return new LinkedHashSet<>();
+            matches.add(worlds);
+        }
+        matches.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> result = new LinkedHashSet<>();
+        List<Set<String>> others = matches.subList(1, matches.size());
+        for (String world : matches.get(0)) {
+            boolean all = true;
+            for (Set<String> other : others) {
+                if (!other.contains(world)) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                result.add(world);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Run a query and return the matching world keys, in order if the query is sorted.
+     * <p>
+     * With exact matches, their intersection is filtered by the ranges and sorted. Without, the sorted index of
+     * the sort key (or of the first range) is walked in order, already narrowed to that key's range,
+     * and the walk stops at the limit, so {@code players < 8 ORDER BY lastReset LIMIT 5} reads about as many
+     * index entries as it takes to find five matches.
+     */
+    public List<String> query(TagQuery query) {
+        String container = query.getContainer();
+        String orderBy = query.getOrderBy();
+        List<TagQuery.Range> ranges = query.getRanges();
+        int limit = query.getLimit();
+        List<String> result = new ArrayList<>();
+        if (limit == 0) return result;
+
+        if (!query.getEqualTo().isEmpty() || (orderBy == null && ranges.isEmpty())) {
+            List<String> matches = new ArrayList<>();
+            for (String world : find(container, query.getEqualTo())) {
+                if (inRanges(world, ranges, null) && (orderBy == null || getValue(world, orderBy) != null)) {
+                    matches.add(world);
+                }
+            }
+            if (orderBy != null) {
+                Comparator<String> order = Comparator.comparing(world -> new Sorted(getValue(world, orderBy), world), Sorted.ORDER);
+                matches.sort(query.isDescending() ? order.reversed() : order);
+            }
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        }
+
+        String walked = orderBy != null ? orderBy : ranges.get(0).key();
+        NavigableSet<Sorted> index = sorted.get(new Posting(container, walked, null));
+        if (index == null) return result;
+        TagQuery.Range walkedRange = null;
+        for (TagQuery.Range range : ranges) {
+            if (range.key().equals(walked)) {
+                walkedRange = range;
+                break;
+            }
+        }
+        NavigableSet<Sorted> entries = walkedRange == null ? index : narrow(index, walkedRange);
+        if (query.isDescending()) {
+            entries = entries.descendingSet();
+        }
+
+        for (Sorted entry : entries) {
+            if (inRanges(entry.world(), ranges, walkedRange)) {
+                result.add(entry.world());
+                if (result.size() >= limit) break;
+            }
+        }
+        return result;
+    }
+
+    private boolean inRanges(String world, List<TagQuery.Range> ranges, TagQuery.Range skip) {
+        for (TagQuery.Range range : ranges) {
+            if (range == skip) continue;
+            TagValue value = getValue(world, range.key());
+            if (value == null || !range.contains(value)) return false;
+        }
+        return true;
+    }
+
+    // The entries of a sorted index inside a range; the world sentinels make the bounds inclusive or exclusive
+    private static NavigableSet<Sorted> narrow(NavigableSet<Sorted> index, TagQuery.Range range) {
+        Sorted from = new Sorted(range.from(), range.fromInclusive() ? Sorted.FIRST : Sorted.LAST);
+        if (range.to() == null) {
+            return index.tailSet(from, true);
+        }
+        Sorted to = new Sorted(range.to(), range.toInclusive() ? Sorted.LAST : Sorted.FIRST);
+        if (Sorted.ORDER.compare(from, to) > 0) {
+            return Collections.emptyNavigableSet();
+        }
+        return index.subSet(from, true, to, true);
+    }
+
+    /**
+     * The container itself and each of its parents, e.g. "a/b/c" gives "a/b/c", "a/b" and "a".
+     */
+    private static List<String> scopes(String container) {
+        List<String> scopes = new ArrayList<>();
+        String scope = container;
+        while (true) {
+            scopes.add(scope);
+            int slash = scope.lastIndexOf('/');
+            if (slash <= 0) return scopes;
+            scope = scope.substring(0, slash);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    // With a null value, identifies the sorted index of a tag in a container
+    private record Posting(String container, String key, String value) {
+    }
+
+    private record Sorted(TagValue value, String world) {
+        // Sort before and after every world with the same value; world keys are never empty
+        private static final String FIRST = "";
+        private static final String LAST = null;
+        private static final Comparator<Sorted> ORDER = Comparator.comparing(Sorted::value)
+                .thenComparing(Sorted::world, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,184 @@
+package com.spygamingog.spycore.utils;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A metadata query: exact tag matches, numeric or string ranges, an optional sort key and a limit, e.g.
+ * <pre>{@code TagQuery.in("Bedwars").where("state", "WAITING").lessThan("players", 8).orderBy("lastReset").limit(5)}</pre>
+ * Exact matches compare the tag text case-insensitively. Ranges and sorting compare the typed {@link TagValue}, so
+ * "10" sorts after "9". A world without the sort key does not match a sorted query.
+ */
+public final class TagQuery {
+    @Getter
+    private final String container;
+    private final Map<String, String> equalTo = new LinkedHashMap<>();
+    private final List<Range> ranges = new ArrayList<>();
+    @Getter
+    private String orderBy;
+    @Getter
+    private boolean descending;
+    @Getter
+    private int limit = Integer.MAX_VALUE;
+
+    private TagQuery(String container) {
+        this.container = container;
+    }
+
+    /**
+     * Start a query over a container and its nested containers.
+     */
+    public static TagQuery in(String container) {
+        return new TagQuery(container);
+    }
+
+    /**
+     * Parse query tokens as typed in {@code /spy find}: {@code key=value}, {@code key<n}, {@code key<=n},
+     * {@code key>n}, {@code key>=n}, {@code order:key}, {@code order:-key} (descending) and {@code limit:n}.
+     * @throws IllegalArgumentException If a token cannot be parsed.
+     */
+    public static TagQuery parse(String container, List<String> tokens) {
+        TagQuery query = in(container);
+        for (String token : tokens) {
+            if (token.startsWith("order:")) {
+                String key = token.substring("order:".length());
+                if (key.startsWith("-")) {
+                    query.orderByDescending(key.substring(1));
+                } else {
+                    query.orderBy(key);
+                }
+            } else if (token.startsWith("limit:")) {
+                try {
+                    query.limit(Integer.parseInt(token.substring("limit:".length())));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Limit must be a number: " + token);
+                }
+            } else if (token.contains("<=")) {
+                query.atMost(key(token, "<="), operand(token, "<="));
+            } else if (token.contains(">=")) {
+                query.atLeast(key(token, ">="), operand(token, ">="));
+            } else if (token.contains("<")) {
+                query.lessThan(key(token, "<"), operand(token, "<"));
+            } else if (token.contains(">")) {
+                query.greaterThan(key(token, ">"), operand(token, ">"));
+            } else if (token.contains("=")) {
+                query.where(key(token, "="), token.substring(token.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Not a filter: " + token);
+            }
+        }
+        return query;
+    }
+
+    public TagQuery where(String key, String value) {
+        equalTo.put(key, value);
+        return this;
+    }
+
+    public TagQuery lessThan(String key, Object value) {
+        return range(key, null, false, value, false);
+    }
+
+    public TagQuery atMost(String key, Object value) {
+        return range(key, null, false, value, true);
+    }
+
+    public TagQuery greaterThan(String key, Object value) {
+        return range(key, value, false, null, false);
+    }
+
+    public TagQuery atLeast(String key, Object value) {
+        return range(key, value, true, null, false);
+    }
+
+    /**
+     * Match values from {@code from} to {@code to}, both inclusive.
+     */
+    public TagQuery between(String key, Object from, Object to) {
+        return range(key, from, true, to, true);
+    }
+
+    public TagQuery orderBy(String key) {
+        this.orderBy = key;
+        this.descending = false;
+        return this;
+    }
+
+    public TagQuery orderByDescending(String key) {
+        this.orderBy = key;
+        this.descending = true;
+        return this;
+    }
+
+    public TagQuery limit(int limit) {
+        this.limit = Math.max(0, limit);
+        return this;
+    }
+
+    public Map<String, String> getEqualTo() {
+        return Collections.unmodifiableMap(equalTo);
+    }
+
+    public List<Range> getRanges() {
+        return Collections.unmodifiableList(ranges);
+    }
+
+    private TagQuery range(String key, Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        TagValue lower = from == null ? null : bound(from);
+        TagValue upper = to == null ? null : bound(to);
+        boolean numeric = (lower != null ? lower : upper).isNumber();
+        if ((lower != null && lower.isNumber() != numeric) || (upper != null && upper.isNumber() != numeric)) {
+            throw new IllegalArgumentException("Both bounds of '" + key + "' must be numbers or both strings");
+        }
+        // Open ends stop at the edge of the bound's type, so a numeric range never matches strings
+        if (lower == null) {
+            lower = numeric ? TagValue.MIN_NUMBER : TagValue.MIN_STRING;
+            fromInclusive = true;
+        }
+        if (upper == null && numeric) {
+            upper = TagValue.MAX_NUMBER;
+            toInclusive = true;
+        }
+        ranges.add(new Range(key, lower, fromInclusive, upper, toInclusive));
+        return this;
+    }
+
+    private static TagValue bound(Object value) {
+        TagValue bound = value instanceof String ? TagValue.parse((String) value) : TagValue.of(value);
+        if (bound.value() instanceof Boolean) {
+            throw new IllegalArgumentException("Booleans have no range; use where(key, \"" + bound + "\")");
+        }
+        return bound;
+    }
+
+    private static String key(String token, String operator) {
+        String key = token.substring(0, token.indexOf(operator));
+        if (key.isEmpty()) throw new IllegalArgumentException("Missing tag name: " + token);
+        return key;
+    }
+
+    private static String operand(String token, String operator) {
+        String bound = token.substring(token.indexOf(operator) + operator.length());
+        if (bound.isEmpty()) throw new IllegalArgumentException("Missing value: " + token);
+        return bound;
+    }
+
+    /**
+     * Values of {@code key} from {@code from} to {@code to}. A null {@code to} means no upper bound (strings only).
+     */
+    public record Range(String key, TagValue from, boolean fromInclusive, TagValue to, boolean toInclusive) {
+
+        public boolean contains(TagValue value) {
+            int lower = value.compareTo(from);
+            if (lower < 0 || (lower == 0 && !fromInclusive)) return false;
+            if (to == null) return true;
+            int upper = value.compareTo(to);
+            return upper < 0 || (upper == 0 && toInclusive);
+        }
+    }
+}
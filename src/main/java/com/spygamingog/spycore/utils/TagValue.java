@@ -0,0 +1,105 @@
+package com.spygamingog.spycore.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Typed form of a tag value, parsed once when the tag is set so range queries and sorting never parse.
+ * Values order numbers first (longs and doubles compared numerically), then booleans, then strings
+ * (case-insensitively).
+ * @param value A {@link Long}, {@link Double}, {@link Boolean} or {@link String}.
+ */
+public record TagValue(Object value) implements Comparable<TagValue> {
+    private static final Pattern LONG = Pattern.compile("-?\\d{1,18}");
+    private static final Pattern DOUBLE = Pattern.compile("-?(\\d+\\.?\\d*|\\.\\d+)([eE][-+]?\\d+)?");
+
+    /**
+     * Lower and upper bound of all numbers, for one-sided numeric ranges.
+     */
+    public static final TagValue MIN_NUMBER = new TagValue(Double.NEGATIVE_INFINITY);
+    public static final TagValue MAX_NUMBER = new TagValue(Double.POSITIVE_INFINITY);
+    /**
+     * Lower bound of all strings. Strings order last, so they need no upper bound.
+     */
+    public static final TagValue MIN_STRING = new TagValue("");
+
+    public TagValue {
+        if (!(value instanceof Long || value instanceof Double || value instanceof Boolean || value instanceof String)) {
+            throw new IllegalArgumentException("Unsupported tag value type: " + (value == null ? "null" : value.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Infer the type of a tag value: "true"/"false" become booleans, integers become longs,
+     * decimals become doubles, and everything else stays a string.
+     */
+    public static TagValue parse(String raw) {
+        if (raw.equalsIgnoreCase("true") || raw.equalsIgnoreCase("false")) {
+            return new TagValue(Boolean.parseBoolean(raw));
+        }
+        if (LONG.matcher(raw).matches()) {
+            return new TagValue(Long.parseLong(raw));
+        }
+        if (DOUBLE.matcher(raw).matches()) {
+            double number = Double.parseDouble(raw);
+            if (!Double.isInfinite(number)) {
+                return new TagValue(number);
+            }
+        }
+        return new TagValue(raw);
+    }
+
+    public static TagValue of(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return new TagValue(((Number) value).longValue());
+        }
+        if (value instanceof Float) {
+            return new TagValue(((Float) value).doubleValue());
+        }
+        return new TagValue(value);
+    }
+
+    public boolean isNumber() {
+        return value instanceof Long || value instanceof Double;
+    }
+
+    public long asLong() {
+        return isNumber() ? ((Number) value).longValue() : 0;
+    }
+
+    public double asDouble() {
+        return isNumber() ? ((Number) value).doubleValue() : 0;
+    }
+
+    public boolean asBoolean() {
+        return value instanceof Boolean && (Boolean) value;
+    }
+
+    @Override
+    public int compareTo(TagValue other) {
+        int byType = Integer.compare(rank(), other.rank());
+        if (byType != 0) return byType;
+
+        if (value instanceof Long && other.value instanceof Long) {
+            return Long.compare((Long) value, (Long) other.value);
+        }
+        if (isNumber()) {
+            return Double.compare(asDouble(), other.asDouble());
+        }
+        if (value instanceof Boolean) {
+            return Boolean.compare((Boolean) value, (Boolean) other.value);
+        }
+        int byText = ((String) value).compareToIgnoreCase((String) other.value);
+        return byText != 0 ? byText : ((String) value).compareTo((String) other.value);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    private int rank() {
+        if (isNumber()) return 0;
+        if (value instanceof Boolean) return 1;
+        return 2;
+    }
+}
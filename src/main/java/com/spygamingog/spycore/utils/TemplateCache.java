@@ -0,0 +1,124 @@
+package com.spygamingog.spycore.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory cache of world folders that are cloned often.
+ * Entries are evicted least-recently-used once the byte budget is exceeded, and are
+ * invalidated as soon as the source tree's file count, size or newest mtime changes.
+ */
+public class TemplateCache {
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final boolean offHeap;
+    private final int admitAfter;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, Integer> requests = new HashMap<>();
+    private long usedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TemplateCache(long maxBytes, long maxEntryBytes, boolean offHeap, int admitAfter) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.offHeap = offHeap;
+        this.admitAfter = Math.max(1, admitAfter);
+    }
+
+    /**
+     * Get a cached tree if it still matches the source signature. Stale entries are dropped.
+     */
+    public synchronized Entry get(Path source, Signature signature) {
+        Entry entry = entries.get(source);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (!entry.signature().equals(signature)) {
+            entries.remove(source);
+            usedBytes -= entry.bytes();
+            invalidations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * Count a request for the source and decide whether it is hot enough to be cached.
+     */
+    public synchronized boolean shouldAdmit(Path source, long bytes) {
+        if (bytes > maxEntryBytes) return false;
+        int count = requests.merge(source, 1, Integer::sum);
+        return count >= admitAfter;
+    }
+
+    public synchronized void put(Path source, Entry entry) {
+        Entry previous = entries.remove(source);
+        if (previous != null) {
+            usedBytes -= previous.bytes();
+        }
+
+        Iterator<Map.Entry<Path, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes + entry.bytes() > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().bytes();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+
+        entries.put(source, entry);
+        usedBytes += entry.bytes();
+        requests.remove(source);
+    }
+
+    public synchronized void invalidate(Path source) {
+        Entry entry = entries.remove(source);
+        if (entry != null) {
+            usedBytes -= entry.bytes();
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public ByteBuffer allocate(int size) {
+        return offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(entries.size(), usedBytes, maxBytes, hits.get(), misses.get(), evictions.get(), invalidations.get());
+    }
+
+    /**
+     * Identifies the state of a source tree without reading its contents.
+     */
+    public record Signature(int files, long bytes, long newestModified) {
+    }
+
+    /**
+     * A cached file; the buffer is shared and must only be read through {@link ByteBuffer#duplicate()}.
+     */
+    public record CachedFile(Path relativePath, ByteBuffer data, FileTime lastModified) {
+    }
+
+    public record Entry(Signature signature, List<Path> directories, List<CachedFile> files) {
+        public long bytes() {
+            return signature.bytes();
+        }
+    }
+
+    public record Stats(int entries, long usedBytes, long maxBytes, long hits, long misses, long evictions, long invalidations) {
+    }
+}
@@ -0,0 +1,186 @@
+package com.spygamingog.spycore.utils;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deletes folders by renaming them into a trash folder, which is a single metadata operation on the same
+ * filesystem, and purging the trash on a background thread at a limited number of files per second.
+ * Whatever is left in the trash after a crash is purged again on the next start.
+ */
+public class TrashBin {
+    private final File folder;
+    private final int filesPerSecond;
+    private final Logger logger;
+    private final ExecutorService purger;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong purged = new AtomicLong();
+    private final AtomicLong filesDeleted = new AtomicLong();
+    private final AtomicLong bytesDeleted = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * @param folder Trash folder; it must be on the same filesystem as the folders being discarded.
+     * @param filesPerSecond Maximum files unlinked per second by the purger, or 0 for no limit.
+     */
+    public TrashBin(File folder, int filesPerSecond, Logger logger) {
+        this.folder = folder;
+        this.filesPerSecond = Math.max(0, filesPerSecond);
+        this.logger = logger;
+        this.purger = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SpyCore-Trash");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        // Entries left over from a crash or a shutdown before the purge finished
+        File[] leftovers = folder.listFiles();
+        if (leftovers != null && leftovers.length > 0) {
+            logger.info("VFS: Resuming purge of " + leftovers.length + " entries left in " + folder.getName() + ".");
+            for (File leftover : leftovers) {
+                schedulePurge(leftover.toPath());
+            }
+        }
+    }
+
+    /**
+     * Remove a folder from its location right away and purge its contents in the background.
+     * Falls back to deleting in place when the folder cannot be renamed into the trash, e.g. across filesystems.
+     * @return True if the folder no longer exists at its original location.
+     */
+    public boolean discard(File target) {
+        if (!target.exists()) return true;
+
+        Path destination = folder.toPath().resolve(target.getName() + "-" + System.currentTimeMillis() + "-" + sequence.incrementAndGet());
+        try {
+            Files.move(target.toPath(), destination, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            fallbacks.incrementAndGet();
+            logger.warning("VFS: " + target.getAbsolutePath() + " is not on the same filesystem as the trash, deleting it in place.");
+            return deleteInPlace(target);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "VFS: Could not move " + target.getAbsolutePath() + " to the trash, deleting it in place", e);
+            fallbacks.incrementAndGet();
+            return deleteInPlace(target);
+        }
+
+        schedulePurge(destination);
+        return true;
+    }
+
+    /**
+     * Stop purging. Entries still in the trash are purged on the next start.
+     */
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    public Stats getStats() {
+        return new Stats(pending.get(), purged.get(), filesDeleted.get(), bytesDeleted.get(), fallbacks.get());
+    }
+
+    private boolean deleteInPlace(File target) {
+        try {
+            FileUtils.deleteDirectory(target);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "VFS: Could not delete " + target.getAbsolutePath(), e);
+        }
+        return !target.exists();
+    }
+
+    private void schedulePurge(Path entry) {
+        pending.incrementAndGet();
+        try {
+            purger.execute(() -> {
+                try {
+                    purge(entry);
+                    purged.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "VFS: Could not purge " + entry + " from the trash, retrying on the next start", e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the entry stays in the trash until the next start
+            pending.decrementAndGet();
+        }
+    }
+
+    private void purge(Path entry) throws IOException, InterruptedException {
+        if (!Files.exists(entry)) return;
+        // Start of the current one-second window and the files deleted in it
+        long[] window = {System.nanoTime(), 0};
+        try {
+            Files.walkFileTree(entry, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    Files.delete(file);
+                    filesDeleted.incrementAndGet();
+                    bytesDeleted.addAndGet(attributes.size());
+                    if (filesPerSecond > 0 && ++window[1] >= filesPerSecond) {
+                        throttle(window[0]);
+                        window[0] = System.nanoTime();
+                        window[1] = 0;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exception) throws IOException {
+                    if (exception != null) throw exception;
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (ThrottleInterrupted e) {
+            throw new InterruptedException();
+        }
+    }
+
+    // Sleep out the rest of the current one-second window
+    private static void throttle(long windowStart) throws ThrottleInterrupted {
+        long remaining = windowStart + TimeUnit.SECONDS.toNanos(1) - System.nanoTime();
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        } catch (InterruptedException e) {
+            throw new ThrottleInterrupted();
+        }
+    }
+
+    // Carries an interrupt out of the file visitor, whose methods may only throw IOException
+    private static final class ThrottleInterrupted extends IOException {
+    }
+
+    /**
+     * @param pending Entries waiting to be purged or being purged.
+     * @param fallbacks Folders that had to be deleted in place because they could not be renamed into the trash.
+     */
+    public record Stats(int pending, long purged, long filesDeleted, long bytesDeleted, long fallbacks) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.spygamingog.spycore.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Packs world folders into zip archives and streams them back out.
+ * Both directions work entry by entry through a fixed buffer, so memory use does not grow with the world size.
+ */
+public final class WorldArchiver {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private WorldArchiver() {
+    }
+
+    /**
+     * Pack a world folder into an archive. The lock file is left out.
+     * @param cancelled polled between entries; when it returns true the partial archive is deleted.
+     * @return null if the pack was cancelled.
+     */
+    public static ArchiveResult pack(Path folder, Path archive, int level, BooleanSupplier cancelled) throws IOException {
+        long start = System.nanoTime();
+        long[] totals = new long[2]; // files, bytes
+        Files.createDirectories(archive.getParent());
+
+        boolean completed = false;
+        try (ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(archive), BUFFER_SIZE))) {
+            out.setLevel(level);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(folder)) {
+                        out.putNextEntry(new ZipEntry(entryName(folder, dir) + "/"));
+                        out.closeEntry();
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (cancelled.getAsBoolean()) return FileVisitResult.TERMINATE;
+                    if (file.getParent().equals(folder) && file.getFileName().toString().equals("session.lock")) {
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    ZipEntry entry = new ZipEntry(entryName(folder, file));
+                    entry.setLastModifiedTime(attrs.lastModifiedTime());
+                    out.putNextEntry(entry);
+                    try (InputStream in = Files.newInputStream(file)) {
+                        totals[1] += transfer(in, out, buffer);
+                    }
+                    out.closeEntry();
+                    totals[0]++;
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            completed = !cancelled.getAsBoolean();
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(archive);
+            }
+        }
+        if (!completed) return null;
+
+        return new ArchiveResult((int) totals[0], totals[1], Files.size(archive), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Stream an archive into a folder that must not exist yet.
+     */
+    public static ArchiveResult unpack(Path archive, Path folder) throws IOException {
+        long start = System.nanoTime();
+        int files = 0;
+        long bytes = 0;
+        Path root = folder.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(Files.newInputStream(archive), BUFFER_SIZE))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                Path target = root.resolve(entry.getName()).normalize();
+                if (!target.startsWith(root)) {
+                    throw new IOException("Archive entry escapes the world folder: " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+
+                Files.createDirectories(target.getParent());
+                try (OutputStream out = Files.newOutputStream(target)) {
+                    bytes += transfer(in, out, buffer);
+                }
+                FileTime modified = entry.getLastModifiedTime();
+                if (modified != null) {
+                    Files.setLastModifiedTime(target, modified);
+                }
+                files++;
+            }
+        }
+
+        return new ArchiveResult(files, bytes, Files.size(archive), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static String entryName(Path folder, Path path) {
+        return folder.relativize(path).toString().replace('\\', '/');
+    }
+
+    private static long transfer(InputStream in, OutputStream out, byte[] buffer) throws IOException {
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Summary of a finished pack or unpack.
+     */
+    public record ArchiveResult(int files, long rawBytes, long archiveBytes, long millis) {
+        public double megabytesPerSecond() {
+            return millis == 0 ? 0.0 : (rawBytes / 1048576.0) / (millis / 1000.0);
+        }
+
+        public double compressionRatio() {
+            return archiveBytes == 0 ? 0.0 : (double) rawBytes / archiveBytes;
+        }
+    }
+}
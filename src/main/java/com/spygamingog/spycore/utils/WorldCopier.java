@@ -0,0 +1,261 @@
+package com.spygamingog.spycore.utils;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Copies world folders file-by-file in parallel on a bounded executor.
+ * Region, entity and POI files are transferred with {@link FileChannel#transferTo}
+ * so the kernel can copy them without going through Java heap buffers.
+ * Lock and identity files are skipped up front instead of being deleted afterwards.
+ * When a {@link TemplateCache} is configured, hot sources are written straight from memory.
+ */
+public class WorldCopier {
+    // Never copied, so a clone gets a fresh session lock and a fresh world UUID
+    private static final Set<String> SKIPPED_FILES = Set.of("session.lock", "uid.dat");
+
+    private final ExecutorService executor;
+    private final TemplateCache cache;
+
+    public WorldCopier(int threads) {
+        this(threads, null);
+    }
+
+    public WorldCopier(int threads, TemplateCache cache) {
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "SpyCore-Copy-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = cache;
+    }
+
+    public TemplateCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Copy a world folder. Blocks the calling thread until every file has been copied.
+     * Safe to call from any thread, but on the main thread the server stalls for the whole copy;
+     * the async callers ({@code cloneWorldAsync}, {@code createFromTemplateAsync}) run it on the IO pool.
+     * If a file fails to copy and the target folder did not exist before, the partial copy is deleted.
+     * @throws IOException if the source is missing or any file fails to copy.
+     */
+    public CopyResult copy(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            throw new IOException("Source folder does not exist: " + source);
+        }
+
+        boolean created = Files.notExists(target);
+        try {
+            return copyTree(source, target);
+        } catch (IOException | RuntimeException e) {
+            // Every copy task has settled by now, so nothing is still writing into the folder
+            if (created) {
+                FileUtils.deleteQuietly(target.toFile());
+            }
+            throw e;
+        }
+    }
+
+    private CopyResult copyTree(Path source, Path target) throws IOException {
+        long start = System.nanoTime();
+        Tree tree = scan(source);
+
+        if (cache != null) {
+            TemplateCache.Entry entry = cache.get(source, tree.signature());
+            if (entry == null && cache.shouldAdmit(source, tree.signature().bytes())) {
+                entry = load(source, tree);
+                cache.put(source, entry);
+            }
+            if (entry != null) {
+                writeFromMemory(entry, target);
+                return new CopyResult(entry.files().size(), entry.bytes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), true);
+            }
+        }
+
+        createDirectories(tree.directories(), target);
+        AtomicLong bytes = new AtomicLong();
+        runAll(tree.files(), file -> {
+            try {
+                bytes.addAndGet(transfer(source.resolve(file.relativePath()), target.resolve(file.relativePath())));
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return null;
+        }, source, target);
+
+        return new CopyResult(tree.files().size(), bytes.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), false);
+    }
+
+    private Tree scan(Path source) throws IOException {
+        List<Path> directories = new ArrayList<>();
+        List<FileInfo> files = new ArrayList<>();
+        long[] totals = new long[2]; // bytes, newest mtime
+
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                directories.add(source.relativize(dir));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (file.getParent().equals(source) && SKIPPED_FILES.contains(file.getFileName().toString())) {
+                    return FileVisitResult.CONTINUE;
+                }
+                files.add(new FileInfo(source.relativize(file), attrs.size(), attrs.lastModifiedTime()));
+                totals[0] += attrs.size();
+                totals[1] = Math.max(totals[1], attrs.lastModifiedTime().toMillis());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return new Tree(directories, files, new TemplateCache.Signature(files.size(), totals[0], totals[1]));
+    }
+
+    private TemplateCache.Entry load(Path source, Tree tree) throws IOException {
+        List<TemplateCache.CachedFile> cached = runAll(tree.files(), file -> {
+            try (FileChannel in = FileChannel.open(source.resolve(file.relativePath()), StandardOpenOption.READ)) {
+                ByteBuffer data = cache.allocate((int) file.size());
+                while (data.hasRemaining() && in.read(data) >= 0) {
+                    // Keep reading until the buffer is full or the file ends
+                }
+                data.flip();
+                return new TemplateCache.CachedFile(file.relativePath(), data, file.lastModified());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, source, null);
+        return new TemplateCache.Entry(tree.signature(), tree.directories(), cached);
+    }
+
+    private void writeFromMemory(TemplateCache.Entry entry, Path target) throws IOException {
+        createDirectories(entry.directories(), target);
+        runAll(entry.files(), file -> {
+            Path destination = target.resolve(file.relativePath());
+            try (FileChannel out = FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer data = file.data().duplicate();
+                while (data.hasRemaining()) {
+                    out.write(data);
+                }
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            try {
+                Files.setLastModifiedTime(destination, file.lastModified());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return null;
+        }, null, target);
+    }
+
+    private void createDirectories(List<Path> directories, Path target) throws IOException {
+        // Created in walk order, so file tasks never race on parents
+        for (Path directory : directories) {
+            Files.createDirectories(target.resolve(directory));
+        }
+    }
+
+    /**
+     * Run a task per input on the copy executor. After the first failure the tasks that have not started yet are
+     * skipped, and the failure is only thrown once every task has settled.
+     */
+    private <I, O> List<O> runAll(List<I> inputs, Function<I, O> task, Path source, Path target) throws IOException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CompletableFuture<O>> tasks = new ArrayList<>(inputs.size());
+        for (I input : inputs) {
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                if (failure.get() != null) return null;
+                try {
+                    return task.apply(input);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                    throw t;
+                }
+            }, executor));
+        }
+
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).handle((ignored, error) -> null).join();
+        Throwable error = failure.get();
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof IOException io) throw io;
+            throw new IOException("Failed to copy " + (source != null ? source : "cache") + " to " + (target != null ? target : "cache"), cause);
+        }
+
+        List<O> results = new ArrayList<>(tasks.size());
+        for (CompletableFuture<O> t : tasks) {
+            results.add(t.join());
+        }
+        return results;
+    }
+
+    private long transfer(Path from, Path to) throws IOException {
+        try (FileChannel in = FileChannel.open(from, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(to, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            // transferTo may copy fewer bytes than requested, so loop until done
+            while (position < size) {
+                long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) break;
+                position += transferred;
+            }
+            Files.setLastModifiedTime(to, Files.getLastModifiedTime(from));
+            return position;
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record FileInfo(Path relativePath, long size, FileTime lastModified) {
+    }
+
+    private record Tree(List<Path> directories, List<FileInfo> files, TemplateCache.Signature signature) {
+    }
+
+    /**
+     * Summary of a finished copy.
+     */
+    public record CopyResult(int files, long bytes, long millis, boolean fromCache) {
+        public double megabytesPerSecond() {
+            return millis == 0 ? 0.0 : (bytes / 1048576.0) / (millis / 1000.0);
+        }
+    }
+}